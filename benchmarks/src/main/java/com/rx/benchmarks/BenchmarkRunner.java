@@ -0,0 +1,34 @@
+package com.rx.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmark jar: runs JMH with the allocation profiler and writes the results
+ * as JSON to {@code jmh-result.json}. Every JMH option is accepted; an explicit {@code -prof},
+ * {@code -rf} or {@code -rff} replaces the corresponding default.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = Arrays.asList(args);
+        List<String> all = new ArrayList<>();
+        if (!options.contains("-prof")) {
+            all.addAll(List.of("-prof", "gc"));
+        }
+        if (!options.contains("-rf")) {
+            all.addAll(List.of("-rf", "json"));
+        }
+        if (!options.contains("-rff")) {
+            all.addAll(List.of("-rff", "jmh-result.json"));
+        }
+        all.addAll(options);
+        Main.main(all.toArray(new String[0]));
+    }
+}
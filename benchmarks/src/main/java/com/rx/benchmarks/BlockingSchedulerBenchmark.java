@@ -0,0 +1,61 @@
+package com.rx.benchmarks;
+
+import com.rx.core.RxObservable;
+import com.rx.schedulers.RxIOScheduler;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxVirtualThreadScheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many concurrent blocking sources subscribed on {@link RxIOScheduler} (platform threads)
+ * versus {@link RxVirtualThreadScheduler} (virtual threads).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingSchedulerBenchmark {
+
+    @Param({"io", "virtual"})
+    public String scheduler;
+
+    @Param({"10000"})
+    public int sources;
+
+    @Param({"20"})
+    public int blockMillis;
+
+    private RxScheduler rxScheduler;
+
+    @Setup
+    public void setup() {
+        rxScheduler = "virtual".equals(scheduler) ? new RxVirtualThreadScheduler() : new RxIOScheduler();
+    }
+
+    @Benchmark
+    public long blockingSources() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(sources);
+        for (int i = 0; i < sources; i++) {
+            int value = i;
+            RxObservable.<Integer>create(o -> {
+                try {
+                    Thread.sleep(blockMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    o.onError(e);
+                    return;
+                }
+                o.onNext(value);
+                o.onComplete();
+            }).subscribeOn(rxScheduler).subscribe(v -> {
+            }, e -> latch.countDown(), latch::countDown);
+        }
+        latch.await();
+        return latch.getCount();
+    }
+}
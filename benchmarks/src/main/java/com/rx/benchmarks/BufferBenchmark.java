@@ -0,0 +1,61 @@
+package com.rx.benchmarks;
+
+import com.rx.core.RxObservable;
+import com.rx.operators.BufferOperator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sink with a fixed cost per call (a database or network round trip in miniature), fed element by element
+ * and through {@link BufferOperator} batches. The per-element cost should drop roughly by the batch size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BufferBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int batch;
+
+    @Param({"10000"})
+    public int count;
+
+    @Param({"1000"})
+    public int callTokens;
+
+    private RxObservable<Integer> source;
+
+    @Setup
+    public void setup() {
+        source = RxObservable.create(o -> {
+            for (int i = 0; i < count && !o.isDisposed(); i++) {
+                o.onNext(i);
+            }
+            o.onComplete();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10000)
+    public void perElementSink(Blackhole bh) {
+        source.subscribe(item -> {
+            Blackhole.consumeCPU(callTokens);
+            bh.consume(item);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10000)
+    public void batchedSink(Blackhole bh) {
+        BufferOperator.apply(source, batch).subscribe((List<Integer> items) -> {
+            Blackhole.consumeCPU(callTokens);
+            bh.consume(items);
+        });
+    }
+}
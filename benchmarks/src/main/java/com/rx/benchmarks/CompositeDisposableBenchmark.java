@@ -0,0 +1,92 @@
+package com.rx.benchmarks;
+
+import com.rx.core.RxCompositeDisposable;
+import com.rx.core.RxDisposable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RxCompositeDisposable} against the previous ConcurrentHashMap-backed composite:
+ * the add/remove churn of flatMap inners, dispose of a full group and isDisposed on a large group.
+ * Run with {@code -prof gc} to compare the allocation per child.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompositeDisposableBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int count;
+
+    private RxDisposable[] children;
+    private RxCompositeDisposable fullComposite;
+    private LegacyCompositeDisposable fullLegacy;
+
+    @Setup
+    public void setup() {
+        children = new RxDisposable[count];
+        fullComposite = new RxCompositeDisposable();
+        fullLegacy = new LegacyCompositeDisposable();
+        for (int i = 0; i < count; i++) {
+            children[i] = new RxDisposable();
+            fullComposite.add(children[i]);
+            fullLegacy.add(children[i]);
+        }
+    }
+
+    @Benchmark
+    public RxCompositeDisposable addRemove() {
+        RxCompositeDisposable composite = new RxCompositeDisposable();
+        for (RxDisposable d : children) {
+            composite.add(d);
+        }
+        for (RxDisposable d : children) {
+            composite.remove(d);
+        }
+        return composite;
+    }
+
+    @Benchmark
+    public LegacyCompositeDisposable addRemoveLegacy() {
+        LegacyCompositeDisposable composite = new LegacyCompositeDisposable();
+        for (RxDisposable d : children) {
+            composite.add(d);
+        }
+        for (RxDisposable d : children) {
+            composite.remove(d);
+        }
+        return composite;
+    }
+
+    @Benchmark
+    public RxCompositeDisposable addAllDispose() {
+        RxCompositeDisposable composite = new RxCompositeDisposable();
+        composite.addAll(children);
+        composite.dispose();
+        return composite;
+    }
+
+    @Benchmark
+    public LegacyCompositeDisposable addAllDisposeLegacy() {
+        LegacyCompositeDisposable composite = new LegacyCompositeDisposable();
+        for (RxDisposable d : children) {
+            composite.add(d);
+        }
+        composite.dispose();
+        return composite;
+    }
+
+    @Benchmark
+    public boolean isDisposed() {
+        return fullComposite.isDisposed();
+    }
+
+    @Benchmark
+    public boolean isDisposedLegacy() {
+        return fullLegacy.isDisposed();
+    }
+}
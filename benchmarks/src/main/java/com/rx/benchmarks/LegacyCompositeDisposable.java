@@ -0,0 +1,34 @@
+package com.rx.benchmarks;
+
+import com.rx.core.RxDisposable;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copy of the previous {@code RxCompositeDisposable}, kept as the baseline for
+ * {@link CompositeDisposableBenchmark}.
+ */
+final class LegacyCompositeDisposable {
+    private final Set<RxDisposable> disposables = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    void add(RxDisposable d) {
+        disposables.add(d);
+    }
+
+    void remove(RxDisposable d) {
+        disposables.remove(d);
+    }
+
+    void dispose() {
+        for (RxDisposable d : disposables) {
+            d.dispose();
+        }
+        disposables.clear();
+    }
+
+    boolean isDisposed() {
+        return disposables.stream().allMatch(RxDisposable::isDisposed);
+    }
+}
@@ -0,0 +1,61 @@
+package com.rx.benchmarks;
+
+import com.rx.core.RxConnectableObservable;
+import com.rx.core.RxObservable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code consumers} observers of one expensive source: each with its own subscription, which re-runs
+ * the source, versus one shared subscription through {@code publish()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MulticastBenchmark {
+    private static final int COUNT = 1_000;
+
+    @Param({"1", "4", "16"})
+    public int consumers;
+
+    private RxObservable<Double> source;
+
+    @Setup
+    public void setup() {
+        source = RxObservable.create(o -> {
+            for (int i = 0; i < COUNT && !o.isDisposed(); i++) {
+                o.onNext(expensive(i));
+            }
+            o.onComplete();
+        });
+    }
+
+    private static double expensive(int i) {
+        double v = i;
+        for (int k = 0; k < 20; k++) {
+            v = Math.sqrt(v + k);
+        }
+        return v;
+    }
+
+    @Benchmark
+    public void separateSubscriptions(Blackhole bh) {
+        for (int i = 0; i < consumers; i++) {
+            source.subscribe(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public void published(Blackhole bh) {
+        RxConnectableObservable<Double> published = source.publish();
+        for (int i = 0; i < consumers; i++) {
+            published.subscribe(bh::consume);
+        }
+        published.connect();
+    }
+}
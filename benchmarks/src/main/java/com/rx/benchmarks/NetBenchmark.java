@@ -0,0 +1,66 @@
+package com.rx.benchmarks;
+
+import com.rx.core.RxObservable;
+import com.rx.net.RxNet;
+import com.rx.net.RxNetServer;
+import com.rx.net.RxSerializer;
+import com.rx.schedulers.RxSchedulers;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remote streams over loopback TCP: the cost per element of a stream of {@code count} integers for
+ * each prefetch (the credit the consumer grants ahead), and the latency of a single element,
+ * including the connection setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NetBenchmark {
+    private static final int COUNT = 100_000;
+
+    @Param({"16", "256", "4096"})
+    public int prefetch;
+
+    private RxNetServer<Integer> streamServer;
+    private RxNetServer<Integer> singleServer;
+    private RxObservable<Integer> stream;
+    private RxObservable<Integer> single;
+
+    @Setup
+    public void setup() {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        streamServer = RxNet.serve(RxObservable.range(0, COUNT), address, RxSerializer.ints());
+        singleServer = RxNet.serve(RxObservable.just(1), address, RxSerializer.ints());
+        stream = RxNet.connect(streamServer.localAddress(), RxSerializer.ints(), prefetch, RxSchedulers.io());
+        single = RxNet.connect(singleServer.localAddress(), RxSerializer.ints(), prefetch, RxSchedulers.io());
+    }
+
+    @TearDown
+    public void tearDown() {
+        streamServer.dispose();
+        singleServer.dispose();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long remoteStream() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long[] sum = new long[1];
+        stream.subscribe(v -> sum[0] += v, e -> latch.countDown(), latch::countDown);
+        latch.await();
+        return sum[0];
+    }
+
+    @Benchmark
+    public int connectAndFirst() {
+        return single.blockingFirst();
+    }
+}
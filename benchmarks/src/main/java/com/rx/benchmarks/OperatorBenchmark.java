@@ -0,0 +1,173 @@
+package com.rx.benchmarks;
+
+import com.rx.core.RxObservable;
+import com.rx.operators.BufferOperator;
+import com.rx.operators.ConcatMapOperator;
+import com.rx.operators.ConcatOperator;
+import com.rx.operators.DebounceOperator;
+import com.rx.operators.DelayOperator;
+import com.rx.operators.FilterOperator;
+import com.rx.operators.FlatMapOperator;
+import com.rx.operators.MapOperator;
+import com.rx.operators.MergeOperator;
+import com.rx.operators.ReduceOperator;
+import com.rx.operators.ThrottleOperator;
+import com.rx.operators.TimeoutOperator;
+import com.rx.operators.WindowOperator;
+import com.rx.schedulers.RxComputationScheduler;
+import com.rx.schedulers.RxTestScheduler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synchronous throughput of every operator in {@code com.rx.operators} over a range of {@code count} elements.
+ * Scores are elements per second; run with {@code -prof gc} for the allocation per element.
+ * Time operators use {@link RxTestScheduler}, except timeout, which measures the timer reset per element
+ * on the shared hashed-wheel timer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OperatorBenchmark {
+    private static final int COUNT = 10_000;
+
+    private RxObservable<Integer> range;
+    private RxObservable<Integer> half;
+
+    @Setup
+    public void setup() {
+        range = range(COUNT);
+        half = range(COUNT / 2);
+    }
+
+    private static RxObservable<Integer> range(int count) {
+        return RxObservable.create(o -> {
+            for (int i = 0; i < count && !o.isDisposed(); i++) {
+                o.onNext(i);
+            }
+            o.onComplete();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void baseline(Blackhole bh) {
+        range.subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void map(Blackhole bh) {
+        MapOperator.apply(range, i -> i + 1).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void filter(Blackhole bh) {
+        FilterOperator.apply(range, i -> (i & 1) == 0).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void mapFilterChain(Blackhole bh) {
+        RxObservable<Integer> chain = range;
+        for (int i = 0; i < 4; i++) {
+            chain = FilterOperator.apply(MapOperator.apply(chain, v -> v + 1), v -> v >= 0);
+        }
+        chain.subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void flatMapScalar(Blackhole bh) {
+        FlatMapOperator.apply(range, RxObservable::just).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void flatMapRange(Blackhole bh) {
+        FlatMapOperator.apply(range(COUNT / 100), i -> range(100)).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void merge(Blackhole bh) {
+        MergeOperator.apply(half, half).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void concat(Blackhole bh) {
+        ConcatOperator.apply(half, half).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void concatMapScalar(Blackhole bh) {
+        ConcatMapOperator.apply(range, RxObservable::just).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void concatMapRange(Blackhole bh) {
+        ConcatMapOperator.apply(range(COUNT / 100), i -> range(100)).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void reduce(Blackhole bh) {
+        ReduceOperator.apply(range, Integer::sum).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void collect(Blackhole bh) {
+        ReduceOperator.collect(range, ArrayList<Integer>::new, ArrayList::add).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void buffer(Blackhole bh) {
+        BufferOperator.apply(range, 100).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void window(Blackhole bh) {
+        WindowOperator.apply(range, 100).subscribe(w -> w.subscribe(bh::consume));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void throttle(Blackhole bh) {
+        ThrottleOperator.apply(range, 1, TimeUnit.MILLISECONDS, new RxTestScheduler()).subscribe(bh::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void delay(Blackhole bh) {
+        RxTestScheduler scheduler = new RxTestScheduler();
+        DelayOperator.apply(range, 1, TimeUnit.SECONDS, scheduler).subscribe(bh::consume);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void debounce(Blackhole bh) {
+        RxTestScheduler scheduler = new RxTestScheduler();
+        DebounceOperator.apply(range, 1, TimeUnit.SECONDS, scheduler).subscribe(bh::consume);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void timeout(Blackhole bh) {
+        TimeoutOperator.apply(range, 1, TimeUnit.HOURS, new RxComputationScheduler()).subscribe(bh::consume);
+    }
+}
@@ -0,0 +1,60 @@
+package com.rx.benchmarks;
+
+import com.rx.core.RxObservable;
+import com.rx.operators.MapOperator;
+import com.rx.schedulers.RxComputationScheduler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU-heavy map spread over 1..N rails on {@link RxComputationScheduler}.
+ * Throughput should scale close to linearly up to the number of cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelRailsBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int rails;
+
+    @Param({"false", "true"})
+    public boolean ordered;
+
+    @Param({"10000"})
+    public int count;
+
+    @Param({"2000"})
+    public int workTokens;
+
+    private RxObservable<Integer> source;
+
+    @Setup
+    public void setup() {
+        source = RxObservable.create(o -> {
+            for (int i = 0; i < count; i++) {
+                o.onNext(i);
+            }
+            o.onComplete();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(10000)
+    public void parallelMap(Blackhole bh) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        var mapped = MapOperator.apply(source.parallel(rails).runOn(new RxComputationScheduler()), i -> {
+            Blackhole.consumeCPU(workTokens);
+            return i;
+        });
+        RxObservable<Integer> joined = ordered ? mapped.sequentialOrdered() : mapped.sequential();
+        joined.subscribe(bh::consume, Throwable::printStackTrace, latch::countDown);
+        latch.await();
+    }
+}
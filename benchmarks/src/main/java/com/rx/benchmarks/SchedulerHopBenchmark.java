@@ -0,0 +1,99 @@
+package com.rx.benchmarks;
+
+import com.rx.core.RxObservable;
+import com.rx.schedulers.RxComputationScheduler;
+import com.rx.schedulers.RxIOScheduler;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxSingleScheduler;
+import com.rx.schedulers.RxVirtualThreadScheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a thread hop on each {@link RxScheduler}: the latency of one {@code subscribeOn} or
+ * {@code observeOn} round trip for a single element, and the throughput of {@code observeOn}
+ * for a stream of {@code count} elements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulerHopBenchmark {
+    private static final int COUNT = 10_000;
+
+    @Param({"io", "computation", "single", "virtual"})
+    public String scheduler;
+
+    private RxScheduler rxScheduler;
+    private RxObservable<Integer> single;
+    private RxObservable<Integer> range;
+    private RxObservable<Integer> fusedRange;
+
+    @Setup
+    public void setup() {
+        switch (scheduler) {
+            case "io" -> rxScheduler = new RxIOScheduler();
+            case "computation" -> rxScheduler = new RxComputationScheduler();
+            case "single" -> rxScheduler = new RxSingleScheduler();
+            case "virtual" -> rxScheduler = new RxVirtualThreadScheduler();
+            default -> throw new IllegalArgumentException("Unknown scheduler " + scheduler);
+        }
+        single = RxObservable.just(1);
+        range = RxObservable.create(o -> {
+            for (int i = 0; i < COUNT && !o.isDisposed(); i++) {
+                o.onNext(i);
+            }
+            o.onComplete();
+        });
+        fusedRange = RxObservable.range(0, COUNT);
+    }
+
+    @Benchmark
+    public long subscribeOnHop() throws InterruptedException {
+        return await(single.subscribeOn(rxScheduler));
+    }
+
+    @Benchmark
+    public long observeOnHop() throws InterruptedException {
+        return await(single.observeOn(rxScheduler));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long observeOnStream() throws InterruptedException {
+        return await(range.observeOn(rxScheduler));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long observeOnFusedStream() throws InterruptedException {
+        return await(fusedRange.observeOn(rxScheduler));
+    }
+
+    @Benchmark
+    public int blockingFirstHop() {
+        return single.subscribeOn(rxScheduler).blockingFirst();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long blockingIterableStream() {
+        long sum = 0;
+        for (int v : range.subscribeOn(rxScheduler).blockingIterable()) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    private static long await(RxObservable<Integer> source) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long[] sum = new long[1];
+        source.subscribe(v -> sum[0] += v, e -> latch.countDown(), latch::countDown);
+        latch.await();
+        return sum[0];
+    }
+}
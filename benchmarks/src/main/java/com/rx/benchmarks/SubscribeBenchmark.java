@@ -0,0 +1,51 @@
+package com.rx.benchmarks;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.operators.MapOperator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed cost of a subscription: creating the emitter, propagating onSubscribe through
+ * a chain of operators and delivering a single element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubscribeBenchmark {
+
+    @Param({"0", "1", "4"})
+    public int depth;
+
+    private RxObservable<Integer> empty;
+    private RxObservable<Integer> single;
+
+    @Setup
+    public void setup() {
+        RxObservable<Integer> e = RxObservable.empty();
+        RxObservable<Integer> s = RxObservable.just(1);
+        for (int i = 0; i < depth; i++) {
+            e = MapOperator.apply(e, v -> v + 1);
+            s = MapOperator.apply(s, v -> v + 1);
+        }
+        empty = e;
+        single = s;
+    }
+
+    @Benchmark
+    public RxDisposable subscribeEmpty() {
+        return empty.subscribe(v -> {
+        });
+    }
+
+    @Benchmark
+    public RxDisposable subscribeSingle(Blackhole bh) {
+        return single.subscribe(bh::consume);
+    }
+}
@@ -0,0 +1,154 @@
+package com.rx.core;
+
+import com.rx.internal.SpscLinkedArrayQueue;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Iterator over a stream for blocking consumers.
+ * <p>
+ * Elements are queued in chunks of {@code prefetch}; from a Flowable, {@code prefetch} elements are requested
+ * up front and three quarters of that are requested again as they are consumed. A consumer that finds the queue
+ * empty parks itself, and the producer unparks it only if it is actually waiting, so a busy stream costs no
+ * wakeups. {@link #close()} cancels the upstream.
+ *
+ * @param <T> type of elements
+ */
+final class BlockingIterator<T> implements Iterator<T>, RxObserver<T>, RxSubscriber<T>, AutoCloseable {
+    private static final Object NULL = new Object();
+
+    private final SpscLinkedArrayQueue<Object> queue;
+    private final int prefetch;
+    private final int limit;
+    private final AtomicReference<Thread> waiter = new AtomicReference<>();
+    private volatile RxSubscription subscription;
+    private volatile RxDisposable disposable;
+    private volatile boolean done;
+    private volatile boolean closed;
+    private Throwable error;
+    private int consumed;
+
+    BlockingIterator(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        this.queue = new SpscLinkedArrayQueue<>(prefetch);
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+    }
+
+    @Override
+    public void onSubscribe(RxDisposable d) {
+        disposable = d;
+        if (closed) {
+            d.dispose();
+        }
+    }
+
+    @Override
+    public void onSubscribe(RxSubscription s) {
+        subscription = s;
+        if (closed) {
+            s.cancel();
+        } else {
+            s.request(prefetch);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        queue.offer(item == null ? NULL : item);
+        signal();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        error = t;
+        done = true;
+        signal();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        signal();
+    }
+
+    private void signal() {
+        if (waiter.get() != null) {
+            Thread t = waiter.getAndSet(null);
+            if (t != null) {
+                LockSupport.unpark(t);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        for (; ; ) {
+            boolean d = done;
+            if (!queue.isEmpty()) {
+                return true;
+            }
+            if (d) {
+                Throwable e = error;
+                if (e != null) {
+                    throw FutureObserver.propagate(e);
+                }
+                return false;
+            }
+            if (closed) {
+                return false;
+            }
+            waiter.set(Thread.currentThread());
+            // re-check after publishing the waiter, so a signal between the check and the park is not lost
+            if (done || !queue.isEmpty()) {
+                waiter.set(null);
+                continue;
+            }
+            LockSupport.park(this);
+            waiter.set(null);
+            if (Thread.interrupted()) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the next element",
+                        new InterruptedException());
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object v = queue.poll();
+        RxSubscription s = subscription;
+        if (s != null && ++consumed == limit) {
+            consumed = 0;
+            s.request(limit);
+        }
+        return v == NULL ? null : (T) v;
+    }
+
+    /**
+     * Cancels the upstream; the iterator then reports no more elements.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        RxSubscription s = subscription;
+        if (s != null) {
+            s.cancel();
+        }
+        RxDisposable d = disposable;
+        if (d != null) {
+            d.dispose();
+        }
+        queue.clear();
+    }
+}
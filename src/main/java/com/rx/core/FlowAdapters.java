@@ -0,0 +1,320 @@
+package com.rx.core;
+
+import com.rx.internal.BackpressureHelper;
+import com.rx.internal.SpscLinkedArrayQueue;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bridges between the streams of this library and {@link java.util.concurrent.Flow}.
+ * <p>
+ * A Flowable and a {@link Flow.Publisher} share the same demand model, so their adapters pass
+ * {@code request(n)} and {@code cancel()} through as is. An Observable cannot be slowed down:
+ * as a Publisher it buffers the elements that run ahead of the demand.
+ */
+final class FlowAdapters {
+    private FlowAdapters() {
+    }
+
+    static <T> RxFlowableOnSubscribe<T> fromPublisher(Flow.Publisher<? extends T> publisher) {
+        return subscriber -> publisher.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscriber.onSubscribe(new RxSubscription() {
+                    @Override
+                    public void request(long n) {
+                        s.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        s.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(T item) {
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                subscriber.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+    }
+
+    static <T> RxOnSubscribe<T> observableFromPublisher(Flow.Publisher<? extends T> publisher) {
+        return emitter -> publisher.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                emitter.setCancellable(s::cancel);
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                emitter.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                emitter.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                emitter.onComplete();
+            }
+        });
+    }
+
+    static <T> Flow.Publisher<T> toPublisher(RxFlowable<T> source) {
+        return subscriber -> source.subscribe(new FlowableSubscriber<>(subscriber));
+    }
+
+    static <T> Flow.Publisher<T> toPublisher(RxObservable<T> source) {
+        return subscriber -> {
+            ObservableSubscription<T> parent = new ObservableSubscription<>(subscriber);
+            subscriber.onSubscribe(parent);
+            source.subscribe(parent);
+        };
+    }
+
+    /**
+     * Adds what the Flow rules require on top of an RxSubscriber: a non-positive request cancels the upstream
+     * and fails the stream, a null element fails it with {@link NullPointerException}.
+     */
+    private static final class FlowableSubscriber<T> implements RxSubscriber<T>, Flow.Subscription {
+        private final Flow.Subscriber<? super T> downstream;
+        private RxSubscription upstream;
+        private volatile boolean done;
+
+        FlowableSubscriber(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(RxSubscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (item == null) {
+                upstream.cancel();
+                onError(new NullPointerException("Flow does not allow null elements"));
+                return;
+            }
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (BackpressureHelper.validate(n)) {
+                upstream.request(n);
+                return;
+            }
+            upstream.cancel();
+            onError(new IllegalArgumentException("request > 0 required but it was " + n));
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            upstream.cancel();
+        }
+    }
+
+    /**
+     * Queues the elements of the Observable and emits them from a queue-drain loop as they are requested.
+     */
+    @SuppressWarnings("serial")
+    private static final class ObservableSubscription<T> extends AtomicInteger implements RxObserver<T>, Flow.Subscription {
+        private static final int QUEUE_CHUNK_SIZE = 128;
+
+        private final Flow.Subscriber<? super T> downstream;
+        private final SpscLinkedArrayQueue<T> queue = new SpscLinkedArrayQueue<>(QUEUE_CHUNK_SIZE);
+        private final AtomicLong requested = new AtomicLong();
+        private volatile RxDisposable upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private volatile Throwable failure;
+        private long emitted;
+
+        ObservableSubscription(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            upstream = d;
+            if (cancelled) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (item == null) {
+                fail(new NullPointerException("Flow does not allow null elements"));
+                return;
+            }
+            queue.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (!BackpressureHelper.validate(n)) {
+                fail(new IllegalArgumentException("request > 0 required but it was " + n));
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            dispose();
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        /**
+         * Fails the stream at once, dropping the queued elements: used for the violations of the Flow rules.
+         */
+        private void fail(Throwable t) {
+            dispose();
+            failure = t;
+            drain();
+        }
+
+        private void dispose() {
+            RxDisposable d = upstream;
+            if (d != null) {
+                d.dispose();
+            }
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            long e = emitted;
+            for (; ; ) {
+                if (checkFailure()) {
+                    return;
+                }
+                long r = requested.get();
+                while (e != r) {
+                    if (cancelled) {
+                        queue.clear();
+                        return;
+                    }
+                    boolean d = done;
+                    T v = queue.poll();
+                    if (d && v == null) {
+                        terminate();
+                        return;
+                    }
+                    if (v == null) {
+                        break;
+                    }
+                    downstream.onNext(v);
+                    e++;
+                }
+                if (cancelled) {
+                    queue.clear();
+                    return;
+                }
+                if (done && queue.isEmpty()) {
+                    terminate();
+                    return;
+                }
+                emitted = e;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean checkFailure() {
+            Throwable f = failure;
+            if (f == null || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            queue.clear();
+            downstream.onError(f);
+            return true;
+        }
+
+        private void terminate() {
+            cancelled = true;
+            Throwable err = error;
+            if (err != null) {
+                downstream.onError(err);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+}
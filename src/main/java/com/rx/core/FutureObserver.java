@@ -0,0 +1,105 @@
+package com.rx.core;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Observer that completes a future with the first or the last element of the stream. Cancelling the future
+ * disposes the subscription; waiting on it parks the thread instead of polling.
+ *
+ * @param <T> type of elements
+ */
+final class FutureObserver<T> extends CompletableFuture<T> implements RxObserver<T> {
+    private final boolean first;
+    private volatile RxDisposable upstream;
+    private T last;
+    private boolean hasValue;
+
+    FutureObserver(boolean first) {
+        this.first = first;
+    }
+
+    @Override
+    public void onSubscribe(RxDisposable d) {
+        upstream = d;
+        if (isDone()) {
+            d.dispose();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (first) {
+            if (complete(item)) {
+                dispose();
+            }
+            return;
+        }
+        last = item;
+        hasValue = true;
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        completeExceptionally(t);
+    }
+
+    @Override
+    public void onComplete() {
+        if (hasValue) {
+            T v = last;
+            last = null;
+            complete(v);
+        } else {
+            completeExceptionally(new NoSuchElementException("The source is empty"));
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            dispose();
+        }
+        return cancelled;
+    }
+
+    private void dispose() {
+        RxDisposable d = upstream;
+        if (d != null) {
+            d.dispose();
+        }
+    }
+
+    /**
+     * Waits for the element, rethrowing the failure of the stream as is when it is unchecked.
+     *
+     * @return the element
+     */
+    T await() {
+        try {
+            return get();
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            dispose();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the element", e);
+        }
+    }
+
+    /**
+     * @param t failure of a stream
+     * @return the failure if it is a RuntimeException, otherwise a RuntimeException wrapping it; Errors are thrown
+     */
+    static RuntimeException propagate(Throwable t) {
+        if (t instanceof Error e) {
+            throw e;
+        }
+        if (t instanceof RuntimeException e) {
+            return e;
+        }
+        return new RuntimeException(t);
+    }
+}
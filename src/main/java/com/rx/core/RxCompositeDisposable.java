@@ -1,50 +1,151 @@
 package com.rx.core;
 
-import java.util.Collections;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import com.rx.internal.OpenHashSet;
 
 /**
  * CompositeDisposable for group cancellation of multiple subscriptions.
+ * <p>
+ * Disposing is terminal: Disposables added afterwards are disposed immediately. The children are kept
+ * in a compact open-addressing set that is allocated on the first add; {@link #isDisposed()} is a single
+ * volatile read, and only modifications take the monitor of the composite.
  */
-public class RxCompositeDisposable {
-    private final Set<RxDisposable> disposables = Collections.newSetFromMap(new ConcurrentHashMap<>());
+public class RxCompositeDisposable extends RxDisposable {
+    private OpenHashSet<RxDisposable> disposables;
 
     /**
-     * Adds Disposable to group.
+     * Creates an empty composite.
+     */
+    public RxCompositeDisposable() {
+    }
+
+    /**
+     * Creates a composite holding the given Disposables.
+     *
+     * @param ds Disposables for adding
+     */
+    public RxCompositeDisposable(RxDisposable... ds) {
+        OpenHashSet<RxDisposable> set = new OpenHashSet<>(ds.length + 1);
+        for (RxDisposable d : ds) {
+            set.add(d);
+        }
+        disposables = set;
+    }
+
+    /**
+     * Adds Disposable to group. If the group is already disposed, the Disposable is disposed instead.
      *
      * @param d Disposable for adding
+     * @return true if the Disposable was added
      */
-    public void add(RxDisposable d) {
-        disposables.add(d);
+    public boolean add(RxDisposable d) {
+        if (!isDisposed()) {
+            synchronized (this) {
+                if (!isDisposed()) {
+                    OpenHashSet<RxDisposable> set = disposables;
+                    if (set == null) {
+                        set = new OpenHashSet<>();
+                        disposables = set;
+                    }
+                    set.add(d);
+                    return true;
+                }
+            }
+        }
+        d.dispose();
+        return false;
+    }
+
+    /**
+     * Adds several Disposables at once. If the group is already disposed, they are disposed instead.
+     *
+     * @param ds Disposables for adding
+     * @return true if the Disposables were added
+     */
+    public boolean addAll(RxDisposable... ds) {
+        if (!isDisposed()) {
+            synchronized (this) {
+                if (!isDisposed()) {
+                    OpenHashSet<RxDisposable> set = disposables;
+                    if (set == null) {
+                        set = new OpenHashSet<>(ds.length + 1);
+                        disposables = set;
+                    }
+                    for (RxDisposable d : ds) {
+                        set.add(d);
+                    }
+                    return true;
+                }
+            }
+        }
+        for (RxDisposable d : ds) {
+            d.dispose();
+        }
+        return false;
     }
 
     /**
-     * Removes Disposable from group.
+     * Removes Disposable from group without disposing it.
      *
      * @param d Disposable for removal
+     * @return true if the Disposable was in the group
      */
-    public void remove(RxDisposable d) {
-        disposables.remove(d);
+    public boolean remove(RxDisposable d) {
+        if (isDisposed()) {
+            return false;
+        }
+        synchronized (this) {
+            OpenHashSet<RxDisposable> set = disposables;
+            return !isDisposed() && set != null && set.remove(d);
+        }
     }
 
     /**
-     * Cancel all subscriptions in the group.
+     * Removes Disposable from group and disposes it.
+     *
+     * @param d Disposable for removal
+     * @return true if the Disposable was in the group
      */
-    public void dispose() {
-        for (RxDisposable d : disposables) {
+    public boolean delete(RxDisposable d) {
+        if (remove(d)) {
             d.dispose();
+            return true;
         }
-        disposables.clear();
+        return false;
     }
 
     /**
-     * Checks if all subscriptions are canceled.
-     *
-     * @return true if all subscriptions are cancelled
+     * @return number of Disposables currently in the group
      */
-    public boolean isDisposed() {
-        return disposables.stream().allMatch(RxDisposable::isDisposed);
+    public int size() {
+        if (isDisposed()) {
+            return 0;
+        }
+        synchronized (this) {
+            OpenHashSet<RxDisposable> set = disposables;
+            return isDisposed() || set == null ? 0 : set.size();
+        }
     }
-}
 
+    /**
+     * Cancel all subscriptions in the group. Disposables added later are disposed immediately.
+     */
+    @Override
+    public void dispose() {
+        if (!tryDispose()) {
+            return;
+        }
+        OpenHashSet<RxDisposable> set;
+        synchronized (this) {
+            set = disposables;
+            disposables = null;
+        }
+        if (set == null) {
+            return;
+        }
+        for (Object d : set.keys()) {
+            if (d != null) {
+                ((RxDisposable) d).dispose();
+            }
+        }
+    }
+}
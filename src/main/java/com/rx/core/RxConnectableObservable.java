@@ -0,0 +1,209 @@
+package com.rx.core;
+
+import com.rx.subjects.RxPublishSubject;
+import com.rx.subjects.RxReplaySubject;
+import com.rx.subjects.RxSubject;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Observable that shares one subscription to its upstream among all of its observers. Observers only
+ * register on subscribe; the upstream is subscribed once, by {@link #connect()}, and its elements are
+ * multicast through a subject: an {@link RxPublishSubject} for {@code publish()}, an
+ * {@link RxReplaySubject} for {@code replay()}.
+ * <p>
+ * Once the upstream has terminated or the connection was disposed, the next {@code connect()} starts a new
+ * connection; observers subscribing to a terminated connection before that receive its terminal event.
+ *
+ * @param <T> type of elements
+ */
+public final class RxConnectableObservable<T> extends RxObservable<T> {
+    private final RxObservable<T> source;
+    private final Supplier<? extends RxSubject<T>> subjectFactory;
+    private final AtomicReference<Connection<T>> current = new AtomicReference<>();
+
+    RxConnectableObservable(RxObservable<T> source, Supplier<? extends RxSubject<T>> subjectFactory) {
+        this.source = source;
+        this.subjectFactory = subjectFactory;
+    }
+
+    @Override
+    protected void subscribeActual(RxEmitter<? super T> emitter) {
+        connection(false).subject.onSubscribe().subscribe(emitter);
+    }
+
+    /**
+     * Subscribes to the upstream, unless the current connection is already connected.
+     * A synchronous upstream is run to completion within this call.
+     *
+     * @return Disposable of the connection, disposing it cancels the upstream subscription
+     */
+    public RxDisposable connect() {
+        Connection<T> c = connection(true);
+        if (c.connected.compareAndSet(false, true)) {
+            source.subscribe(c);
+        }
+        return c;
+    }
+
+    /**
+     * Connects when the first observer subscribes and disposes the connection when the last one leaves.
+     *
+     * @return new RxObservable
+     */
+    public RxObservable<T> refCount() {
+        RefCount<T> rc = new RefCount<>(this);
+        return RxObservable.<T>create(rc::subscribe);
+    }
+
+    /**
+     * Connects when the first observer subscribes and never disconnects.
+     *
+     * @return new RxObservable
+     */
+    public RxObservable<T> autoConnect() {
+        AtomicBoolean connected = new AtomicBoolean();
+        return RxObservable.<T>create(emitter -> {
+            onSubscribe().subscribe(emitter);
+            if (!connected.get() && connected.compareAndSet(false, true)) {
+                connect();
+            }
+        });
+    }
+
+    /**
+     * Returns the current connection, replacing a finished one when connecting.
+     */
+    private Connection<T> connection(boolean connecting) {
+        for (; ; ) {
+            Connection<T> c = current.get();
+            if (c != null && !(connecting && c.isDisposed())) {
+                return c;
+            }
+            Connection<T> fresh = new Connection<>(this, subjectFactory.get());
+            if (current.compareAndSet(c, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * One subscription to the upstream: feeds the subject and is disposed when the upstream terminates.
+     */
+    private static final class Connection<T> extends RxDisposable implements RxObserver<T> {
+        private final RxConnectableObservable<T> parent;
+        private final RxSubject<T> subject;
+        private final AtomicBoolean connected = new AtomicBoolean();
+        private final AtomicReference<RxDisposable> upstream = new AtomicReference<>();
+
+        Connection(RxConnectableObservable<T> parent, RxSubject<T> subject) {
+            this.parent = parent;
+            this.subject = subject;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            if (!upstream.compareAndSet(null, d) || isDisposed()) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            subject.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            super.dispose();
+            subject.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            super.dispose();
+            subject.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            if (tryDispose()) {
+                RxDisposable d = upstream.getAndSet(null);
+                if (d != null) {
+                    d.dispose();
+                }
+                parent.current.compareAndSet(this, null);
+            }
+        }
+    }
+
+    /**
+     * Counts the observers of {@link #refCount()}; the first one connects, the last one disconnects.
+     */
+    private static final class RefCount<T> {
+        private final RxConnectableObservable<T> parent;
+        private int count;
+        private RxDisposable connection;
+
+        RefCount(RxConnectableObservable<T> parent) {
+            this.parent = parent;
+        }
+
+        void subscribe(RxEmitter<? super T> emitter) {
+            boolean connect;
+            synchronized (this) {
+                connect = ++count == 1;
+            }
+            if (connect) {
+                // a connection that has terminated is replaced, so the new observers see a fresh run
+                parent.connection(true);
+            }
+            RxDisposable inner = parent.subscribe(new RxObserver<T>() {
+                @Override
+                public void onNext(T item) {
+                    emitter.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    emitter.onError(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    emitter.onComplete();
+                }
+            });
+            emitter.setCancellable(() -> {
+                inner.dispose();
+                release();
+            });
+            if (connect) {
+                RxDisposable c = parent.connect();
+                synchronized (this) {
+                    if (count != 0) {
+                        connection = c;
+                        return;
+                    }
+                }
+                c.dispose();
+            }
+        }
+
+        private void release() {
+            RxDisposable c;
+            synchronized (this) {
+                if (--count != 0) {
+                    return;
+                }
+                c = connection;
+                connection = null;
+            }
+            if (c != null) {
+                c.dispose();
+            }
+        }
+    }
+}
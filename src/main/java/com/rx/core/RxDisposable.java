@@ -23,5 +23,32 @@ public class RxDisposable {
     public boolean isDisposed() {
         return disposed.get();
     }
+
+    /**
+     * Marks the subscription as cancelled, telling whether this call was the one that did it.
+     * Subclasses use it to release their resources exactly once.
+     *
+     * @return true, if the subscription was not cancelled before
+     */
+    protected final boolean tryDispose() {
+        return disposed.compareAndSet(false, true);
+    }
+
+    /**
+     * Creates a Disposable that runs the action once, on the first {@link #dispose()} call.
+     *
+     * @param action cleanup action
+     * @return new RxDisposable
+     */
+    public static RxDisposable fromRunnable(Runnable action) {
+        return new RxDisposable() {
+            @Override
+            public void dispose() {
+                if (tryDispose()) {
+                    action.run();
+                }
+            }
+        };
+    }
 }
 
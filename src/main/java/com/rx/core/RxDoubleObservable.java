@@ -0,0 +1,175 @@
+package com.rx.core;
+
+import com.rx.internal.BaseEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Reactive stream of primitive double values. Elements are passed without boxing.
+ */
+public class RxDoubleObservable {
+    private static final Logger log = LoggerFactory.getLogger(RxDoubleObservable.class);
+
+    private final RxDoubleOnSubscribe source;
+
+    private RxDoubleObservable(RxDoubleOnSubscribe source) {
+        this.source = source;
+    }
+
+    /**
+     * A factory method for creating a Double Observable.
+     *
+     * @param source logic of element emission
+     * @return new RxDoubleObservable
+     */
+    public static RxDoubleObservable create(RxDoubleOnSubscribe source) {
+        log.debug("Creating RxDoubleObservable via create()");
+        return new RxDoubleObservable(source);
+    }
+
+    /**
+     * Creates an Observable that emits the passed values and completes the stream immediately.
+     *
+     * @param items values for emitting
+     * @return new RxDoubleObservable
+     */
+    public static RxDoubleObservable just(double... items) {
+        return create(emitter -> {
+            for (double item : items) {
+                if (emitter.isDisposed()) {
+                    return;
+                }
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * A subscription with a full set of handlers.
+     *
+     * @param onNext     action on new element
+     * @param onError    action on error
+     * @param onComplete action on complete
+     * @return Rx Disposable for subscription cancellation
+     */
+    public RxDisposable subscribe(DoubleConsumer onNext, Consumer<Throwable> onError, Runnable onComplete) {
+        return subscribe(new RxDoubleObserver() {
+            @Override
+            public void onNext(double item) {
+                onNext.accept(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                onError.accept(t);
+            }
+
+            @Override
+            public void onComplete() {
+                onComplete.run();
+            }
+        });
+    }
+
+    /**
+     * Subscription with onNext handler.
+     *
+     * @param onNext action on new element
+     * @return RxDisposable for subscription cancellation
+     */
+    public RxDisposable subscribe(DoubleConsumer onNext) {
+        return subscribe(onNext, Throwable::printStackTrace, () -> {
+        });
+    }
+
+    /**
+     * Basic subscribe, returns Disposable.
+     *
+     * @param observer observer
+     * @return RxDisposable for subscription cancellation
+     */
+    public RxDisposable subscribe(RxDoubleObserver observer) {
+        log.debug("New subscription for RxDoubleObservable");
+        SubscribeEmitter emitter = new SubscribeEmitter(observer);
+        observer.onSubscribe(emitter);
+        try {
+            source.subscribe(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+        return emitter;
+    }
+
+    /**
+     * Converts the stream into an Observable of boxed values.
+     *
+     * @return new RxObservable
+     */
+    public RxObservable<Double> boxed() {
+        return RxObservable.create(observer -> subscribe(new RxDoubleObserver() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(double item) {
+                observer.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Emitter handed to the emission logic on subscribe, see {@code RxObservable.SubscribeEmitter}.
+     */
+    private static final class SubscribeEmitter extends BaseEmitter implements RxDoubleEmitter {
+        private final RxDoubleObserver downstream;
+
+        SubscribeEmitter(RxDoubleObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(double item) {
+            if (!isDisposed()) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!isDisposed()) {
+                try {
+                    downstream.onError(t);
+                } finally {
+                    dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!isDisposed()) {
+                try {
+                    downstream.onComplete();
+                } finally {
+                    dispose();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.rx.core;
+
+/**
+ * Observer of a stream of primitive double values.
+ */
+public interface RxDoubleObserver {
+    /**
+     * Called once before any other event with the handle that cancels the upstream.
+     *
+     * @param d upstream Disposable
+     */
+    default void onSubscribe(RxDisposable d) {
+    }
+
+    /**
+     * Called when a new element is received.
+     *
+     * @param item stream item
+     */
+    void onNext(double item);
+
+    /**
+     * Called on error in stream
+     *
+     * @param t the error that occurred
+     */
+    void onError(Throwable t);
+
+    /**
+     * Called on completion of the stream.
+     */
+    void onComplete();
+}
@@ -0,0 +1,33 @@
+package com.rx.core;
+
+/**
+ * Observer handed to the emission logic of an {@link RxObservable}.
+ * <p>
+ * The emission logic should check {@link #isDisposed()} between elements and stop once the subscriber
+ * has cancelled, and register the resources it holds via {@link #setDisposable(RxDisposable)} or
+ * {@link #setCancellable(Runnable)}. They are released on cancellation and after a terminal event.
+ *
+ * @param <T> type of elements
+ */
+public interface RxEmitter<T> extends RxObserver<T> {
+    /**
+     * Checks if the subscriber has cancelled the subscription; the emission logic should stop then.
+     *
+     * @return true, if already cancelled
+     */
+    boolean isDisposed();
+
+    /**
+     * Sets the resource to release on cancellation, disposing the previous one.
+     *
+     * @param d resource Disposable
+     */
+    void setDisposable(RxDisposable d);
+
+    /**
+     * Sets the cleanup action to run on cancellation, disposing the previous resource.
+     *
+     * @param cancellable cleanup action
+     */
+    void setCancellable(Runnable cancellable);
+}
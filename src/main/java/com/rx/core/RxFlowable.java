@@ -0,0 +1,558 @@
+package com.rx.core;
+
+import com.rx.internal.BackpressureHelper;
+import com.rx.internal.SpscArrayQueue;
+import com.rx.plugins.BatchEvent;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Backpressured reactive stream: a source emits no more elements than its subscriber
+ * has requested via {@link RxSubscription#request(long)}.
+ *
+ * @param <T> type of elements
+ */
+public class RxFlowable<T> {
+    private static final Logger log = LoggerFactory.getLogger(RxFlowable.class);
+
+    /**
+     * Default number of elements prefetched by asynchronous boundaries and operators.
+     */
+    private static final int BUFFER_SIZE = Math.max(16, Integer.getInteger("rx.buffer-size", 128));
+
+    private final RxFlowableOnSubscribe<T> source;
+
+    private RxFlowable(RxFlowableOnSubscribe<T> source) {
+        this.source = source;
+    }
+
+    /**
+     * @return default prefetch amount used by operators
+     */
+    public static int bufferSize() {
+        return BUFFER_SIZE;
+    }
+
+    /**
+     * A factory method for creating a Flowable. The source is responsible for honoring the demand.
+     *
+     * @param source logic of element emission
+     * @param <T>    type of elements
+     * @return new RxFlowable
+     */
+    public static <T> RxFlowable<T> create(RxFlowableOnSubscribe<T> source) {
+        log.debug("Creating RxFlowable via create()");
+        return new RxFlowable<>(source);
+    }
+
+    /**
+     * Creates a Flowable that emits the passed elements on demand.
+     *
+     * @param items elements for emitting
+     * @param <T>   type of element
+     * @return new RxFlowable
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> RxFlowable<T> just(T... items) {
+        return fromIterable(Arrays.asList(items));
+    }
+
+    /**
+     * Creates a Flowable that emits the elements of the iterable on demand.
+     *
+     * @param iterable source of elements
+     * @param <T>      type of element
+     * @return new RxFlowable
+     */
+    public static <T> RxFlowable<T> fromIterable(Iterable<? extends T> iterable) {
+        return create(subscriber -> {
+            Iterator<? extends T> it;
+            boolean hasNext;
+            try {
+                it = iterable.iterator();
+                hasNext = it.hasNext();
+            } catch (Throwable t) {
+                subscriber.onSubscribe(EmptySubscription.INSTANCE);
+                subscriber.onError(t);
+                return;
+            }
+            if (!hasNext) {
+                subscriber.onSubscribe(EmptySubscription.INSTANCE);
+                subscriber.onComplete();
+                return;
+            }
+            subscriber.onSubscribe(new IteratorSubscription<>(subscriber, it));
+        });
+    }
+
+    /**
+     * Creates a Flowable that emits a range of integers on demand.
+     *
+     * @param start first value
+     * @param count number of values
+     * @return new RxFlowable
+     * @throws IllegalArgumentException if count is negative or the last value exceeds {@link Integer#MAX_VALUE}
+     */
+    public static RxFlowable<Integer> range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (start + (long) count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("start + count - 1 exceeds Integer.MAX_VALUE: " + start + " + " + count);
+        }
+        return fromIterable(() -> new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public Integer next() {
+                if (index >= count) {
+                    throw new NoSuchElementException();
+                }
+                return start + index++;
+            }
+        });
+    }
+
+    /**
+     * Adapts a {@link Flow.Publisher}; the demand and the cancellation are passed to it as is.
+     *
+     * @param publisher source Publisher
+     * @param <T>       type of elements
+     * @return new RxFlowable
+     */
+    public static <T> RxFlowable<T> fromPublisher(Flow.Publisher<? extends T> publisher) {
+        return create(FlowAdapters.fromPublisher(publisher));
+    }
+
+    /**
+     * Exposes this Flowable as a {@link Flow.Publisher} with the same demand. A non-positive request or
+     * a null element cancels the upstream and fails the Flow subscriber, as the Flow rules require.
+     *
+     * @return new Publisher, subscribing to this Flowable for every Flow subscriber
+     */
+    public Flow.Publisher<T> toPublisher() {
+        return FlowAdapters.toPublisher(this);
+    }
+
+    /**
+     * Iterable that subscribes for every iterator: {@code prefetch} elements are requested up front and
+     * three quarters of that again as they are consumed, and {@code hasNext()} parks the thread while none
+     * has arrived. The iterator implements {@link AutoCloseable}; closing it cancels the subscription.
+     *
+     * @param prefetch number of elements requested ahead of the consumer
+     * @return new Iterable
+     */
+    public Iterable<T> blockingIterable(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return () -> {
+            BlockingIterator<T> it = new BlockingIterator<>(prefetch);
+            subscribe((RxSubscriber<T>) it);
+            return it;
+        };
+    }
+
+    /**
+     * A subscription with a full set of handlers. Requests elements without bound.
+     *
+     * @param onNext     action on new element
+     * @param onError    action on error
+     * @param onComplete action on complete
+     * @return Rx Disposable for subscription cancellation
+     */
+    public RxDisposable subscribe(Consumer<? super T> onNext, Consumer<Throwable> onError, Runnable onComplete) {
+        LambdaSubscriber<T> subscriber = new LambdaSubscriber<>(onNext, onError, onComplete);
+        subscribe(subscriber);
+        return subscriber;
+    }
+
+    /**
+     * Subscription with onNext handler.
+     *
+     * @param onNext action on new element
+     * @return RxDisposable for subscription cancellation
+     */
+    public RxDisposable subscribe(Consumer<? super T> onNext) {
+        return subscribe(onNext, Throwable::printStackTrace, () -> {
+        });
+    }
+
+    /**
+     * Basic subscribe.
+     *
+     * @param subscriber subscriber that controls the demand
+     */
+    public void subscribe(RxSubscriber<? super T> subscriber) {
+        log.debug("New subscription for RxFlowable");
+        try {
+            source.subscribe(subscriber);
+        } catch (Throwable t) {
+            subscriber.onError(t);
+        }
+    }
+
+    /**
+     * The subscription is executed in the specified scheduler.
+     *
+     * @param scheduler scheduler for calling source.subscribe()
+     * @return a new Flowable whose subscription has been postponed to the scheduler
+     */
+    public RxFlowable<T> subscribeOn(RxScheduler scheduler) {
+        return create(subscriber -> {
+            RxWorker worker = scheduler.createWorker();
+            worker.schedule(() -> {
+                try {
+                    this.subscribe(subscriber);
+                } finally {
+                    worker.dispose();
+                }
+            });
+        });
+    }
+
+    /**
+     * Delivers signals on the specified scheduler using a bounded buffer of {@link #bufferSize()} elements.
+     *
+     * @param scheduler scheduler for event handling
+     * @return a new Flowable whose events are passed to the scheduler
+     */
+    public RxFlowable<T> observeOn(RxScheduler scheduler) {
+        return observeOn(scheduler, BUFFER_SIZE);
+    }
+
+    /**
+     * Delivers signals on the specified scheduler. At most {@code prefetch} elements are
+     * requested from upstream ahead of the downstream consumption.
+     *
+     * @param scheduler scheduler for event handling
+     * @param prefetch  size of the bounded buffer
+     * @return a new Flowable whose events are passed to the scheduler
+     */
+    public RxFlowable<T> observeOn(RxScheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return create(subscriber -> this.subscribe(new ObserveOnSubscriber<>(subscriber, scheduler.createWorker(), prefetch)));
+    }
+
+    /**
+     * Subscription that has nothing to emit.
+     */
+    public enum EmptySubscription implements RxSubscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class IteratorSubscription<T> extends AtomicLong implements RxSubscription {
+        private final RxSubscriber<? super T> downstream;
+        private final Iterator<? extends T> it;
+        private volatile boolean cancelled;
+
+        IteratorSubscription(RxSubscriber<? super T> downstream, Iterator<? extends T> it) {
+            this.downstream = downstream;
+            this.it = it;
+        }
+
+        @Override
+        public void request(long n) {
+            if (BackpressureHelper.validate(n) && BackpressureHelper.add(this, n) == 0L) {
+                drain(n);
+            }
+        }
+
+        private void drain(long r) {
+            long e = 0L;
+            for (; ; ) {
+                while (e != r) {
+                    if (cancelled) {
+                        return;
+                    }
+                    T v;
+                    try {
+                        v = it.next();
+                    } catch (Throwable t) {
+                        downstream.onError(t);
+                        return;
+                    }
+                    if (v == null) {
+                        downstream.onError(new NullPointerException("The iterator returned a null value"));
+                        return;
+                    }
+                    downstream.onNext(v);
+                    if (cancelled) {
+                        return;
+                    }
+                    boolean hasNext;
+                    try {
+                        hasNext = it.hasNext();
+                    } catch (Throwable t) {
+                        downstream.onError(t);
+                        return;
+                    }
+                    if (!hasNext) {
+                        downstream.onComplete();
+                        return;
+                    }
+                    e++;
+                }
+                r = get();
+                if (e == r) {
+                    r = addAndGet(-e);
+                    if (r == 0L) {
+                        return;
+                    }
+                    e = 0L;
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static final class LambdaSubscriber<T> extends RxDisposable implements RxSubscriber<T> {
+        private static final RxSubscription CANCELLED = EmptySubscription.INSTANCE;
+
+        private final AtomicReference<RxSubscription> upstream = new AtomicReference<>();
+        private final Consumer<? super T> onNext;
+        private final Consumer<Throwable> onError;
+        private final Runnable onComplete;
+
+        LambdaSubscriber(Consumer<? super T> onNext, Consumer<Throwable> onError, Runnable onComplete) {
+            this.onNext = onNext;
+            this.onError = onError;
+            this.onComplete = onComplete;
+        }
+
+        @Override
+        public void onSubscribe(RxSubscription subscription) {
+            if (upstream.compareAndSet(null, subscription)) {
+                subscription.request(Long.MAX_VALUE);
+            } else {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!isDisposed()) {
+                onNext.accept(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!isDisposed()) {
+                onError.accept(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!isDisposed()) {
+                onComplete.run();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            super.dispose();
+            RxSubscription s = upstream.getAndSet(CANCELLED);
+            if (s != null && s != CANCELLED) {
+                s.cancel();
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class ObserveOnSubscriber<T> extends AtomicInteger
+            implements RxSubscriber<T>, RxSubscription, Runnable {
+        private final RxSubscriber<? super T> downstream;
+        private final RxWorker worker;
+        private final int prefetch;
+        private final int limit;
+        private final SpscArrayQueue<T> queue;
+        private final AtomicLong requested = new AtomicLong();
+        private RxSubscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+        private long emitted;
+        private long consumed;
+
+        ObserveOnSubscriber(RxSubscriber<? super T> downstream, RxWorker worker, int prefetch) {
+            this.downstream = downstream;
+            this.worker = worker;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(RxSubscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                upstream.cancel();
+                error = new IllegalStateException("Queue is full: the upstream ignored the requested amount");
+                done = true;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (BackpressureHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                schedule();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            worker.dispose();
+            if (getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                try {
+                    worker.schedule(this);
+                } catch (RejectedExecutionException e) {
+                    // the scheduler refused the drain; the counter stays above zero, so no drain ever runs
+                    done = true;
+                    cancelled = true;
+                    upstream.cancel();
+                    queue.clear();
+                    downstream.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            BatchEvent event = new BatchEvent();
+            event.begin();
+            long start = emitted;
+            long e = drain();
+            event.commit("Flowable.observeOn", e - start);
+        }
+
+        private long drain() {
+            int missed = 1;
+            long e = emitted;
+            long c = consumed;
+            for (; ; ) {
+                long r = requested.get();
+                while (e != r) {
+                    boolean d = done;
+                    T v = queue.poll();
+                    boolean empty = v == null;
+                    if (checkTerminated(d, empty)) {
+                        return e;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    downstream.onNext(v);
+                    e++;
+                    if (++c == limit) {
+                        c = 0L;
+                        upstream.request(limit);
+                    }
+                }
+                if (e == r && checkTerminated(done, queue.isEmpty())) {
+                    return e;
+                }
+                emitted = e;
+                consumed = c;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return e;
+                }
+            }
+        }
+
+        private boolean checkTerminated(boolean d, boolean empty) {
+            if (cancelled) {
+                queue.clear();
+                return true;
+            }
+            if (d && empty) {
+                cancelled = true;
+                Throwable err = error;
+                if (err != null) {
+                    downstream.onError(err);
+                } else {
+                    downstream.onComplete();
+                }
+                worker.dispose();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.rx.core;
+
+/**
+ * A functional interface describing the logic of a backpressured source.
+ * Implementations must call {@link RxSubscriber#onSubscribe(RxSubscription)} first
+ * and emit no more elements than requested.
+ *
+ * @param <T> type of elements
+ */
+@FunctionalInterface
+public interface RxFlowableOnSubscribe<T> {
+    /**
+     * The method that is called when subscribing.
+     *
+     * @param subscriber target subscriber
+     */
+    void subscribe(RxSubscriber<? super T> subscriber);
+}
@@ -0,0 +1,202 @@
+package com.rx.core;
+
+import com.rx.internal.BaseEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Reactive stream of primitive int values. Elements are passed without boxing.
+ */
+public class RxIntObservable {
+    private static final Logger log = LoggerFactory.getLogger(RxIntObservable.class);
+
+    private final RxIntOnSubscribe source;
+
+    private RxIntObservable(RxIntOnSubscribe source) {
+        this.source = source;
+    }
+
+    /**
+     * A factory method for creating an Int Observable.
+     *
+     * @param source logic of element emission
+     * @return new RxIntObservable
+     */
+    public static RxIntObservable create(RxIntOnSubscribe source) {
+        log.debug("Creating RxIntObservable via create()");
+        return new RxIntObservable(source);
+    }
+
+    /**
+     * Creates an Observable that emits the passed values and completes the stream immediately.
+     *
+     * @param items values for emitting
+     * @return new RxIntObservable
+     */
+    public static RxIntObservable just(int... items) {
+        return create(emitter -> {
+            for (int item : items) {
+                if (emitter.isDisposed()) {
+                    return;
+                }
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * Creates an Observable that emits {@code count} sequential values starting from {@code start}.
+     *
+     * @param start first value
+     * @param count number of values
+     * @return new RxIntObservable
+     * @throws IllegalArgumentException if count is negative or the last value exceeds {@link Integer#MAX_VALUE}
+     */
+    public static RxIntObservable range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (start + (long) count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("start + count - 1 exceeds Integer.MAX_VALUE: " + start + " + " + count);
+        }
+        return create(emitter -> {
+            // wraps around to Integer.MIN_VALUE when the range ends at Integer.MAX_VALUE, hence the != below
+            int end = start + count;
+            for (int i = start; i != end && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            if (!emitter.isDisposed()) {
+                emitter.onComplete();
+            }
+        });
+    }
+
+    /**
+     * A subscription with a full set of handlers.
+     *
+     * @param onNext     action on new element
+     * @param onError    action on error
+     * @param onComplete action on complete
+     * @return Rx Disposable for subscription cancellation
+     */
+    public RxDisposable subscribe(IntConsumer onNext, Consumer<Throwable> onError, Runnable onComplete) {
+        return subscribe(new RxIntObserver() {
+            @Override
+            public void onNext(int item) {
+                onNext.accept(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                onError.accept(t);
+            }
+
+            @Override
+            public void onComplete() {
+                onComplete.run();
+            }
+        });
+    }
+
+    /**
+     * Subscription with onNext handler.
+     *
+     * @param onNext action on new element
+     * @return RxDisposable for subscription cancellation
+     */
+    public RxDisposable subscribe(IntConsumer onNext) {
+        return subscribe(onNext, Throwable::printStackTrace, () -> {
+        });
+    }
+
+    /**
+     * Basic subscribe, returns Disposable.
+     *
+     * @param observer observer
+     * @return RxDisposable for subscription cancellation
+     */
+    public RxDisposable subscribe(RxIntObserver observer) {
+        log.debug("New subscription for RxIntObservable");
+        SubscribeEmitter emitter = new SubscribeEmitter(observer);
+        observer.onSubscribe(emitter);
+        try {
+            source.subscribe(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+        return emitter;
+    }
+
+    /**
+     * Converts the stream into an Observable of boxed values.
+     *
+     * @return new RxObservable
+     */
+    public RxObservable<Integer> boxed() {
+        return RxObservable.create(observer -> subscribe(new RxIntObserver() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(int item) {
+                observer.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Emitter handed to the emission logic on subscribe, see {@code RxObservable.SubscribeEmitter}.
+     */
+    private static final class SubscribeEmitter extends BaseEmitter implements RxIntEmitter {
+        private final RxIntObserver downstream;
+
+        SubscribeEmitter(RxIntObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(int item) {
+            if (!isDisposed()) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!isDisposed()) {
+                try {
+                    downstream.onError(t);
+                } finally {
+                    dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!isDisposed()) {
+                try {
+                    downstream.onComplete();
+                } finally {
+                    dispose();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.rx.core;
+
+/**
+ * Observer handed to the emission logic of a {@link RxLongObservable}.
+ * See {@link RxEmitter} for the cancellation contract.
+ */
+public interface RxLongEmitter extends RxLongObserver {
+    /**
+     * Checks if the subscriber has cancelled the subscription; the emission logic should stop then.
+     *
+     * @return true, if already cancelled
+     */
+    boolean isDisposed();
+
+    /**
+     * Sets the resource to release on cancellation, disposing the previous one.
+     *
+     * @param d resource Disposable
+     */
+    void setDisposable(RxDisposable d);
+
+    /**
+     * Sets the cleanup action to run on cancellation, disposing the previous resource.
+     *
+     * @param cancellable cleanup action
+     */
+    void setCancellable(Runnable cancellable);
+}
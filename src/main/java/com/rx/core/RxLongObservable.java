@@ -0,0 +1,202 @@
+package com.rx.core;
+
+import com.rx.internal.BaseEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Reactive stream of primitive long values. Elements are passed without boxing.
+ */
+public class RxLongObservable {
+    private static final Logger log = LoggerFactory.getLogger(RxLongObservable.class);
+
+    private final RxLongOnSubscribe source;
+
+    private RxLongObservable(RxLongOnSubscribe source) {
+        this.source = source;
+    }
+
+    /**
+     * A factory method for creating a Long Observable.
+     *
+     * @param source logic of element emission
+     * @return new RxLongObservable
+     */
+    public static RxLongObservable create(RxLongOnSubscribe source) {
+        log.debug("Creating RxLongObservable via create()");
+        return new RxLongObservable(source);
+    }
+
+    /**
+     * Creates an Observable that emits the passed values and completes the stream immediately.
+     *
+     * @param items values for emitting
+     * @return new RxLongObservable
+     */
+    public static RxLongObservable just(long... items) {
+        return create(emitter -> {
+            for (long item : items) {
+                if (emitter.isDisposed()) {
+                    return;
+                }
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+        });
+    }
+
+    /**
+     * Creates an Observable that emits {@code count} sequential values starting from {@code start}.
+     *
+     * @param start first value
+     * @param count number of values
+     * @return new RxLongObservable
+     * @throws IllegalArgumentException if count is negative or the last value exceeds {@link Long#MAX_VALUE}
+     */
+    public static RxLongObservable range(long start, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if (count > 0 && start > Long.MAX_VALUE - (count - 1)) {
+            throw new IllegalArgumentException("start + count - 1 exceeds Long.MAX_VALUE: " + start + " + " + count);
+        }
+        return create(emitter -> {
+            // wraps around to Long.MIN_VALUE when the range ends at Long.MAX_VALUE, hence the != below
+            long end = start + count;
+            for (long i = start; i != end && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            if (!emitter.isDisposed()) {
+                emitter.onComplete();
+            }
+        });
+    }
+
+    /**
+     * A subscription with a full set of handlers.
+     *
+     * @param onNext     action on new element
+     * @param onError    action on error
+     * @param onComplete action on complete
+     * @return Rx Disposable for subscription cancellation
+     */
+    public RxDisposable subscribe(LongConsumer onNext, Consumer<Throwable> onError, Runnable onComplete) {
+        return subscribe(new RxLongObserver() {
+            @Override
+            public void onNext(long item) {
+                onNext.accept(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                onError.accept(t);
+            }
+
+            @Override
+            public void onComplete() {
+                onComplete.run();
+            }
+        });
+    }
+
+    /**
+     * Subscription with onNext handler.
+     *
+     * @param onNext action on new element
+     * @return RxDisposable for subscription cancellation
+     */
+    public RxDisposable subscribe(LongConsumer onNext) {
+        return subscribe(onNext, Throwable::printStackTrace, () -> {
+        });
+    }
+
+    /**
+     * Basic subscribe, returns Disposable.
+     *
+     * @param observer observer
+     * @return RxDisposable for subscription cancellation
+     */
+    public RxDisposable subscribe(RxLongObserver observer) {
+        log.debug("New subscription for RxLongObservable");
+        SubscribeEmitter emitter = new SubscribeEmitter(observer);
+        observer.onSubscribe(emitter);
+        try {
+            source.subscribe(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+        return emitter;
+    }
+
+    /**
+     * Converts the stream into an Observable of boxed values.
+     *
+     * @return new RxObservable
+     */
+    public RxObservable<Long> boxed() {
+        return RxObservable.create(observer -> subscribe(new RxLongObserver() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(long item) {
+                observer.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Emitter handed to the emission logic on subscribe, see {@code RxObservable.SubscribeEmitter}.
+     */
+    private static final class SubscribeEmitter extends BaseEmitter implements RxLongEmitter {
+        private final RxLongObserver downstream;
+
+        SubscribeEmitter(RxLongObserver downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(long item) {
+            if (!isDisposed()) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!isDisposed()) {
+                try {
+                    downstream.onError(t);
+                } finally {
+                    dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!isDisposed()) {
+                try {
+                    downstream.onComplete();
+                } finally {
+                    dispose();
+                }
+            }
+        }
+    }
+}
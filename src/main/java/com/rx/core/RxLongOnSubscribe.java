@@ -0,0 +1,14 @@
+package com.rx.core;
+
+/**
+ * A functional interface describing the logic of primitive long element emitting.
+ */
+@FunctionalInterface
+public interface RxLongOnSubscribe {
+    /**
+     * The method that is called when subscribing to pass items to the observer.
+     *
+     * @param emitter target emitter
+     */
+    void subscribe(RxLongEmitter emitter);
+}
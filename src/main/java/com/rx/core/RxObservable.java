@@ -1,11 +1,37 @@
 package com.rx.core;
 
+import com.rx.internal.ArraySource;
+import com.rx.internal.BaseEmitter;
+import com.rx.internal.GeneratorSource;
+import com.rx.internal.IterableSource;
+import com.rx.internal.RangeSource;
+import com.rx.internal.ScalarSource;
+import com.rx.internal.SpscLinkedArrayQueue;
+import com.rx.internal.StreamSource;
+import com.rx.internal.SyncQueue;
+import com.rx.internal.SyncSource;
+import com.rx.plugins.BatchEvent;
+import com.rx.plugins.DisposeEvent;
+import com.rx.plugins.RxHooks;
+import com.rx.plugins.RxMetrics;
+import com.rx.plugins.SubscribeEvent;
 import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxWorker;
+import com.rx.subjects.RxPublishSubject;
+import com.rx.subjects.RxReplaySubject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * The main class of the reactive stream.
@@ -14,11 +40,43 @@ import java.util.function.Consumer;
  */
 public class RxObservable<T> {
     private static final Logger log = LoggerFactory.getLogger(RxObservable.class);
+    private static final int QUEUE_CHUNK_SIZE = 128;
 
     private final RxOnSubscribe<T> source;
+    private final RxMetrics.StageRecorder stage;
 
-    private RxObservable(RxOnSubscribe<T> source) {
+    private RxObservable(RxOnSubscribe<T> source, RxMetrics.StageRecorder stage) {
         this.source = source;
+        this.stage = stage;
+    }
+
+    /**
+     * Constructor for subclasses that emit by themselves, such as subjects:
+     * every subscription is handed to {@link #subscribeActual(RxEmitter)}.
+     */
+    protected RxObservable() {
+        this.source = this::subscribeActual;
+        this.stage = RxHooks.onAssembly();
+    }
+
+    /**
+     * Emission logic of the subclasses created with the protected constructor.
+     *
+     * @param emitter emitter of the new subscription
+     */
+    protected void subscribeActual(RxEmitter<? super T> emitter) {
+        emitter.onError(new UnsupportedOperationException(getClass().getName() + " does not override subscribeActual"));
+    }
+
+    /**
+     * Returns the emission logic of this Observable. Operators use it to recognise
+     * sources they can fuse with at assembly time. An Observable instrumented by {@link RxMetrics}
+     * returns a logic that subscribes to it instead, so fusion never bypasses its stage.
+     *
+     * @return logic of element emission
+     */
+    public RxOnSubscribe<T> onSubscribe() {
+        return stage == null ? source : this::subscribe;
     }
 
     /**
@@ -30,38 +88,175 @@ public class RxObservable<T> {
      */
     public static <T> RxObservable<T> create(RxOnSubscribe<T> source) {
         log.debug("Creating RxObservable via create()");
-        return new RxObservable<>(source);
+        return new RxObservable<>(source, RxHooks.onAssembly());
     }
 
     /**
-     * The factory method for a single emitter.
+     * The factory method for a single emitter. The element is exposed to the operators as a {@link ScalarSource},
+     * so flatMap, merge and concat take it without subscribing.
      *
      * @param item element
      * @param <T>  type of element
      * @return An observable that emits a single element and completes
      */
     public static <T> RxObservable<T> just(T item) {
-        return create(observer -> {
-            observer.onNext(item);
-            observer.onComplete();
-        });
+        return new RxObservable<>(new ScalarSource<>(item), RxHooks.onAssembly());
     }
 
     /**
      * Creates an Observable that emits the passed elements and completes the stream immediately.
+     * The array is not copied and must not be modified afterwards.
      *
      * @param items elements for emitting
      * @param <T>   type of element
      * @return new RxObservable
      */
     @SafeVarargs
+    @SuppressWarnings("varargs")
     public static <T> RxObservable<T> just(T... items) {
-        return create(observer -> {
-            Arrays.stream(items).forEach(observer::onNext);
-            observer.onComplete();
+        return new RxObservable<>(items.length == 0 ? ArraySource.empty() : new ArraySource<>(items),
+                RxHooks.onAssembly());
+    }
+
+    /**
+     * Creates an Observable that completes without elements.
+     *
+     * @param <T> type of elements
+     * @return new RxObservable
+     */
+    public static <T> RxObservable<T> empty() {
+        return new RxObservable<>(ArraySource.empty(), RxHooks.onAssembly());
+    }
+
+    /**
+     * Creates an Observable that emits the elements of the array. Same as {@link #just(Object[])}:
+     * the array is not copied and must not be modified afterwards.
+     *
+     * @param items elements for emitting
+     * @param <T>   type of elements
+     * @return new RxObservable
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> RxObservable<T> fromArray(T... items) {
+        return new RxObservable<>(items.length == 0 ? ArraySource.empty() : new ArraySource<>(items),
+                RxHooks.onAssembly());
+    }
+
+    /**
+     * Creates an Observable that emits {@code count} sequential integers starting from {@code start}.
+     *
+     * @param start first value
+     * @param count number of values
+     * @return new RxObservable
+     * @throws IllegalArgumentException if count is negative or the last value exceeds {@link Integer#MAX_VALUE}
+     */
+    public static RxObservable<Integer> range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return new RxObservable<>(new RangeSource(start, count), RxHooks.onAssembly());
+    }
+
+    /**
+     * Creates an Observable that emits the elements of the iterable; every subscription gets a new iterator.
+     *
+     * @param iterable source of elements
+     * @param <T>      type of elements
+     * @return new RxObservable
+     */
+    public static <T> RxObservable<T> fromIterable(Iterable<? extends T> iterable) {
+        return new RxObservable<>(new IterableSource<>(iterable), RxHooks.onAssembly());
+    }
+
+    /**
+     * Creates an Observable that emits the elements of the stream and closes it at the end or on cancellation.
+     * A stream can be consumed once, so subscribing a second time fails with {@link IllegalStateException}.
+     *
+     * @param stream source of elements
+     * @param <T>    type of elements
+     * @return new RxObservable
+     */
+    public static <T> RxObservable<T> fromStream(Stream<? extends T> stream) {
+        return new RxObservable<>(new StreamSource<>(stream), RxHooks.onAssembly());
+    }
+
+    /**
+     * Creates an Observable from a generator that is called once per element: each call must either
+     * pass one element to {@code onNext} or end the sequence with {@code onComplete} or {@code onError}.
+     * The elements are produced only as fast as they are consumed.
+     *
+     * @param generator produces the next element into the given observer
+     * @param <T>       type of elements
+     * @return new RxObservable
+     */
+    public static <T> RxObservable<T> generate(Consumer<? super RxObserver<T>> generator) {
+        return new RxObservable<>(new GeneratorSource<>(generator), RxHooks.onAssembly());
+    }
+
+    /**
+     * Adapts a {@link Flow.Publisher}, requesting all of its elements at once since an Observable has no demand.
+     * Disposing the subscription cancels the Flow subscription.
+     *
+     * @param publisher source Publisher
+     * @param <T>       type of elements
+     * @return new RxObservable
+     */
+    public static <T> RxObservable<T> fromPublisher(Flow.Publisher<? extends T> publisher) {
+        return create(FlowAdapters.observableFromPublisher(publisher));
+    }
+
+    /**
+     * Creates an Observable that emits 0, 1, 2, ... at a fixed rate on a worker of the scheduler.
+     *
+     * @param initialDelay delay of the first element
+     * @param period       period between the elements
+     * @param unit         unit of the delay and the period
+     * @param scheduler    scheduler on which the elements are emitted
+     * @return new RxObservable that never completes
+     */
+    public static RxObservable<Long> interval(long initialDelay, long period, TimeUnit unit, RxScheduler scheduler) {
+        return create(emitter -> {
+            RxWorker worker = scheduler.createWorker();
+            emitter.setDisposable(worker);
+            worker.schedulePeriodically(new Runnable() {
+                private long count;
+
+                @Override
+                public void run() {
+                    emitter.onNext(count++);
+                }
+            }, initialDelay, period, unit);
         });
     }
 
+    /**
+     * Creates an Observable that emits 0, 1, 2, ... at a fixed rate, starting after one period.
+     *
+     * @param period    period between the elements
+     * @param unit      unit of the period
+     * @param scheduler scheduler on which the elements are emitted
+     * @return new RxObservable that never completes
+     */
+    public static RxObservable<Long> interval(long period, TimeUnit unit, RxScheduler scheduler) {
+        return interval(period, period, unit, scheduler);
+    }
+
+    /**
+     * Creates an Observable that emits 0 after the delay and completes.
+     *
+     * @param delay     delay of the element
+     * @param unit      unit of the delay
+     * @param scheduler scheduler on which the element is emitted
+     * @return new RxObservable
+     */
+    public static RxObservable<Long> timer(long delay, TimeUnit unit, RxScheduler scheduler) {
+        return create(emitter -> emitter.setDisposable(scheduler.schedule(() -> {
+            emitter.onNext(0L);
+            emitter.onComplete();
+        }, delay, unit)));
+    }
+
     /**
      * A subscription with a full set of handlers.
      *
@@ -109,34 +304,195 @@ public class RxObservable<T> {
      */
     public RxDisposable subscribe(RxObserver<? super T> observer) {
         log.debug("New subscription for RxObservable");
-        RxDisposable disposable = new RxDisposable();
+        if (stage != null) {
+            observer = new MeteredObserver<>(observer, stage);
+        }
+        SubscribeEmitter<T> emitter = new SubscribeEmitter<>(observer);
+        SubscribeEvent event = new SubscribeEvent();
+        event.begin();
+        observer.onSubscribe(emitter);
         try {
-            source.subscribe(new RxObserver<T>() {
-                @Override
-                public void onNext(T item) {
-                    if (!disposable.isDisposed()) {
-                        observer.onNext(item);
-                    }
-                }
+            source.subscribe(emitter);
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source.getClass().getName();
+            event.observer = observer.getClass().getName();
+            event.commit();
+        }
+        return emitter;
+    }
 
-                @Override
-                public void onError(Throwable t) {
-                    if (!disposable.isDisposed()) {
-                        observer.onError(t);
-                    }
-                }
+    /**
+     * Returns a connectable Observable that shares one subscription to this Observable among all of its
+     * observers; the upstream is subscribed on {@link RxConnectableObservable#connect()}.
+     *
+     * @return new RxConnectableObservable
+     */
+    public RxConnectableObservable<T> publish() {
+        return new RxConnectableObservable<>(this, RxPublishSubject::create);
+    }
 
-                @Override
-                public void onComplete() {
-                    if (!disposable.isDisposed()) {
-                        observer.onComplete();
-                    }
-                }
-            });
-        } catch (Throwable t) {
-            observer.onError(t);
+    /**
+     * Returns a connectable Observable that shares one subscription to this Observable and replays
+     * every element to late observers.
+     *
+     * @return new RxConnectableObservable
+     */
+    public RxConnectableObservable<T> replay() {
+        return new RxConnectableObservable<>(this, RxReplaySubject::create);
+    }
+
+    /**
+     * Returns a connectable Observable that shares one subscription to this Observable and replays
+     * the latest {@code maxSize} elements to late observers.
+     *
+     * @param maxSize maximum number of retained elements
+     * @return new RxConnectableObservable
+     */
+    public RxConnectableObservable<T> replay(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return new RxConnectableObservable<>(this, () -> RxReplaySubject.createWithSize(maxSize));
+    }
+
+    /**
+     * Returns a connectable Observable that shares one subscription to this Observable and replays
+     * to late observers at most {@code maxSize} elements younger than {@code maxAge}.
+     *
+     * @param maxSize   maximum number of retained elements
+     * @param maxAge    maximum age of retained elements
+     * @param unit      unit of the age
+     * @param scheduler scheduler providing the time
+     * @return new RxConnectableObservable
+     */
+    public RxConnectableObservable<T> replay(int maxSize, long maxAge, TimeUnit unit, RxScheduler scheduler) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
         }
-        return disposable;
+        if (maxAge < 0) {
+            throw new IllegalArgumentException("maxAge >= 0 required but it was " + maxAge);
+        }
+        return new RxConnectableObservable<>(this,
+                () -> RxReplaySubject.createWithTimeAndSize(maxAge, unit, scheduler, maxSize));
+    }
+
+    /**
+     * Subscribes to this Observable once, with the first observer, and replays every element to all
+     * observers, including the ones that come after the termination. Same as {@code replay().autoConnect()}.
+     *
+     * @return new RxObservable
+     */
+    public RxObservable<T> cache() {
+        return replay().autoConnect();
+    }
+
+    /**
+     * Shares one subscription to this Observable among the current observers: the upstream is subscribed
+     * by the first observer and disposed when the last one leaves. Same as {@code publish().refCount()}.
+     *
+     * @return new RxObservable
+     */
+    public RxObservable<T> share() {
+        return publish().refCount();
+    }
+
+    /**
+     * Exposes this Observable as a {@link Flow.Publisher}. The Observable cannot be slowed down,
+     * so elements emitted ahead of the requested amount are buffered.
+     *
+     * @return new Publisher, subscribing to this Observable for every Flow subscriber
+     */
+    public Flow.Publisher<T> toPublisher() {
+        return FlowAdapters.toPublisher(this);
+    }
+
+    /**
+     * Subscribes and blocks until the first element arrives, then disposes the subscription.
+     *
+     * @return the first element
+     * @throws NoSuchElementException if the stream completes without elements
+     */
+    public T blockingFirst() {
+        FutureObserver<T> observer = new FutureObserver<>(true);
+        subscribe(observer);
+        return observer.await();
+    }
+
+    /**
+     * Subscribes and blocks until the stream completes.
+     *
+     * @return the last element
+     * @throws NoSuchElementException if the stream completes without elements
+     */
+    public T blockingLast() {
+        FutureObserver<T> observer = new FutureObserver<>(false);
+        subscribe(observer);
+        return observer.await();
+    }
+
+    /**
+     * Subscribes and returns a future of the last element. The future fails with {@link NoSuchElementException}
+     * if the stream completes without elements; cancelling it disposes the subscription.
+     *
+     * @return new CompletableFuture
+     */
+    public CompletableFuture<T> toCompletableFuture() {
+        FutureObserver<T> observer = new FutureObserver<>(false);
+        subscribe(observer);
+        return observer;
+    }
+
+    /**
+     * Iterable that subscribes for every iterator with the default chunk size; see {@link #blockingIterable(int)}.
+     *
+     * @return new Iterable
+     */
+    public Iterable<T> blockingIterable() {
+        return blockingIterable(QUEUE_CHUNK_SIZE);
+    }
+
+    /**
+     * Iterable that subscribes for every iterator: elements are queued in chunks of {@code prefetch}, and
+     * {@code hasNext()} parks the thread while the queue is empty. The iterator implements {@link AutoCloseable};
+     * closing it disposes the subscription.
+     *
+     * @param prefetch size of the queue chunks
+     * @return new Iterable
+     */
+    public Iterable<T> blockingIterable(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return () -> {
+            BlockingIterator<T> it = new BlockingIterator<>(prefetch);
+            subscribe((RxObserver<T>) it);
+            return it;
+        };
+    }
+
+    /**
+     * Splits the stream into rails, dispatching elements round-robin.
+     *
+     * @param parallelism number of rails
+     * @return new RxParallelObservable
+     */
+    public RxParallelObservable<T> parallel(int parallelism) {
+        return RxParallelObservable.split(this, parallelism, null);
+    }
+
+    /**
+     * Splits the stream into rails by the hash of a key, so elements with equal keys share a rail.
+     *
+     * @param parallelism number of rails
+     * @param keySelector function extracting the key of an element
+     * @return new RxParallelObservable
+     */
+    public RxParallelObservable<T> parallel(int parallelism, Function<? super T, ?> keySelector) {
+        return RxParallelObservable.split(this, parallelism, keySelector);
     }
 
     /**
@@ -146,31 +502,306 @@ public class RxObservable<T> {
      * @return a new Observable whose subscription has been postponed to the scheduler
      */
     public RxObservable<T> subscribeOn(RxScheduler scheduler) {
-        return RxObservable.create(observer -> scheduler.schedule(() -> this.subscribe(observer)));
+        return RxObservable.create(emitter -> {
+            RxWorker worker = scheduler.createWorker();
+            emitter.setDisposable(worker);
+            worker.schedule(() -> {
+                try {
+                    this.subscribe(emitter);
+                } finally {
+                    worker.dispose();
+                }
+            });
+        });
     }
 
     /**
-     * The on Next/on Error/incomplete issue occurs in the specified scheduler.
+     * The onNext/onError/onComplete issue occurs in the specified scheduler.
+     * <p>
+     * Events are queued per subscription and delivered in batches by a drain task running on
+     * a worker of the scheduler, so the order is preserved and the subscription stays on one worker.
+     * Synchronous sources such as {@code range} or {@code fromIterable} skip the queue: the worker pulls
+     * their elements directly.
      *
      * @param scheduler scheduler for event handling
      * @return a new Observable whose events are passed to the scheduler
      */
     public RxObservable<T> observeOn(RxScheduler scheduler) {
-        return RxObservable.create(observer -> this.subscribe(new RxObserver<T>() {
-            @Override
-            public void onNext(T item) {
-                scheduler.schedule(() -> observer.onNext(item));
+        // a metered source keeps the regular path, its stage measures the elements as they pass
+        if (stage == null && source instanceof SyncSource<T> sync) {
+            return RxObservable.create(emitter -> new SyncObserveOn<>(emitter, sync.queue(), scheduler.createWorker()).start());
+        }
+        return RxObservable.create(emitter -> this.subscribe(new ObserveOnObserver<>(emitter, scheduler.createWorker())));
+    }
+
+    /**
+     * Emitter handed to the emission logic on subscribe: drops events after cancellation and
+     * releases the resource of the emission logic on cancellation or after a terminal event.
+     */
+    private static final class SubscribeEmitter<T> extends BaseEmitter implements RxEmitter<T> {
+        private final RxObserver<? super T> downstream;
+
+        SubscribeEmitter(RxObserver<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!isDisposed()) {
+                downstream.onNext(item);
             }
+        }
 
-            @Override
-            public void onError(Throwable t) {
-                scheduler.schedule(() -> observer.onError(t));
+        @Override
+        public void onError(Throwable t) {
+            if (!isDisposed()) {
+                try {
+                    downstream.onError(t);
+                } finally {
+                    super.dispose();
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!isDisposed()) {
+                try {
+                    downstream.onComplete();
+                } finally {
+                    super.dispose();
+                }
             }
+        }
 
-            @Override
-            public void onComplete() {
-                scheduler.schedule(observer::onComplete);
+        @Override
+        public void dispose() {
+            if (isDisposed()) {
+                return;
             }
-        }));
+            DisposeEvent event = new DisposeEvent();
+            event.begin();
+            super.dispose();
+            event.end();
+            if (event.shouldCommit()) {
+                event.observer = downstream.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Reports the events of an instrumented stage; the onNext latency includes the downstream stages.
+     */
+    private static final class MeteredObserver<T> implements RxObserver<T> {
+        private final RxObserver<? super T> downstream;
+        private final RxMetrics.StageRecorder stage;
+
+        MeteredObserver(RxObserver<? super T> downstream, RxMetrics.StageRecorder stage) {
+            this.downstream = downstream;
+            this.stage = stage;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            downstream.onSubscribe(d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            long start = System.nanoTime();
+            try {
+                downstream.onNext(item);
+            } finally {
+                stage.onNext(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            stage.onError();
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            stage.onComplete();
+            downstream.onComplete();
+        }
+    }
+
+    /**
+     * observeOn over a synchronous source: a single task on the worker pulls the elements and emits them,
+     * so no element is queued. The cursor is closed by the task, or by the cancellation if the task never started.
+     */
+    @SuppressWarnings("serial")
+    private static final class SyncObserveOn<T> extends AtomicBoolean implements Runnable {
+        private final RxEmitter<? super T> downstream;
+        private final SyncQueue<T> queue;
+        private final RxWorker worker;
+
+        SyncObserveOn(RxEmitter<? super T> downstream, SyncQueue<T> queue, RxWorker worker) {
+            this.downstream = downstream;
+            this.queue = queue;
+            this.worker = worker;
+        }
+
+        void start() {
+            downstream.setCancellable(() -> {
+                worker.dispose();
+                if (compareAndSet(false, true)) {
+                    queue.close();
+                }
+            });
+            try {
+                worker.schedule(this);
+            } catch (RejectedExecutionException e) {
+                downstream.onError(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!compareAndSet(false, true)) {
+                return;
+            }
+            BatchEvent event = new BatchEvent();
+            event.begin();
+            long emitted = 0;
+            try {
+                while (!downstream.isDisposed()) {
+                    if (!queue.hasNext()) {
+                        downstream.onComplete();
+                        break;
+                    }
+                    downstream.onNext(queue.next());
+                    emitted++;
+                }
+            } catch (Throwable t) {
+                downstream.onError(t);
+            } finally {
+                queue.close();
+                event.commit("observeOn", emitted);
+            }
+        }
+    }
+
+    /**
+     * Queue-drain async boundary: the producer enqueues, and the drain task is scheduled only
+     * when the work-in-progress counter goes from zero to one.
+     */
+    @SuppressWarnings("serial")
+    private static final class ObserveOnObserver<T> extends AtomicInteger implements RxObserver<T>, Runnable {
+        private static final Object NULL = new Object();
+
+        private final RxObserver<? super T> downstream;
+        private final RxWorker worker;
+        private final SpscLinkedArrayQueue<Object> queue = new SpscLinkedArrayQueue<>(QUEUE_CHUNK_SIZE);
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+        private RxDisposable upstream;
+
+        ObserveOnObserver(RxObserver<? super T> downstream, RxWorker worker) {
+            this.downstream = downstream;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            upstream = d;
+            downstream.onSubscribe(RxDisposable.fromRunnable(() -> {
+                cancelled = true;
+                d.dispose();
+                worker.dispose();
+            }));
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            queue.offer(item == null ? NULL : item);
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                try {
+                    worker.schedule(this);
+                } catch (RejectedExecutionException e) {
+                    // the scheduler refused the drain; the counter stays above zero, so no drain ever runs
+                    done = true;
+                    cancelled = true;
+                    upstream.dispose();
+                    queue.clear();
+                    downstream.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            BatchEvent event = new BatchEvent();
+            event.begin();
+            long emitted = drain();
+            event.commit("observeOn", emitted);
+        }
+
+        @SuppressWarnings("unchecked")
+        private long drain() {
+            long emitted = 0;
+            int missed = 1;
+            for (; ; ) {
+                for (; ; ) {
+                    if (cancelled) {
+                        queue.clear();
+                        return emitted;
+                    }
+                    boolean d = done;
+                    Object v = queue.poll();
+                    boolean empty = v == null;
+                    if (d && empty) {
+                        Throwable err = error;
+                        if (err != null) {
+                            downstream.onError(err);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        worker.dispose();
+                        return emitted;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    downstream.onNext(v == NULL ? null : (T) v);
+                    emitted++;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return emitted;
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,15 @@ package com.rx.core;
  * @param <T> type of data in stream
  */
 public interface RxObserver<T> {
+    /**
+     * Called once before any other event with the handle that cancels the upstream.
+     * Operators pass it on, so that disposing the final subscription reaches the source.
+     *
+     * @param d upstream Disposable
+     */
+    default void onSubscribe(RxDisposable d) {
+    }
+
     /**
      * Called when a new element is received.
      *
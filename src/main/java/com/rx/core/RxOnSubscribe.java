@@ -10,8 +10,8 @@ public interface RxOnSubscribe<T> {
     /**
      * The method that is called when subscribing to pass items to the observer.
      *
-     * @param observer target observer
+     * @param emitter target emitter, which also tells whether the subscription has been cancelled
      */
-    void subscribe(RxObserver<? super T> observer);
+    void subscribe(RxEmitter<? super T> emitter);
 }
 
@@ -0,0 +1,582 @@
+package com.rx.core;
+
+import com.rx.internal.SpscLinkedArrayQueue;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A stream split into a fixed number of rails that can be processed concurrently.
+ * <p>
+ * Typical usage: {@code source.parallel(n).runOn(scheduler)}, per-rail operators from
+ * {@code com.rx.operators}, then {@link #sequential()} or {@link #sequentialOrdered()}.
+ *
+ * @param <T> type of elements
+ */
+public class RxParallelObservable<T> {
+    private static final Logger log = LoggerFactory.getLogger(RxParallelObservable.class);
+    private static final int QUEUE_CHUNK_SIZE = 128;
+    private static final Object SKIP = new Object();
+
+    private final int parallelism;
+    private final RxParallelOnSubscribe<T> source;
+
+    private RxParallelObservable(int parallelism, RxParallelOnSubscribe<T> source) {
+        this.parallelism = parallelism;
+        this.source = source;
+    }
+
+    /**
+     * A factory method for creating a parallel Observable.
+     *
+     * @param parallelism number of rails
+     * @param source      logic of feeding the rails
+     * @param <T>         type of elements
+     * @return new RxParallelObservable
+     */
+    public static <T> RxParallelObservable<T> create(int parallelism, RxParallelOnSubscribe<T> source) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        log.debug("Creating RxParallelObservable with {} rails", parallelism);
+        return new RxParallelObservable<>(parallelism, source);
+    }
+
+    /**
+     * Splits the source into rails. Elements are dispatched round-robin or,
+     * if a key selector is given, by the hash of the key.
+     *
+     * @param source      source Observable
+     * @param parallelism number of rails
+     * @param keySelector key for rail selection, or null for round-robin
+     * @param <T>         type of elements
+     * @return new RxParallelObservable
+     */
+    static <T> RxParallelObservable<T> split(RxObservable<T> source, int parallelism, Function<? super T, ?> keySelector) {
+        return create(parallelism, rails -> source.subscribe(new RxObserver<T>() {
+            private long seq;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                for (RxRailObserver<? super T> rail : rails) {
+                    rail.onSubscribe(d);
+                }
+            }
+
+            @Override
+            public void onNext(T item) {
+                long s = seq++;
+                int rail = keySelector == null
+                        ? (int) (s % parallelism)
+                        : Math.floorMod(keySelector.apply(item).hashCode(), parallelism);
+                rails[rail].onNext(s, item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                for (RxRailObserver<? super T> rail : rails) {
+                    rail.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                for (RxRailObserver<? super T> rail : rails) {
+                    rail.onComplete();
+                }
+            }
+        }));
+    }
+
+    /**
+     * @return number of rails
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Subscribes one observer per rail.
+     *
+     * @param rails rail observers, the array length must equal {@link #parallelism()}
+     */
+    public void subscribe(RxRailObserver<? super T>[] rails) {
+        if (rails.length != parallelism) {
+            throw new IllegalArgumentException("Expected " + parallelism + " rails but got " + rails.length);
+        }
+        log.debug("New subscription for RxParallelObservable");
+        try {
+            source.subscribe(rails);
+        } catch (Throwable t) {
+            for (RxRailObserver<? super T> rail : rails) {
+                rail.onError(t);
+            }
+        }
+    }
+
+    /**
+     * Moves every rail to its own worker of the scheduler, so the rails run concurrently.
+     *
+     * @param scheduler scheduler providing one worker per rail
+     * @return a new parallel Observable whose rails are served by the scheduler
+     */
+    @SuppressWarnings("unchecked")
+    public RxParallelObservable<T> runOn(RxScheduler scheduler) {
+        return create(parallelism, rails -> {
+            RxRailObserver<T>[] hops = (RxRailObserver<T>[]) new RxRailObserver<?>[rails.length];
+            for (int i = 0; i < rails.length; i++) {
+                hops[i] = new RunOnRail<>(rails[i], scheduler.createWorker());
+            }
+            subscribe(hops);
+        });
+    }
+
+    /**
+     * Joins the rails into a single stream without ordering guarantees (maximum throughput).
+     *
+     * @return new RxObservable
+     */
+    public RxObservable<T> sequential() {
+        return RxObservable.create(emitter -> {
+            RxCompositeDisposable upstream = new RxCompositeDisposable();
+            emitter.setDisposable(upstream);
+            subscribe(new UnorderedJoin<T>(emitter, upstream, parallelism).rails());
+        });
+    }
+
+    /**
+     * Joins the rails into a single stream in the order of the source, using the sequence numbers
+     * assigned at the split.
+     *
+     * @return new RxObservable
+     */
+    public RxObservable<T> sequentialOrdered() {
+        return RxObservable.create(emitter -> {
+            RxCompositeDisposable upstream = new RxCompositeDisposable();
+            emitter.setDisposable(upstream);
+            subscribe(new OrderedJoin<T>(emitter, upstream, parallelism).rails());
+        });
+    }
+
+    private record Entry(long seq, Object value) {
+    }
+
+    /**
+     * Queue-drain hop of one rail onto a worker. Disposing the rail, or a failure of the downstream,
+     * stops the drain and drops the queued elements.
+     */
+    @SuppressWarnings("serial")
+    private static final class RunOnRail<T> extends AtomicInteger implements RxRailObserver<T>, Runnable {
+        private final RxRailObserver<? super T> downstream;
+        private final RxWorker worker;
+        private final SpscLinkedArrayQueue<Entry> queue = new SpscLinkedArrayQueue<>(QUEUE_CHUNK_SIZE);
+        private volatile RxDisposable upstream;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private Throwable error;
+
+        RunOnRail(RxRailObserver<? super T> downstream, RxWorker worker) {
+            this.downstream = downstream;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            upstream = d;
+            downstream.onSubscribe(RxDisposable.fromRunnable(this::cancel));
+        }
+
+        private void cancel() {
+            cancelled = true;
+            RxDisposable d = upstream;
+            if (d != null) {
+                d.dispose();
+            }
+            worker.dispose();
+        }
+
+        @Override
+        public void onNext(long seq, T item) {
+            queue.offer(new Entry(seq, item));
+            schedule();
+        }
+
+        @Override
+        public void onSkip(long seq) {
+            queue.offer(new Entry(seq, SKIP));
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            int missed = 1;
+            for (; ; ) {
+                for (; ; ) {
+                    if (cancelled) {
+                        queue.clear();
+                        return;
+                    }
+                    boolean d = done;
+                    Entry e = queue.poll();
+                    if (e == null) {
+                        if (d) {
+                            Throwable err = error;
+                            if (err != null) {
+                                downstream.onError(err);
+                            } else {
+                                downstream.onComplete();
+                            }
+                            worker.dispose();
+                            return;
+                        }
+                        break;
+                    }
+                    try {
+                        if (e.value == SKIP) {
+                            downstream.onSkip(e.seq);
+                        } else {
+                            downstream.onNext(e.seq, (T) e.value);
+                        }
+                    } catch (Throwable t) {
+                        cancel();
+                        queue.clear();
+                        downstream.onError(t);
+                        return;
+                    }
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Serializes the rails into one observer: the rail that wins the work-in-progress counter emits
+     * directly, the others leave their elements in per-rail queues for the winner to drain.
+     * The first rail error cancels all rails and is emitted right away.
+     */
+    @SuppressWarnings("serial")
+    private static final class UnorderedJoin<T> extends AtomicInteger {
+        private static final Object NULL = new Object();
+
+        private final RxObserver<? super T> downstream;
+        private final RxCompositeDisposable upstream;
+        private final SpscLinkedArrayQueue<Object>[] queues;
+        private final AtomicInteger remaining;
+        private final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        private volatile boolean cancelled;
+        private boolean terminated;
+
+        @SuppressWarnings("unchecked")
+        UnorderedJoin(RxObserver<? super T> downstream, RxCompositeDisposable upstream, int parallelism) {
+            this.downstream = downstream;
+            this.upstream = upstream;
+            this.queues = (SpscLinkedArrayQueue<Object>[]) new SpscLinkedArrayQueue<?>[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                queues[i] = new SpscLinkedArrayQueue<>(QUEUE_CHUNK_SIZE);
+            }
+            this.remaining = new AtomicInteger(parallelism);
+            upstream.add(RxDisposable.fromRunnable(this::cancel));
+        }
+
+        private void cancel() {
+            cancelled = true;
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        RxRailObserver<T>[] rails() {
+            RxRailObserver<T>[] rails = (RxRailObserver<T>[]) new RxRailObserver<?>[queues.length];
+            for (int i = 0; i < rails.length; i++) {
+                int index = i;
+                rails[i] = new RxRailObserver<T>() {
+                    @Override
+                    public void onSubscribe(RxDisposable d) {
+                        upstream.add(d);
+                    }
+
+                    @Override
+                    public void onNext(long seq, T item) {
+                        tryEmit(index, item);
+                    }
+
+                    @Override
+                    public void onSkip(long seq) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        errors.add(t);
+                        railDone();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        railDone();
+                    }
+                };
+            }
+            return rails;
+        }
+
+        private void tryEmit(int index, T item) {
+            SpscLinkedArrayQueue<Object> q = queues[index];
+            if (get() == 0 && compareAndSet(0, 1)) {
+                if (q.isEmpty() && !cancelled && errors.isEmpty()) {
+                    downstream.onNext(item);
+                } else {
+                    q.offer(item == null ? NULL : item);
+                }
+                if (decrementAndGet() == 0) {
+                    return;
+                }
+            } else {
+                q.offer(item == null ? NULL : item);
+                if (getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        private void railDone() {
+            remaining.decrementAndGet();
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drainLoop() {
+            int missed = 1;
+            for (; ; ) {
+                if (terminated) {
+                    return;
+                }
+                if (cancelled) {
+                    terminated = true;
+                    clear();
+                    return;
+                }
+                boolean d = remaining.get() == 0;
+                Throwable err = errors.poll();
+                if (err != null) {
+                    fail(err);
+                    return;
+                }
+                boolean empty = true;
+                for (SpscLinkedArrayQueue<Object> q : queues) {
+                    Object v;
+                    while ((v = q.poll()) != null) {
+                        downstream.onNext(v == NULL ? null : (T) v);
+                    }
+                    empty &= q.isEmpty();
+                }
+                if (d && empty) {
+                    terminated = true;
+                    downstream.onComplete();
+                    return;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void fail(Throwable t) {
+            terminated = true;
+            clear();
+            upstream.dispose();
+            downstream.onError(t);
+        }
+
+        private void clear() {
+            for (SpscLinkedArrayQueue<Object> q : queues) {
+                q.clear();
+            }
+        }
+    }
+
+    /**
+     * Restores the source order: each rail is ordered by sequence number, so the next element is always
+     * at the head of one of the rail queues, and dropped elements arrive as skip markers.
+     * The first rail error cancels all rails and is emitted right away.
+     */
+    @SuppressWarnings("serial")
+    private static final class OrderedJoin<T> extends AtomicInteger {
+        private final RxObserver<? super T> downstream;
+        private final RxCompositeDisposable upstream;
+        private final SpscLinkedArrayQueue<Entry>[] queues;
+        private final AtomicInteger remaining;
+        private final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        private volatile boolean cancelled;
+        private long expected;
+        private boolean terminated;
+
+        @SuppressWarnings("unchecked")
+        OrderedJoin(RxObserver<? super T> downstream, RxCompositeDisposable upstream, int parallelism) {
+            this.downstream = downstream;
+            this.upstream = upstream;
+            this.queues = (SpscLinkedArrayQueue<Entry>[]) new SpscLinkedArrayQueue<?>[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                queues[i] = new SpscLinkedArrayQueue<>(QUEUE_CHUNK_SIZE);
+            }
+            this.remaining = new AtomicInteger(parallelism);
+            upstream.add(RxDisposable.fromRunnable(this::cancel));
+        }
+
+        private void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        @SuppressWarnings("unchecked")
+        RxRailObserver<T>[] rails() {
+            RxRailObserver<T>[] rails = (RxRailObserver<T>[]) new RxRailObserver<?>[queues.length];
+            for (int i = 0; i < rails.length; i++) {
+                SpscLinkedArrayQueue<Entry> q = queues[i];
+                rails[i] = new RxRailObserver<T>() {
+                    @Override
+                    public void onSubscribe(RxDisposable d) {
+                        upstream.add(d);
+                    }
+
+                    @Override
+                    public void onNext(long seq, T item) {
+                        q.offer(new Entry(seq, item));
+                        drain();
+                    }
+
+                    @Override
+                    public void onSkip(long seq) {
+                        q.offer(new Entry(seq, SKIP));
+                        drain();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        errors.add(t);
+                        remaining.decrementAndGet();
+                        drain();
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        remaining.decrementAndGet();
+                        drain();
+                    }
+                };
+            }
+            return rails;
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (; ; ) {
+                if (terminated) {
+                    return;
+                }
+                if (cancelled) {
+                    terminated = true;
+                    clear();
+                    return;
+                }
+                boolean d = remaining.get() == 0;
+                Throwable err = errors.poll();
+                if (err != null) {
+                    fail(err);
+                    return;
+                }
+                emitInOrder();
+                if (d && allEmpty()) {
+                    terminated = true;
+                    downstream.onComplete();
+                    return;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void emitInOrder() {
+            int n = queues.length;
+            int i = (int) (expected % n);
+            int misses = 0;
+            while (misses < n) {
+                SpscLinkedArrayQueue<Entry> q = queues[i];
+                Entry e = q.peek();
+                if (e != null && e.seq == expected) {
+                    q.poll();
+                    expected++;
+                    misses = 0;
+                    if (e.value != SKIP) {
+                        downstream.onNext((T) e.value);
+                    }
+                } else {
+                    misses++;
+                    if (++i == n) {
+                        i = 0;
+                    }
+                }
+            }
+        }
+
+        private void fail(Throwable t) {
+            terminated = true;
+            clear();
+            upstream.dispose();
+            downstream.onError(t);
+        }
+
+        private boolean allEmpty() {
+            for (SpscLinkedArrayQueue<Entry> q : queues) {
+                if (!q.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void clear() {
+            for (SpscLinkedArrayQueue<Entry> q : queues) {
+                q.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.rx.core;
+
+/**
+ * A functional interface describing how a parallel source feeds its rails.
+ *
+ * @param <T> type of elements
+ */
+@FunctionalInterface
+public interface RxParallelOnSubscribe<T> {
+    /**
+     * The method that is called when subscribing, with one observer per rail.
+     *
+     * @param rails target rail observers, the array length equals the parallelism
+     */
+    void subscribe(RxRailObserver<? super T>[] rails);
+}
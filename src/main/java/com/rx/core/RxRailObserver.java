@@ -0,0 +1,46 @@
+package com.rx.core;
+
+/**
+ * Observer of a single rail of a {@link RxParallelObservable}.
+ * <p>
+ * Every element of the source gets a sequence number when it is split into rails. Elements dropped
+ * on a rail are reported via {@link #onSkip(long)}, so an ordered join knows the number will never arrive.
+ *
+ * @param <T> type of data in stream
+ */
+public interface RxRailObserver<T> {
+    /**
+     * Called once before any other event with the handle that cancels the source of the rails.
+     *
+     * @param d upstream Disposable
+     */
+    default void onSubscribe(RxDisposable d) {
+    }
+
+    /**
+     * Called when a new element is received.
+     *
+     * @param seq  sequence number of the element in the source stream
+     * @param item stream item
+     */
+    void onNext(long seq, T item);
+
+    /**
+     * Called when the element with the given sequence number was dropped on this rail.
+     *
+     * @param seq sequence number of the dropped element
+     */
+    void onSkip(long seq);
+
+    /**
+     * Called on error in stream
+     *
+     * @param t the error that occurred
+     */
+    void onError(Throwable t);
+
+    /**
+     * Called on completion of the rail.
+     */
+    void onComplete();
+}
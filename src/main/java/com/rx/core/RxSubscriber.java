@@ -0,0 +1,35 @@
+package com.rx.core;
+
+/**
+ * Subscriber of a backpressured stream. Elements are delivered only after
+ * they have been requested via {@link RxSubscription#request(long)}.
+ *
+ * @param <T> type of data in stream
+ */
+public interface RxSubscriber<T> {
+    /**
+     * Called once before any other signal.
+     *
+     * @param subscription subscription for demand signalling and cancellation
+     */
+    void onSubscribe(RxSubscription subscription);
+
+    /**
+     * Called when a new requested element is received.
+     *
+     * @param item stream item
+     */
+    void onNext(T item);
+
+    /**
+     * Called on error in stream
+     *
+     * @param t the error that occurred
+     */
+    void onError(Throwable t);
+
+    /**
+     * Called on completion of the stream.
+     */
+    void onComplete();
+}
@@ -0,0 +1,18 @@
+package com.rx.core;
+
+/**
+ * Link between a backpressured source and its subscriber.
+ */
+public interface RxSubscription {
+    /**
+     * Requests up to n more elements from the source.
+     *
+     * @param n number of elements, must be positive
+     */
+    void request(long n);
+
+    /**
+     * Stops the delivery of elements and releases resources of the source.
+     */
+    void cancel();
+}
@@ -0,0 +1,71 @@
+package com.rx.internal;
+
+import com.rx.core.RxEmitter;
+
+/**
+ * Emission logic of an Observable of a fixed array of elements; an empty array stands for an empty Observable.
+ * Operators recognise it through {@link com.rx.core.RxObservable#onSubscribe()} and read the elements directly
+ * instead of subscribing. The array is never modified.
+ *
+ * @param <T> type of elements
+ */
+public final class ArraySource<T> implements SyncSource<T> {
+    private static final ArraySource<Object> EMPTY = new ArraySource<>(new Object[0]);
+
+    private final T[] items;
+
+    public ArraySource(T[] items) {
+        this.items = items;
+    }
+
+    /**
+     * @param <T> type of elements
+     * @return shared source without elements
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ArraySource<T> empty() {
+        return (ArraySource<T>) EMPTY;
+    }
+
+    /**
+     * @return the elements, must not be modified
+     */
+    public T[] items() {
+        return items;
+    }
+
+    /**
+     * @return true, if there are no elements
+     */
+    public boolean isEmpty() {
+        return items.length == 0;
+    }
+
+    @Override
+    public SyncQueue<T> queue() {
+        return new SyncQueue<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index != items.length;
+            }
+
+            @Override
+            public T next() {
+                return items[index++];
+            }
+        };
+    }
+
+    @Override
+    public void subscribe(RxEmitter<? super T> emitter) {
+        for (T item : items) {
+            if (emitter.isDisposed()) {
+                return;
+            }
+            emitter.onNext(item);
+        }
+        emitter.onComplete();
+    }
+}
@@ -0,0 +1,77 @@
+package com.rx.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Utility methods for demand accounting in backpressured streams.
+ */
+public final class BackpressureHelper {
+
+    private BackpressureHelper() {
+    }
+
+    /**
+     * Adds two non-negative demand values, capping the result at {@link Long#MAX_VALUE}.
+     *
+     * @param a first value
+     * @param b second value
+     * @return capped sum
+     */
+    public static long addCap(long a, long b) {
+        long r = a + b;
+        return r < 0L ? Long.MAX_VALUE : r;
+    }
+
+    /**
+     * Atomically adds demand to the requested counter.
+     *
+     * @param requested requested counter
+     * @param n         amount to add
+     * @return the previous value of the counter
+     */
+    public static long add(AtomicLong requested, long n) {
+        for (; ; ) {
+            long r = requested.get();
+            if (r == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long u = addCap(r, n);
+            if (requested.compareAndSet(r, u)) {
+                return r;
+            }
+        }
+    }
+
+    /**
+     * Atomically subtracts emitted items from the requested counter, unless it is unbounded.
+     *
+     * @param requested requested counter
+     * @param n         number of emitted items
+     * @return the new value of the counter
+     */
+    public static long produced(AtomicLong requested, long n) {
+        for (; ; ) {
+            long r = requested.get();
+            if (r == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long u = r - n;
+            if (u < 0L) {
+                throw new IllegalStateException("More produced than requested: " + u);
+            }
+            if (requested.compareAndSet(r, u)) {
+                return u;
+            }
+        }
+    }
+
+    /**
+     * Validates a request amount.
+     *
+     * @param n requested amount
+     * @return true if the amount is positive
+     */
+    public static boolean validate(long n) {
+        return n > 0L;
+    }
+}
@@ -0,0 +1,61 @@
+package com.rx.internal;
+
+import com.rx.core.RxDisposable;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Disposable part of the emitters created on subscribe: holds the resource of the emission logic
+ * (usually the Disposable of the upstream) and releases it exactly once, on cancellation or
+ * after a terminal event.
+ */
+public abstract class BaseEmitter extends RxDisposable {
+    private final AtomicReference<RxDisposable> resource = new AtomicReference<>();
+
+    /**
+     * Sets the resource to release on cancellation, disposing the previous one.
+     * If the emitter is already disposed, the resource is disposed immediately.
+     *
+     * @param d resource Disposable
+     */
+    public void setDisposable(RxDisposable d) {
+        RxDisposable previous = resource.getAndSet(d);
+        if (previous != null) {
+            previous.dispose();
+        }
+        if (isDisposed()) {
+            RxDisposable current = resource.getAndSet(null);
+            if (current != null) {
+                current.dispose();
+            }
+        }
+    }
+
+    /**
+     * Sets the cleanup action to run on cancellation, disposing the previous resource.
+     *
+     * @param cancellable cleanup action
+     */
+    public void setCancellable(Runnable cancellable) {
+        setDisposable(RxDisposable.fromRunnable(cancellable));
+    }
+
+    /**
+     * Same as {@link #setDisposable(RxDisposable)}: the upstream handle becomes the resource.
+     *
+     * @param d upstream Disposable
+     */
+    public void onSubscribe(RxDisposable d) {
+        setDisposable(d);
+    }
+
+    @Override
+    public void dispose() {
+        if (tryDispose()) {
+            RxDisposable d = resource.getAndSet(null);
+            if (d != null) {
+                d.dispose();
+            }
+        }
+    }
+}
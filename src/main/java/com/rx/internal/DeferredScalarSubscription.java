@@ -0,0 +1,89 @@
+package com.rx.internal;
+
+import com.rx.core.RxSubscriber;
+import com.rx.core.RxSubscription;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Subscription that emits at most one value once it has been both produced and requested.
+ *
+ * @param <T> type of the value
+ */
+public class DeferredScalarSubscription<T> implements RxSubscription {
+    private static final int NO_REQUEST_NO_VALUE = 0;
+    private static final int NO_REQUEST_HAS_VALUE = 1;
+    private static final int HAS_REQUEST_NO_VALUE = 2;
+    private static final int DONE = 3;
+
+    protected final RxSubscriber<? super T> downstream;
+    private final AtomicInteger state = new AtomicInteger();
+    private T value;
+
+    public DeferredScalarSubscription(RxSubscriber<? super T> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void request(long n) {
+        if (!BackpressureHelper.validate(n)) {
+            return;
+        }
+        for (; ; ) {
+            int s = state.get();
+            if (s == HAS_REQUEST_NO_VALUE || s == DONE) {
+                return;
+            }
+            if (s == NO_REQUEST_HAS_VALUE) {
+                if (state.compareAndSet(NO_REQUEST_HAS_VALUE, DONE)) {
+                    T v = value;
+                    value = null;
+                    downstream.onNext(v);
+                    downstream.onComplete();
+                }
+                return;
+            }
+            if (state.compareAndSet(NO_REQUEST_NO_VALUE, HAS_REQUEST_NO_VALUE)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Emits the value as soon as the downstream has requested it.
+     *
+     * @param v value to emit, not null
+     */
+    public final void complete(T v) {
+        for (; ; ) {
+            int s = state.get();
+            if (s == NO_REQUEST_HAS_VALUE || s == DONE) {
+                return;
+            }
+            if (s == HAS_REQUEST_NO_VALUE) {
+                if (state.compareAndSet(HAS_REQUEST_NO_VALUE, DONE)) {
+                    downstream.onNext(v);
+                    downstream.onComplete();
+                }
+                return;
+            }
+            value = v;
+            if (state.compareAndSet(NO_REQUEST_NO_VALUE, NO_REQUEST_HAS_VALUE)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return true if the subscription was cancelled or the value was already delivered
+     */
+    public final boolean isDone() {
+        return state.get() == DONE;
+    }
+
+    @Override
+    public void cancel() {
+        state.set(DONE);
+        value = null;
+    }
+}
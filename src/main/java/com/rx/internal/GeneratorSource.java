@@ -0,0 +1,91 @@
+package com.rx.internal;
+
+import com.rx.core.RxObserver;
+
+import java.util.function.Consumer;
+
+/**
+ * Emission logic of {@code RxObservable.generate}: the generator is called once per element and must call
+ * {@code onNext} once, or end the sequence with {@code onComplete} or {@code onError}. Being pulled one element
+ * at a time, the generator never runs ahead of the consumer.
+ *
+ * @param <T> type of elements
+ */
+public final class GeneratorSource<T> implements SyncSource<T> {
+    private final Consumer<? super RxObserver<T>> generator;
+
+    public GeneratorSource(Consumer<? super RxObserver<T>> generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public SyncQueue<T> queue() {
+        return new Generator<>(generator);
+    }
+
+    private static final class Generator<T> implements SyncQueue<T>, RxObserver<T> {
+        private final Consumer<? super RxObserver<T>> generator;
+        private T value;
+        private boolean hasValue;
+        private boolean done;
+        private Throwable error;
+
+        Generator(Consumer<? super RxObserver<T>> generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public boolean hasNext() throws Throwable {
+            if (!hasValue && !done) {
+                generator.accept(this);
+                if (!hasValue && !done) {
+                    throw new IllegalStateException("The generator must call onNext, onError or onComplete");
+                }
+            }
+            if (hasValue) {
+                return true;
+            }
+            Throwable e = error;
+            if (e != null) {
+                error = null;
+                throw e;
+            }
+            return false;
+        }
+
+        @Override
+        public T next() {
+            T v = value;
+            value = null;
+            hasValue = false;
+            return v;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (hasValue) {
+                onError(new IllegalStateException("The generator called onNext more than once"));
+                return;
+            }
+            value = item;
+            hasValue = true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.rx.internal;
+
+import com.rx.core.RxDisposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed wheel timer: pending timeouts are spread over a ring of buckets by their deadline, and one
+ * daemon thread advances the ring by one bucket per tick, firing the timeouts whose round has come.
+ * <p>
+ * Adding or cancelling a timeout is O(1) and a timeout costs one small object, so millions of them can
+ * be pending at once. Timeouts fire with the precision of one tick. Cancelled timeouts are unlinked the
+ * next time the thread visits their bucket. The thread parks while no timeouts are pending.
+ * Expired tasks run on the timer thread and must only hand the real work over to another thread.
+ */
+public final class HashedWheelTimer {
+    private static final Logger log = LoggerFactory.getLogger(HashedWheelTimer.class);
+    private static final HashedWheelTimer SHARED = new HashedWheelTimer("rx-timer", 1, TimeUnit.MILLISECONDS, 512);
+
+    private final String name;
+    private final long tickNanos;
+    private final Timeout[] heads;
+    private final Timeout[] tails;
+    private final int mask;
+    private final long startTime;
+    private final MpscLinkedQueue<Timeout> added = new MpscLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile Thread thread;
+    private long tick;
+    private long pending;
+
+    /**
+     * @param name      name of the timer thread
+     * @param tick      duration of one tick
+     * @param unit      unit of the tick
+     * @param wheelSize number of buckets, rounded up to the next power of two
+     */
+    public HashedWheelTimer(String name, long tick, TimeUnit unit, int wheelSize) {
+        int n = SpscArrayQueue.roundToPowerOfTwo(Math.max(2, wheelSize));
+        this.name = name;
+        this.tickNanos = Math.max(1, unit.toNanos(tick));
+        this.heads = new Timeout[n];
+        this.tails = new Timeout[n];
+        this.mask = n - 1;
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * @return timer shared by the schedulers, with a tick of 1 ms
+     */
+    public static HashedWheelTimer shared() {
+        return SHARED;
+    }
+
+    /**
+     * Schedules the task to run on the timer thread once the delay has elapsed.
+     *
+     * @param task  task, must be short
+     * @param delay delay
+     * @param unit  unit of the delay
+     * @return Disposable cancelling the timeout
+     */
+    public RxDisposable newTimeout(Runnable task, long delay, TimeUnit unit) {
+        start();
+        Timeout t = new Timeout(task, System.nanoTime() + Math.max(0, unit.toNanos(delay)) - startTime);
+        added.offer(t);
+        LockSupport.unpark(thread);
+        return t;
+    }
+
+    private void start() {
+        if (!started.get() && started.compareAndSet(false, true)) {
+            Thread t = new Thread(this::run, name);
+            t.setDaemon(true);
+            thread = t;
+            t.start();
+        }
+        while (thread == null) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void run() {
+        for (; ; ) {
+            if (pending == 0 && added.isEmpty()) {
+                LockSupport.park(this);
+                // nothing was pending, so the ticks that passed while parked need no processing
+                tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+                continue;
+            }
+            long deadline = (tick + 1) * tickNanos;
+            long now;
+            while ((now = System.nanoTime() - startTime) < deadline) {
+                LockSupport.parkNanos(this, deadline - now);
+            }
+            transferAdded();
+            expire((int) tick & mask);
+            tick++;
+        }
+    }
+
+    private void transferAdded() {
+        Timeout t;
+        while ((t = added.poll()) != null) {
+            if (t.isDisposed()) {
+                continue;
+            }
+            long calculated = t.deadline / tickNanos;
+            t.remainingRounds = (calculated - tick) / heads.length;
+            int index = (int) Math.max(calculated, tick) & mask;
+            if (tails[index] == null) {
+                heads[index] = t;
+            } else {
+                tails[index].next = t;
+            }
+            tails[index] = t;
+            pending++;
+        }
+    }
+
+    private void expire(int index) {
+        Timeout prev = null;
+        Timeout t = heads[index];
+        while (t != null) {
+            Timeout next = t.next;
+            boolean unlink;
+            if (t.isDisposed()) {
+                unlink = true;
+            } else if (t.remainingRounds <= 0) {
+                unlink = true;
+                t.fire();
+            } else {
+                t.remainingRounds--;
+                unlink = false;
+            }
+            if (unlink) {
+                if (prev == null) {
+                    heads[index] = next;
+                } else {
+                    prev.next = next;
+                }
+                if (next == null) {
+                    tails[index] = prev;
+                }
+                t.next = null;
+                pending--;
+            } else {
+                prev = t;
+            }
+            t = next;
+        }
+    }
+
+    private static final class Timeout extends RxDisposable {
+        private final long deadline;
+        private Runnable task;
+        private long remainingRounds;
+        private Timeout next;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        void fire() {
+            Runnable r = task;
+            task = null;
+            try {
+                r.run();
+            } catch (Throwable e) {
+                log.error("Timer task failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.rx.internal;
+
+import java.util.Iterator;
+
+/**
+ * Emission logic of {@code RxObservable.fromIterable}: every subscription walks a new iterator.
+ *
+ * @param <T> type of elements
+ */
+public final class IterableSource<T> implements SyncSource<T> {
+    private final Iterable<? extends T> iterable;
+
+    public IterableSource(Iterable<? extends T> iterable) {
+        this.iterable = iterable;
+    }
+
+    @Override
+    public SyncQueue<T> queue() {
+        Iterator<? extends T> it = iterable.iterator();
+        return new SyncQueue<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return it.next();
+            }
+        };
+    }
+}
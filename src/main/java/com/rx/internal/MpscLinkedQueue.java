@@ -0,0 +1,74 @@
+package com.rx.internal;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded lock-free multi-producer/single-consumer queue (Vyukov's linked queue).
+ * <p>
+ * Any number of threads may call {@link #offer(Object)} concurrently, but only one thread
+ * at a time may call {@link #poll()}. Null elements are not permitted.
+ *
+ * @param <T> type of elements
+ */
+public final class MpscLinkedQueue<T> {
+    private final AtomicReference<Node<T>> producerNode;
+    private Node<T> consumerNode;
+
+    public MpscLinkedQueue() {
+        Node<T> stub = new Node<>(null);
+        this.producerNode = new AtomicReference<>(stub);
+        this.consumerNode = stub;
+    }
+
+    /**
+     * Adds an element to the queue. Safe to call from any thread.
+     *
+     * @param value element, not null
+     */
+    public void offer(T value) {
+        Node<T> node = new Node<>(value);
+        Node<T> prev = producerNode.getAndSet(node);
+        prev.lazySet(node);
+    }
+
+    /**
+     * Removes the head of the queue. Called only from the consumer thread.
+     *
+     * @return the element or null if the queue is empty
+     */
+    public T poll() {
+        Node<T> next = consumerNode.get();
+        if (next == null) {
+            return null;
+        }
+        T v = next.value;
+        next.value = null;
+        consumerNode = next;
+        return v;
+    }
+
+    /**
+     * @return true if there is no linked element to poll
+     */
+    public boolean isEmpty() {
+        return consumerNode.get() == null;
+    }
+
+    /**
+     * Drops all elements. Called only from the consumer thread.
+     */
+    public void clear() {
+        while (poll() != null) {
+            // drain
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Node<T> extends AtomicReference<Node<T>> {
+        T value;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+}
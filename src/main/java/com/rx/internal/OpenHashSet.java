@@ -0,0 +1,142 @@
+package com.rx.internal;
+
+/**
+ * Identity set with open addressing and linear probing, kept in a single array.
+ * <p>
+ * Removal shifts the following entries of the probe chain back instead of leaving tombstones,
+ * so the table never degrades. Not thread-safe: callers guard it with their own lock.
+ *
+ * @param <T> type of elements
+ */
+public final class OpenHashSet<T> {
+    private static final int INT_PHI = 0x9E3779B9;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private Object[] keys;
+    private int mask;
+    private int size;
+    private int maxSize;
+
+    /**
+     * Creates a set with the default capacity of 16.
+     */
+    public OpenHashSet() {
+        this(16);
+    }
+
+    /**
+     * @param capacity minimum capacity, rounded up to the next power of two
+     */
+    public OpenHashSet(int capacity) {
+        int c = SpscArrayQueue.roundToPowerOfTwo(Math.max(4, capacity));
+        this.keys = new Object[c];
+        this.mask = c - 1;
+        this.maxSize = (int) (c * LOAD_FACTOR);
+    }
+
+    /**
+     * @param value element, not null
+     * @return false if the element is already present
+     */
+    public boolean add(T value) {
+        Object[] a = keys;
+        int m = mask;
+        int pos = mix(System.identityHashCode(value)) & m;
+        Object current = a[pos];
+        while (current != null) {
+            if (current == value) {
+                return false;
+            }
+            pos = (pos + 1) & m;
+            current = a[pos];
+        }
+        a[pos] = value;
+        if (++size >= maxSize) {
+            rehash();
+        }
+        return true;
+    }
+
+    /**
+     * @param value element, not null
+     * @return false if the element was not present
+     */
+    public boolean remove(T value) {
+        Object[] a = keys;
+        int m = mask;
+        int pos = mix(System.identityHashCode(value)) & m;
+        Object current = a[pos];
+        while (current != null) {
+            if (current == value) {
+                removeEntry(pos, a, m);
+                return true;
+            }
+            pos = (pos + 1) & m;
+            current = a[pos];
+        }
+        return false;
+    }
+
+    /**
+     * Raw table of the set: non-null slots are the elements.
+     *
+     * @return the backing array, not a copy
+     */
+    public Object[] keys() {
+        return keys;
+    }
+
+    /**
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    private void removeEntry(int pos, Object[] a, int m) {
+        size--;
+        for (; ; ) {
+            int last = pos;
+            pos = (pos + 1) & m;
+            Object current;
+            for (; ; ) {
+                current = a[pos];
+                if (current == null) {
+                    a[last] = null;
+                    return;
+                }
+                int slot = mix(System.identityHashCode(current)) & m;
+                // the entry may move to the hole only if its home slot is not in (last, pos]
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & m;
+            }
+            a[last] = current;
+        }
+    }
+
+    private void rehash() {
+        Object[] a = keys;
+        int c = a.length << 1;
+        int m = c - 1;
+        Object[] b = new Object[c];
+        for (Object value : a) {
+            if (value != null) {
+                int pos = mix(System.identityHashCode(value)) & m;
+                while (b[pos] != null) {
+                    pos = (pos + 1) & m;
+                }
+                b[pos] = value;
+            }
+        }
+        this.keys = b;
+        this.mask = m;
+        this.maxSize = (int) (c * LOAD_FACTOR);
+    }
+
+    private static int mix(int x) {
+        int h = x * INT_PHI;
+        return h ^ (h >>> 16);
+    }
+}
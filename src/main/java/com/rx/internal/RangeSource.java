@@ -0,0 +1,52 @@
+package com.rx.internal;
+
+import com.rx.core.RxEmitter;
+
+/**
+ * Emission logic of {@code RxObservable.range}: {@code count} sequential integers from {@code start}.
+ */
+public final class RangeSource implements SyncSource<Integer> {
+    private final int start;
+    private final int end;
+
+    /**
+     * @param start first value
+     * @param count number of values, the last one must not exceed {@link Integer#MAX_VALUE}
+     */
+    public RangeSource(int start, int count) {
+        if (start + (long) count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("start + count - 1 exceeds Integer.MAX_VALUE: " + start + " + " + count);
+        }
+        this.start = start;
+        // may wrap around to Integer.MIN_VALUE when the range ends at Integer.MAX_VALUE, the loops compare with !=
+        this.end = start + count;
+    }
+
+    @Override
+    public SyncQueue<Integer> queue() {
+        return new SyncQueue<>() {
+            private int index = start;
+
+            @Override
+            public boolean hasNext() {
+                return index != end;
+            }
+
+            @Override
+            public Integer next() {
+                return index++;
+            }
+        };
+    }
+
+    @Override
+    public void subscribe(RxEmitter<? super Integer> emitter) {
+        for (int i = start; i != end; i++) {
+            if (emitter.isDisposed()) {
+                return;
+            }
+            emitter.onNext(i);
+        }
+        emitter.onComplete();
+    }
+}
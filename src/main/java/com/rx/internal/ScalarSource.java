@@ -0,0 +1,48 @@
+package com.rx.internal;
+
+import com.rx.core.RxEmitter;
+
+/**
+ * Emission logic of an Observable of one constant element. Operators recognise it through
+ * {@link com.rx.core.RxObservable#onSubscribe()} and take the value directly instead of subscribing.
+ *
+ * @param <T> type of the element
+ */
+public final class ScalarSource<T> implements SyncSource<T> {
+    private final T value;
+
+    public ScalarSource(T value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the element
+     */
+    public T value() {
+        return value;
+    }
+
+    @Override
+    public SyncQueue<T> queue() {
+        return new SyncQueue<>() {
+            private boolean taken;
+
+            @Override
+            public boolean hasNext() {
+                return !taken;
+            }
+
+            @Override
+            public T next() {
+                taken = true;
+                return value;
+            }
+        };
+    }
+
+    @Override
+    public void subscribe(RxEmitter<? super T> emitter) {
+        emitter.onNext(value);
+        emitter.onComplete();
+    }
+}
@@ -0,0 +1,89 @@
+package com.rx.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded single-producer/single-consumer ring buffer.
+ * <p>
+ * Exactly one thread may call {@link #offer(Object)} and exactly one thread may call
+ * {@link #poll()} at any given time. Null elements are not permitted.
+ *
+ * @param <T> type of elements
+ */
+public final class SpscArrayQueue<T> {
+    private final AtomicReferenceArray<T> buffer;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * @param capacity minimum capacity, rounded up to the next power of two
+     */
+    public SpscArrayQueue(int capacity) {
+        int c = roundToPowerOfTwo(Math.max(2, capacity));
+        this.buffer = new AtomicReferenceArray<>(c);
+        this.mask = c - 1;
+    }
+
+    /**
+     * Adds an element to the queue.
+     *
+     * @param value element, not null
+     * @return false if the queue is full
+     */
+    public boolean offer(T value) {
+        long p = producerIndex.get();
+        int offset = (int) p & mask;
+        if (buffer.get(offset) != null) {
+            return false;
+        }
+        buffer.lazySet(offset, value);
+        producerIndex.lazySet(p + 1);
+        return true;
+    }
+
+    /**
+     * Removes the head of the queue.
+     *
+     * @return the element or null if the queue is empty
+     */
+    public T poll() {
+        long c = consumerIndex.get();
+        int offset = (int) c & mask;
+        T value = buffer.get(offset);
+        if (value == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(c + 1);
+        return value;
+    }
+
+    /**
+     * @return true if there are no elements to poll
+     */
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    /**
+     * Drops all elements. Must be called from the consumer thread.
+     */
+    public void clear() {
+        while (poll() != null) {
+            // drain
+        }
+    }
+
+    /**
+     * @return the actual capacity of the ring
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+}
@@ -0,0 +1,122 @@
+package com.rx.internal;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unbounded single-producer/single-consumer queue made of linked fixed-size chunks.
+ * <p>
+ * A new chunk is allocated only once every {@code chunkSize} elements, so steady traffic
+ * does not allocate a node per element. Null elements are not permitted.
+ *
+ * @param <T> type of elements
+ */
+public final class SpscLinkedArrayQueue<T> {
+    private final int chunkSize;
+    private Chunk producerChunk;
+    private int producerIndex;
+    private Chunk consumerChunk;
+    private int consumerIndex;
+
+    /**
+     * @param chunkSize number of elements per chunk
+     */
+    public SpscLinkedArrayQueue(int chunkSize) {
+        this.chunkSize = Math.max(8, chunkSize);
+        Chunk c = new Chunk(this.chunkSize);
+        this.producerChunk = c;
+        this.consumerChunk = c;
+    }
+
+    /**
+     * Adds an element to the queue. Called only from the producer thread.
+     *
+     * @param value element, not null
+     */
+    public void offer(T value) {
+        Chunk c = producerChunk;
+        int i = producerIndex;
+        if (i == chunkSize) {
+            Chunk next = new Chunk(chunkSize);
+            c.next = next;
+            producerChunk = next;
+            c = next;
+            i = 0;
+        }
+        c.items.lazySet(i, value);
+        producerIndex = i + 1;
+    }
+
+    /**
+     * Removes the head of the queue. Called only from the consumer thread.
+     *
+     * @return the element or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        Chunk c = consumerChunk;
+        int i = consumerIndex;
+        if (i == chunkSize) {
+            Chunk next = c.next;
+            if (next == null) {
+                return null;
+            }
+            consumerChunk = next;
+            consumerIndex = 0;
+            c = next;
+            i = 0;
+        }
+        Object v = c.items.get(i);
+        if (v == null) {
+            return null;
+        }
+        c.items.lazySet(i, null);
+        consumerIndex = i + 1;
+        return (T) v;
+    }
+
+    /**
+     * Returns the head of the queue without removing it. Called only from the consumer thread.
+     *
+     * @return the element or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        Chunk c = consumerChunk;
+        int i = consumerIndex;
+        if (i == chunkSize) {
+            c = c.next;
+            if (c == null) {
+                return null;
+            }
+            i = 0;
+        }
+        return (T) c.items.get(i);
+    }
+
+    /**
+     * Checks whether there is an element to poll. Called only from the consumer thread.
+     *
+     * @return true if the queue is empty
+     */
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Drops all elements. Called only from the consumer thread.
+     */
+    public void clear() {
+        while (poll() != null) {
+            // drain
+        }
+    }
+
+    private static final class Chunk {
+        final AtomicReferenceArray<Object> items;
+        volatile Chunk next;
+
+        Chunk(int size) {
+            this.items = new AtomicReferenceArray<>(size);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.rx.internal;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Emission logic of {@code RxObservable.fromStream}. A stream can be consumed once, so only the first
+ * subscription gets the elements and the later ones fail with {@link IllegalStateException}.
+ * The stream is closed when the sequence is over, failed or cancelled.
+ *
+ * @param <T> type of elements
+ */
+public final class StreamSource<T> implements SyncSource<T> {
+    private final Stream<? extends T> stream;
+    private final AtomicBoolean consumed = new AtomicBoolean();
+
+    public StreamSource(Stream<? extends T> stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public SyncQueue<T> queue() {
+        if (!consumed.compareAndSet(false, true)) {
+            return new SyncQueue<>() {
+                @Override
+                public boolean hasNext() {
+                    throw new IllegalStateException("The stream can be subscribed to only once");
+                }
+
+                @Override
+                public T next() {
+                    throw new IllegalStateException("The stream can be subscribed to only once");
+                }
+            };
+        }
+        Iterator<? extends T> it = stream.iterator();
+        return new SyncQueue<>() {
+            @Override
+            public boolean hasNext() {
+                if (it.hasNext()) {
+                    return true;
+                }
+                stream.close();
+                return false;
+            }
+
+            @Override
+            public T next() {
+                return it.next();
+            }
+
+            @Override
+            public void close() {
+                stream.close();
+            }
+        };
+    }
+}
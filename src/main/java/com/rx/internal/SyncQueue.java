@@ -0,0 +1,29 @@
+package com.rx.internal;
+
+/**
+ * Pull side of a {@link SyncSource}: one cursor per subscription, read by a single thread at a time.
+ * <p>
+ * Elements may be null, so the end of the sequence is signalled by {@link #hasNext()} rather than by
+ * a null element. A failure of the source is thrown from {@link #hasNext()} or {@link #next()} and
+ * becomes the {@code onError} of the stream.
+ *
+ * @param <T> type of elements
+ */
+public interface SyncQueue<T> {
+    /**
+     * @return true, if {@link #next()} has an element; false once the sequence is over
+     * @throws Throwable failure of the source
+     */
+    boolean hasNext() throws Throwable;
+
+    /**
+     * @return next element, only valid after {@link #hasNext()} returned true
+     */
+    T next();
+
+    /**
+     * Releases the resources of the source; called once the sequence is over, failed or cancelled.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,38 @@
+package com.rx.internal;
+
+import com.rx.core.RxEmitter;
+import com.rx.core.RxOnSubscribe;
+
+/**
+ * Emission logic of a synchronous source that can also be pulled. Async boundaries and flattening operators
+ * recognise it through {@link com.rx.core.RxObservable#onSubscribe()} and poll the elements from
+ * {@link #queue()} on their own thread, instead of subscribing and buffering every element in a queue node.
+ *
+ * @param <T> type of elements
+ */
+public interface SyncSource<T> extends RxOnSubscribe<T> {
+    /**
+     * @return new cursor over the elements, for one subscription
+     */
+    SyncQueue<T> queue();
+
+    /**
+     * Push mode: pulls the elements from a new cursor and emits them until the end or the cancellation.
+     */
+    @Override
+    default void subscribe(RxEmitter<? super T> emitter) {
+        SyncQueue<T> q = queue();
+        emitter.setCancellable(q::close);
+        try {
+            while (!emitter.isDisposed()) {
+                if (!q.hasNext()) {
+                    emitter.onComplete();
+                    return;
+                }
+                emitter.onNext(q.next());
+            }
+        } catch (Throwable t) {
+            emitter.onError(t);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.rx.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Wire format of a remote stream: every frame is an {@code int} length, followed by a type byte and the payload;
+ * the length counts the type byte and the payload.
+ * <p>
+ * The producer sends {@link #NEXT}, {@link #NEXT_NULL}, then one {@link #COMPLETE} or {@link #ERROR}; the consumer
+ * sends {@link #REQUEST} frames with the number of elements it is ready to take. Closing the connection
+ * from the consumer side cancels the stream.
+ */
+final class Frames {
+    static final byte NEXT = 1;
+    static final byte NEXT_NULL = 2;
+    static final byte COMPLETE = 3;
+    static final byte ERROR = 4;
+    static final byte REQUEST = 5;
+
+    /**
+     * Length and type.
+     */
+    static final int HEADER = 5;
+
+    /**
+     * Size of the read and write buffers of a connection; a frame must fit into it.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_ERROR_CHARS = 1024;
+
+    private Frames() {
+    }
+
+    /**
+     * Reserves the header of a frame; the payload is written after it.
+     *
+     * @return start of the frame
+     */
+    static int begin(ByteBuffer out) {
+        int start = out.position();
+        out.position(start + HEADER);
+        return start;
+    }
+
+    /**
+     * Writes the header of the frame started at {@code start}, now that the payload length is known.
+     */
+    static void end(ByteBuffer out, int start, byte type) {
+        out.putInt(start, out.position() - start - Integer.BYTES);
+        out.put(start + Integer.BYTES, type);
+    }
+
+    /**
+     * @return false, if the frame does not fit into the buffer
+     */
+    static boolean putEmpty(ByteBuffer out, byte type) {
+        if (out.remaining() < HEADER) {
+            return false;
+        }
+        out.putInt(1).put(type);
+        return true;
+    }
+
+    /**
+     * @return false, if the frame does not fit into the buffer
+     */
+    static boolean putError(ByteBuffer out, Throwable error) {
+        String message = String.valueOf(error);
+        if (message.length() > MAX_ERROR_CHARS) {
+            message = message.substring(0, MAX_ERROR_CHARS);
+        }
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        if (out.remaining() < HEADER + bytes.length) {
+            return false;
+        }
+        out.putInt(1 + bytes.length).put(ERROR).put(bytes);
+        return true;
+    }
+
+    /**
+     * Sends a request frame, blocking until it is written.
+     *
+     * @param buffer reusable buffer of at least 13 bytes
+     */
+    static void writeRequest(SocketChannel channel, ByteBuffer buffer, long n) throws IOException {
+        buffer.clear();
+        buffer.putInt(1 + Long.BYTES).put(REQUEST).putLong(n).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Checks whether the buffer holds a whole frame at its position.
+     *
+     * @return length of the frame after the length field, or -1 if more bytes are needed
+     * @throws IOException if the length does not fit into a buffer of {@link #BUFFER_SIZE}
+     */
+    static int frameLength(ByteBuffer in) throws IOException {
+        if (in.remaining() < Integer.BYTES) {
+            return -1;
+        }
+        int length = in.getInt(in.position());
+        if (length < 1 || length > BUFFER_SIZE - Integer.BYTES) {
+            throw new IOException("Malformed frame of " + length + " bytes");
+        }
+        return in.remaining() - Integer.BYTES < length ? -1 : length;
+    }
+
+    /**
+     * @return the rest of the payload as UTF-8
+     */
+    static String readString(ByteBuffer in) {
+        return StandardCharsets.UTF_8.decode(in).toString();
+    }
+}
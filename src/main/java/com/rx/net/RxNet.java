@@ -0,0 +1,99 @@
+package com.rx.net;
+
+import com.rx.core.RxObservable;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxSchedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Streams between processes over TCP: {@link #serve} publishes an Observable on a socket,
+ * {@link #connect} subscribes to it from another process.
+ * <p>
+ * Elements travel in length-prefixed binary frames (see {@link RxSerializer}), written in batches.
+ * The flow is credit-based: the consumer grants the producer a number of elements and renews the grant as it
+ * emits them, so a slow consumer throttles the source of the producer instead of filling its memory.
+ */
+public final class RxNet {
+    /**
+     * Default number of elements the consumer lets the producer send ahead.
+     */
+    public static final int DEFAULT_PREFETCH = 256;
+
+    /**
+     * Default number of elements a producer connection queues before parking the source thread.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    private RxNet() {
+    }
+
+    /**
+     * Publishes the source on the address; sources are subscribed on {@link RxSchedulers#io()}.
+     *
+     * @param source     source Observable, subscribed once per connection
+     * @param address    address to listen on, port 0 picks a free port
+     * @param serializer serializer of the elements
+     * @param <T>        type of elements
+     * @return running server
+     * @throws UncheckedIOException if the address cannot be bound
+     */
+    public static <T> RxNetServer<T> serve(RxObservable<T> source, InetSocketAddress address,
+                                           RxSerializer<? super T> serializer) {
+        return serve(source, address, serializer, RxSchedulers.io(), DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * @param source     source Observable, subscribed once per connection
+     * @param address    address to listen on, port 0 picks a free port
+     * @param serializer serializer of the elements
+     * @param scheduler  scheduler the source is subscribed on; a synchronous source keeps its thread busy
+     *                   while it waits for credit
+     * @param queueSize  number of elements queued per connection before the source thread parks
+     * @param <T>        type of elements
+     * @return running server
+     * @throws UncheckedIOException if the address cannot be bound
+     */
+    public static <T> RxNetServer<T> serve(RxObservable<T> source, InetSocketAddress address,
+                                           RxSerializer<? super T> serializer, RxScheduler scheduler, int queueSize) {
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("queueSize > 0 required but it was " + queueSize);
+        }
+        try {
+            return new RxNetServer<>(source, address, serializer, scheduler, queueSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind " + address, e);
+        }
+    }
+
+    /**
+     * Subscribes to a remote stream with {@link #DEFAULT_PREFETCH}; elements are emitted on {@link RxSchedulers#io()}.
+     *
+     * @param address    address of the server
+     * @param serializer serializer of the elements
+     * @param <T>        type of elements
+     * @return new RxObservable opening a connection for every subscriber
+     */
+    public static <T> RxObservable<T> connect(InetSocketAddress address, RxSerializer<? extends T> serializer) {
+        return connect(address, serializer, DEFAULT_PREFETCH, RxSchedulers.io());
+    }
+
+    /**
+     * @param address    address of the server
+     * @param serializer serializer of the elements
+     * @param prefetch   number of elements the producer may send ahead of the consumer
+     * @param scheduler  scheduler whose thread reads the connection and emits the elements
+     * @param <T>        type of elements
+     * @return new RxObservable opening a connection for every subscriber
+     */
+    public static <T> RxObservable<T> connect(InetSocketAddress address, RxSerializer<? extends T> serializer,
+                                              int prefetch, RxScheduler scheduler) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return RxObservable.create(emitter -> scheduler.schedule(
+                new SourceConnection<>(emitter, address, serializer, prefetch)));
+    }
+}
@@ -0,0 +1,176 @@
+package com.rx.net;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.internal.MpscLinkedQueue;
+import com.rx.schedulers.RxScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server publishing an Observable to remote consumers. Every accepted connection is a separate subscription
+ * to the source, subscribed on the given scheduler.
+ * <p>
+ * One event-loop thread per server accepts the connections and does all their I/O over a single selector,
+ * so a connection costs no thread of its own. Sources hand their connections over to the loop through a
+ * queue and wake the selector only if the loop actually sleeps in it.
+ * {@link #dispose()} stops accepting and closes every open connection, cancelling their subscriptions.
+ *
+ * @param <T> type of elements
+ */
+public final class RxNetServer<T> extends RxDisposable {
+    private static final Logger log = LoggerFactory.getLogger(RxNetServer.class);
+
+    private final RxObservable<T> source;
+    private final RxSerializer<? super T> serializer;
+    private final RxScheduler scheduler;
+    private final int queueSize;
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final InetSocketAddress localAddress;
+    private final Set<SinkConnection<T>> connections = ConcurrentHashMap.newKeySet();
+    private final MpscLinkedQueue<SinkConnection<T>> ready = new MpscLinkedQueue<>();
+    private final AtomicBoolean sleeping = new AtomicBoolean();
+
+    RxNetServer(RxObservable<T> source, InetSocketAddress address, RxSerializer<? super T> serializer,
+                RxScheduler scheduler, int queueSize) throws IOException {
+        this.source = source;
+        this.serializer = serializer;
+        this.scheduler = scheduler;
+        this.queueSize = queueSize;
+        this.server = ServerSocketChannel.open();
+        try {
+            server.bind(address);
+            server.configureBlocking(false);
+            this.localAddress = (InetSocketAddress) server.getLocalAddress();
+            this.selector = Selector.open();
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+        Thread t = new Thread(this::run, "rx-net-" + localAddress.getPort());
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * @return address the server listens on, with the actual port if it was bound to port 0
+     */
+    public InetSocketAddress localAddress() {
+        return localAddress;
+    }
+
+    /**
+     * @return number of open connections
+     */
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Queues the connection for a pass of the event loop.
+     */
+    void ready(SinkConnection<T> connection) {
+        ready.offer(connection);
+        if (sleeping.get() && sleeping.compareAndSet(true, false)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Called by a connection on the event loop once it has released its channel.
+     */
+    void closed(SinkConnection<T> connection) {
+        connections.remove(connection);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run() {
+        try {
+            while (!isDisposed()) {
+                SinkConnection<T> c;
+                while ((c = ready.poll()) != null) {
+                    c.process(0);
+                }
+                sleeping.set(true);
+                // re-check after publishing the flag, so a connection queued before it is not missed
+                if (ready.isEmpty() && !isDisposed()) {
+                    selector.select();
+                } else {
+                    selector.selectNow();
+                }
+                sleeping.set(false);
+                Set<SelectionKey> keys = selector.selectedKeys();
+                for (SelectionKey key : keys) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        ((SinkConnection<T>) key.attachment()).process(key.readyOps());
+                    }
+                }
+                keys.clear();
+            }
+        } catch (Throwable e) {
+            log.error("Event loop of the server on {} failed", localAddress, e);
+        } finally {
+            dispose();
+            for (SinkConnection<T> c : connections) {
+                c.close();
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                log.debug("Failed to close the selector", e);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            SinkConnection<T> connection;
+            try {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                connection = new SinkConnection<>(this, channel, selector, serializer, queueSize);
+            } catch (IOException e) {
+                log.warn("Failed to open a connection on {}", localAddress, e);
+                channel.close();
+                continue;
+            }
+            connections.add(connection);
+            try {
+                scheduler.schedule(() -> source.subscribe(connection));
+            } catch (RuntimeException e) {
+                log.warn("Failed to subscribe a connection on {}", localAddress, e);
+                connection.close();
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (tryDispose()) {
+            try {
+                server.close();
+            } catch (IOException e) {
+                log.debug("Failed to close the server channel", e);
+            }
+            selector.wakeup();
+        }
+    }
+}
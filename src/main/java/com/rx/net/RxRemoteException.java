@@ -0,0 +1,16 @@
+package com.rx.net;
+
+/**
+ * Error of the remote stream, delivered to the consumer. Exceptions do not cross the connection as objects:
+ * the message holds the class name and the message of the original exception.
+ */
+public class RxRemoteException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message description of the remote error
+     */
+    public RxRemoteException(String message) {
+        super(message);
+    }
+}
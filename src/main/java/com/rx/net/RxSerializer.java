@@ -0,0 +1,84 @@
+package com.rx.net;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts the elements of a remote stream to the payload of a frame and back.
+ * <p>
+ * Elements are written straight into the write buffer of the connection, so serializing costs no
+ * intermediate arrays; a serializer that does not fit into the remaining space throws
+ * {@link java.nio.BufferOverflowException} and is called again once the buffer has been flushed.
+ * Null elements are sent as a separate frame type and never reach the serializer.
+ *
+ * @param <T> type of elements
+ */
+public interface RxSerializer<T> {
+
+    /**
+     * Writes the element at the position of the buffer.
+     *
+     * @param item element, never null
+     * @param out  write buffer
+     */
+    void serialize(T item, ByteBuffer out);
+
+    /**
+     * Reads an element from the buffer, which is limited to the payload of one frame.
+     *
+     * @param in payload of the frame
+     * @return element
+     */
+    T deserialize(ByteBuffer in);
+
+    /**
+     * @return serializer of Integer as 4 bytes
+     */
+    static RxSerializer<Integer> ints() {
+        return new RxSerializer<>() {
+            @Override
+            public void serialize(Integer item, ByteBuffer out) {
+                out.putInt(item);
+            }
+
+            @Override
+            public Integer deserialize(ByteBuffer in) {
+                return in.getInt();
+            }
+        };
+    }
+
+    /**
+     * @return serializer of Long as 8 bytes
+     */
+    static RxSerializer<Long> longs() {
+        return new RxSerializer<>() {
+            @Override
+            public void serialize(Long item, ByteBuffer out) {
+                out.putLong(item);
+            }
+
+            @Override
+            public Long deserialize(ByteBuffer in) {
+                return in.getLong();
+            }
+        };
+    }
+
+    /**
+     * @return serializer of String as UTF-8, the length is taken from the frame
+     */
+    static RxSerializer<String> strings() {
+        return new RxSerializer<>() {
+            @Override
+            public void serialize(String item, ByteBuffer out) {
+                out.put(item.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public String deserialize(ByteBuffer in) {
+                return StandardCharsets.UTF_8.decode(in).toString();
+            }
+        };
+    }
+}
@@ -0,0 +1,373 @@
+package com.rx.net;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObserver;
+import com.rx.internal.BackpressureHelper;
+import com.rx.internal.SpscArrayQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Producer side of one connection: observes the source and writes its elements to the consumer.
+ * <p>
+ * The source thread only puts elements into a bounded queue and hands the connection over to the event loop
+ * of the server, which owns the channel. Each pass of the loop encodes as many queued elements as the credit
+ * and the write buffer allow and writes them with a single call, so a fast source is sent in large batches
+ * while a slow one is sent element by element without delay. Requests of the consumer are read only when the
+ * selector reports them or the credit runs out. Without credit the queue fills up and the source thread parks
+ * until the consumer asks for more, which throttles the producer itself.
+ *
+ * @param <T> type of elements
+ */
+final class SinkConnection<T> extends RxDisposable implements RxObserver<T> {
+    private static final Logger log = LoggerFactory.getLogger(SinkConnection.class);
+    private static final Object NULL = new Object();
+
+    private final RxNetServer<T> server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final RxSerializer<? super T> serializer;
+    private final SpscArrayQueue<Object> queue;
+    private final ByteBuffer in = ByteBuffer.allocate(256);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(Frames.BUFFER_SIZE);
+    private final AtomicReference<Thread> producer = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile RxDisposable upstream;
+    private volatile long credit;
+    private volatile boolean done;
+    private Throwable error;
+    private Throwable failure;
+    private Object pending;
+    private boolean terminated;
+    private boolean outputShutdown;
+    private boolean closed;
+
+    /**
+     * Must be called on the event loop, which owns the selector.
+     */
+    SinkConnection(RxNetServer<T> server, SocketChannel channel, Selector selector, RxSerializer<? super T> serializer,
+                   int queueSize) throws IOException {
+        this.server = server;
+        this.channel = channel;
+        this.serializer = serializer;
+        this.queue = new SpscArrayQueue<>(queueSize);
+        channel.configureBlocking(false);
+        this.key = channel.register(selector, SelectionKey.OP_READ, this);
+    }
+
+    @Override
+    public void onSubscribe(RxDisposable d) {
+        upstream = d;
+        if (isDisposed()) {
+            d.dispose();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (isDisposed()) {
+            return;
+        }
+        Object v = item == null ? NULL : item;
+        if (!queue.offer(v) && !awaitRoom(v)) {
+            return;
+        }
+        if (credit > 0) {
+            schedule();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        error = t;
+        done = true;
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        schedule();
+    }
+
+    /**
+     * Parks the source thread until the loop takes an element from the full queue.
+     *
+     * @return false, if the connection was closed meanwhile
+     */
+    private boolean awaitRoom(Object v) {
+        Thread current = Thread.currentThread();
+        for (; ; ) {
+            producer.set(current);
+            // re-check after publishing the waiter, so a poll between the offer and the park is not lost
+            if (queue.offer(v)) {
+                producer.set(null);
+                return true;
+            }
+            if (isDisposed()) {
+                producer.set(null);
+                return false;
+            }
+            LockSupport.park(this);
+            producer.set(null);
+            if (Thread.interrupted()) {
+                dispose();
+                current.interrupt();
+                return false;
+            }
+        }
+    }
+
+    private void signalProducer() {
+        if (producer.get() != null) {
+            Thread t = producer.getAndSet(null);
+            if (t != null) {
+                LockSupport.unpark(t);
+            }
+        }
+    }
+
+    /**
+     * Hands the connection over to the event loop, unless it is already waiting there.
+     */
+    private void schedule() {
+        if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+            server.ready(this);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (tryDispose()) {
+            RxDisposable d = upstream;
+            if (d != null) {
+                d.dispose();
+            }
+            signalProducer();
+            schedule();
+        }
+    }
+
+    /**
+     * One pass of the event loop over the connection. A pass that made progress schedules another one,
+     * after the other ready connections, so a fast stream does not starve the rest.
+     *
+     * @param readyOps operations reported by the selector, 0 if the connection was scheduled
+     */
+    void process(int readyOps) {
+        if (closed) {
+            return;
+        }
+        scheduled.set(false);
+        try {
+            if (!isDisposed()) {
+                boolean progress = false;
+                if ((readyOps & SelectionKey.OP_READ) != 0 || credit == 0) {
+                    progress = readRequests();
+                }
+                if (isDisposed()) {
+                    close();
+                    return;
+                }
+                progress |= fill();
+                progress |= flush();
+                if (terminated && out.position() == 0 && !outputShutdown) {
+                    // the consumer closes the connection once it has read the terminal frame
+                    channel.shutdownOutput();
+                    outputShutdown = true;
+                }
+                int ops = out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+                if (key.interestOps() != ops) {
+                    key.interestOps(ops);
+                }
+                if (progress && ready()) {
+                    schedule();
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Connection to {} closed: {}", remoteAddress(), e.toString());
+            dispose();
+        } catch (Throwable e) {
+            log.error("Connection to {} failed", remoteAddress(), e);
+            dispose();
+        }
+        if (isDisposed()) {
+            close();
+        }
+    }
+
+    /**
+     * Releases the channel; called on the event loop once the connection is disposed.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        dispose();
+        queue.clear();
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Failed to close the channel", e);
+        }
+        server.closed(this);
+    }
+
+    /**
+     * @return true, if any bytes were read
+     */
+    private boolean readRequests() throws IOException {
+        int n = channel.read(in);
+        if (n < 0) {
+            // the consumer has cancelled or has read the terminal frame
+            dispose();
+            return false;
+        }
+        in.flip();
+        int length;
+        while ((length = Frames.frameLength(in)) >= 0) {
+            in.position(in.position() + Integer.BYTES);
+            byte type = in.get();
+            if (type != Frames.REQUEST || length != 1 + Long.BYTES) {
+                throw new IOException("Unexpected frame " + type + " of " + length + " bytes from the consumer");
+            }
+            long r = in.getLong();
+            if (r <= 0) {
+                throw new IOException("Request > 0 required but it was " + r);
+            }
+            credit = BackpressureHelper.addCap(credit, r);
+        }
+        in.compact();
+        return n > 0;
+    }
+
+    /**
+     * Encodes the queued elements the credit allows, then the terminal frame once the queue is drained.
+     *
+     * @return true, if any frame was encoded
+     */
+    private boolean fill() {
+        if (terminated) {
+            return false;
+        }
+        boolean progress = false;
+        if (failure == null) {
+            for (; ; ) {
+                Object v = pending;
+                if (v == null) {
+                    if (credit == 0 || (v = queue.poll()) == null) {
+                        break;
+                    }
+                    signalProducer();
+                }
+                boolean written;
+                try {
+                    written = encode(v);
+                } catch (Throwable t) {
+                    fail(t);
+                    break;
+                }
+                if (!written) {
+                    if (out.position() == 0) {
+                        fail(new IllegalArgumentException("Element does not fit into a frame of "
+                                + Frames.BUFFER_SIZE + " bytes"));
+                    } else {
+                        pending = v;
+                    }
+                    break;
+                }
+                pending = null;
+                credit--;
+                progress = true;
+            }
+        }
+        if (failure != null) {
+            terminated = Frames.putError(out, failure);
+        } else if (done && pending == null && queue.isEmpty()) {
+            Throwable e = error;
+            terminated = e != null ? Frames.putError(out, e) : Frames.putEmpty(out, Frames.COMPLETE);
+        }
+        return progress || terminated;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean encode(Object v) {
+        if (v == NULL) {
+            return Frames.putEmpty(out, Frames.NEXT_NULL);
+        }
+        if (out.remaining() <= Frames.HEADER) {
+            return false;
+        }
+        int start = Frames.begin(out);
+        try {
+            serializer.serialize((T) v, out);
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            return false;
+        } catch (Throwable e) {
+            out.position(start);
+            throw e;
+        }
+        Frames.end(out, start, Frames.NEXT);
+        return true;
+    }
+
+    /**
+     * Stops the stream because of an element that cannot be sent; the consumer receives the error.
+     */
+    private void fail(Throwable t) {
+        failure = t;
+        pending = null;
+        RxDisposable d = upstream;
+        if (d != null) {
+            d.dispose();
+        }
+        signalProducer();
+    }
+
+    /**
+     * @return true, if any bytes were written
+     */
+    private boolean flush() throws IOException {
+        if (out.position() == 0) {
+            return false;
+        }
+        out.flip();
+        int n = channel.write(out);
+        out.compact();
+        return n > 0;
+    }
+
+    /**
+     * @return true, if another pass can encode something right away
+     */
+    private boolean ready() {
+        if (terminated || out.position() > 0) {
+            return false;
+        }
+        if (pending == null && queue.isEmpty()) {
+            return done;
+        }
+        return credit > 0;
+    }
+
+    private Object remoteAddress() {
+        try {
+            return channel.getRemoteAddress();
+        } catch (IOException e) {
+            return "closed channel";
+        }
+    }
+}
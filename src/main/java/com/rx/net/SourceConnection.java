@@ -0,0 +1,111 @@
+package com.rx.net;
+
+import com.rx.core.RxEmitter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Consumer side of one connection: connects, grants {@code prefetch} elements of credit and emits the frames
+ * it reads, on the thread of the scheduler it runs on.
+ * <p>
+ * Frames are read in large chunks and decoded in place. Three quarters of the prefetch are requested again
+ * once emitted, so the producer never runs more than {@code prefetch} elements ahead of the consumer, while
+ * a consumer that keeps up never waits for a request round trip. Disposing the subscription closes the
+ * connection, which cancels the stream on the producer side.
+ *
+ * @param <T> type of elements
+ */
+final class SourceConnection<T> implements Runnable {
+    private final RxEmitter<? super T> emitter;
+    private final InetSocketAddress address;
+    private final RxSerializer<? extends T> serializer;
+    private final int prefetch;
+    private final int limit;
+
+    SourceConnection(RxEmitter<? super T> emitter, InetSocketAddress address, RxSerializer<? extends T> serializer,
+                     int prefetch) {
+        this.emitter = emitter;
+        this.address = address;
+        this.serializer = serializer;
+        this.prefetch = prefetch;
+        this.limit = prefetch - (prefetch >> 2);
+    }
+
+    @Override
+    public void run() {
+        if (emitter.isDisposed()) {
+            return;
+        }
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open();
+        } catch (IOException e) {
+            emitter.onError(e);
+            return;
+        }
+        emitter.setCancellable(() -> closeQuietly(channel));
+        try {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.connect(address);
+            ByteBuffer request = ByteBuffer.allocate(Frames.HEADER + Long.BYTES);
+            ByteBuffer in = ByteBuffer.allocateDirect(Frames.BUFFER_SIZE);
+            Frames.writeRequest(channel, request, prefetch);
+            int consumed = 0;
+            for (; ; ) {
+                if (channel.read(in) < 0) {
+                    throw new EOFException("Connection to " + address + " closed before the stream terminated");
+                }
+                in.flip();
+                int length;
+                while ((length = Frames.frameLength(in)) >= 0) {
+                    int end = in.position() + Integer.BYTES + length;
+                    in.position(in.position() + Integer.BYTES);
+                    byte type = in.get();
+                    int bufferLimit = in.limit();
+                    in.limit(end);
+                    switch (type) {
+                        case Frames.NEXT -> emitter.onNext(serializer.deserialize(in));
+                        case Frames.NEXT_NULL -> emitter.onNext(null);
+                        case Frames.COMPLETE -> {
+                            emitter.onComplete();
+                            return;
+                        }
+                        case Frames.ERROR -> {
+                            emitter.onError(new RxRemoteException(Frames.readString(in)));
+                            return;
+                        }
+                        default -> throw new IOException("Unexpected frame " + type + " from the producer");
+                    }
+                    in.limit(bufferLimit).position(end);
+                    if (emitter.isDisposed()) {
+                        return;
+                    }
+                    if (++consumed == limit) {
+                        consumed = 0;
+                        Frames.writeRequest(channel, request, limit);
+                    }
+                }
+                in.compact();
+            }
+        } catch (Throwable e) {
+            if (!emitter.isDisposed()) {
+                emitter.onError(e);
+            }
+        } finally {
+            closeQuietly(channel);
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing to release any more
+        }
+    }
+}
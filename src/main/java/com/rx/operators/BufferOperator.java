@@ -0,0 +1,249 @@
+package com.rx.operators;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+import com.rx.internal.MpscLinkedQueue;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxWorker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffer operator: groups the elements into lists, so that a sink can handle them in batches.
+ * <p>
+ * Every list is allocated with its expected size and handed over to the downstream without copying;
+ * the operator never touches a list after emitting it, so the downstream owns it.
+ */
+public class BufferOperator {
+
+    /**
+     * Emits lists of {@code count} elements; the last list may be shorter.
+     *
+     * @param source source Observable
+     * @param count  number of elements per list
+     * @param <T>    type of elements
+     * @return new RxObservable<List<T>>
+     */
+    public static <T> RxObservable<List<T>> apply(RxObservable<T> source, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return RxObservable.create(observer -> source.subscribe(new RxObserver<T>() {
+            private List<T> buffer;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                List<T> b = buffer;
+                if (b == null) {
+                    b = new ArrayList<>(count);
+                    buffer = b;
+                }
+                b.add(item);
+                if (b.size() == count) {
+                    buffer = null;
+                    observer.onNext(b);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                buffer = null;
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                List<T> b = buffer;
+                buffer = null;
+                if (b != null) {
+                    observer.onNext(b);
+                }
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Emits a list every {@code timespan}, or as soon as it holds {@code maxCount} elements.
+     * Empty lists are not emitted. A list is emitted either on the thread of the source or on
+     * a worker of the scheduler, but the downstream is never called concurrently.
+     *
+     * @param source    source Observable
+     * @param timespan  maximum time an element waits in a list
+     * @param unit      unit of the timespan
+     * @param scheduler scheduler providing the timer
+     * @param maxCount  maximum number of elements per list
+     * @param <T>       type of elements
+     * @return new RxObservable<List<T>>
+     */
+    public static <T> RxObservable<List<T>> apply(RxObservable<T> source, long timespan, TimeUnit unit,
+                                                  RxScheduler scheduler, int maxCount) {
+        if (maxCount <= 0) {
+            throw new IllegalArgumentException("maxCount > 0 required but it was " + maxCount);
+        }
+        return RxObservable.create(observer -> source.subscribe(
+                new TimedBufferObserver<>(observer, timespan, unit, scheduler.createWorker(), maxCount)));
+    }
+
+    /**
+     * Emits lists every {@code timespan}, without a size limit. Empty lists are not emitted.
+     *
+     * @param source    source Observable
+     * @param timespan  duration of one list
+     * @param unit      unit of the timespan
+     * @param scheduler scheduler providing the timer
+     * @param <T>       type of elements
+     * @return new RxObservable<List<T>>
+     */
+    public static <T> RxObservable<List<T>> apply(RxObservable<T> source, long timespan, TimeUnit unit, RxScheduler scheduler) {
+        return apply(source, timespan, unit, scheduler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The current list is swapped under the monitor of the observer, the full lists go through
+     * a queue-drain loop, so the timer and the source never call the downstream at the same time.
+     */
+    @SuppressWarnings("serial")
+    private static final class TimedBufferObserver<T> extends AtomicInteger implements RxObserver<T> {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final RxObserver<? super List<T>> downstream;
+        private final long timespan;
+        private final TimeUnit unit;
+        private final RxWorker worker;
+        private final int maxCount;
+        private final MpscLinkedQueue<List<T>> full = new MpscLinkedQueue<>();
+        private List<T> buffer;
+        private int capacityHint;
+        private boolean done;
+        private volatile boolean terminated;
+        private Throwable error;
+
+        TimedBufferObserver(RxObserver<? super List<T>> downstream, long timespan, TimeUnit unit, RxWorker worker,
+                            int maxCount) {
+            this.downstream = downstream;
+            this.timespan = timespan;
+            this.unit = unit;
+            this.worker = worker;
+            this.maxCount = maxCount;
+            this.capacityHint = Math.min(maxCount, INITIAL_CAPACITY);
+            this.buffer = new ArrayList<>(capacityHint);
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            downstream.onSubscribe(RxDisposable.fromRunnable(() -> {
+                d.dispose();
+                worker.dispose();
+            }));
+            worker.schedulePeriodically(this::flush, timespan, timespan, unit);
+        }
+
+        @Override
+        public void onNext(T item) {
+            List<T> b;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                b = buffer;
+                b.add(item);
+                if (b.size() < maxCount) {
+                    return;
+                }
+                buffer = new ArrayList<>(capacityHint);
+            }
+            full.offer(b);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                buffer = null;
+            }
+            error = t;
+            terminated = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            List<T> b;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                b = buffer;
+                buffer = null;
+            }
+            if (!b.isEmpty()) {
+                full.offer(b);
+            }
+            terminated = true;
+            drain();
+        }
+
+        private void flush() {
+            List<T> b;
+            synchronized (this) {
+                b = buffer;
+                if (done || b.isEmpty()) {
+                    return;
+                }
+                // the next list is sized after the last one, capped by the limit
+                capacityHint = Math.min(maxCount, Math.max(b.size(), INITIAL_CAPACITY));
+                buffer = new ArrayList<>(capacityHint);
+            }
+            full.offer(b);
+            drain();
+        }
+
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (; ; ) {
+                for (; ; ) {
+                    boolean d = terminated;
+                    List<T> b = full.poll();
+                    if (b == null) {
+                        if (d) {
+                            worker.dispose();
+                            Throwable err = error;
+                            if (err != null) {
+                                downstream.onError(err);
+                            } else {
+                                downstream.onComplete();
+                            }
+                            return;
+                        }
+                        break;
+                    }
+                    if (error == null) {
+                        downstream.onNext(b);
+                    }
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
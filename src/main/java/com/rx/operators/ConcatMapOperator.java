@@ -0,0 +1,300 @@
+package com.rx.operators;
+
+import com.rx.core.RxCompositeDisposable;
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+import com.rx.core.RxOnSubscribe;
+import com.rx.internal.ScalarSource;
+import com.rx.internal.SpscLinkedArrayQueue;
+import com.rx.internal.SyncQueue;
+import com.rx.internal.SyncSource;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * The concatMap operator: maps every source element to an inner Observable and emits the inners one after
+ * another, in the order of the source elements.
+ * <p>
+ * Up to {@code prefetch} inners are subscribed at once: the first one is emitted as it goes, the following ones
+ * buffer their elements until their turn comes, so slow inners overlap instead of paying their latency one by one.
+ * Inners are subscribed from the drain loop, which keeps the stack depth constant for synchronous inners;
+ * inners from {@code just}, {@code range}, {@code fromIterable} and the like are not subscribed at all but pulled
+ * by the drain loop when their turn comes.
+ * The first error, from the source or from any inner, terminates the stream at once.
+ */
+public class ConcatMapOperator {
+    /**
+     * Default number of inners subscribed at once.
+     */
+    public static final int DEFAULT_PREFETCH = 2;
+
+    /**
+     * concatMap with {@link #DEFAULT_PREFETCH} inners subscribed at once.
+     *
+     * @param source source Observable
+     * @param mapper a function that generates a nested Observable for each element
+     * @param <T>    type of source elements
+     * @param <R>    type of resulting elements
+     * @return new RxObservable<R>
+     */
+    public static <T, R> RxObservable<R> apply(RxObservable<T> source, Function<? super T, ? extends RxObservable<? extends R>> mapper) {
+        return apply(source, mapper, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * @param source   source Observable
+     * @param mapper   a function that generates a nested Observable for each element
+     * @param prefetch number of inners subscribed at once, 1 subscribes each inner after the previous one completes
+     * @param <T>      type of source elements
+     * @param <R>      type of resulting elements
+     * @return new RxObservable<R>
+     */
+    public static <T, R> RxObservable<R> apply(RxObservable<T> source, Function<? super T, ? extends RxObservable<? extends R>> mapper,
+                                               int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return RxObservable.create(observer -> {
+            ConcatMapObserver<T, R> parent = new ConcatMapObserver<>(observer, mapper, prefetch);
+            observer.setCancellable(parent::cancel);
+            source.subscribe(parent);
+        });
+    }
+
+    /**
+     * Source elements and inner elements are queued; a single drain loop subscribes the inners ahead and
+     * emits the queue of the oldest active inner, moving on to the next one once it is done.
+     */
+    @SuppressWarnings("serial")
+    private static final class ConcatMapObserver<T, R> extends AtomicInteger implements RxObserver<T> {
+        private static final int QUEUE_CHUNK_SIZE = 32;
+        private static final Object NULL = new Object();
+
+        private final RxObserver<? super R> downstream;
+        private final Function<? super T, ? extends RxObservable<? extends R>> mapper;
+        private final int prefetch;
+        private final RxCompositeDisposable composite = new RxCompositeDisposable();
+        private final SpscLinkedArrayQueue<Object> pending = new SpscLinkedArrayQueue<>(QUEUE_CHUNK_SIZE);
+        private final ArrayDeque<InnerObserver<R>> active;
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private volatile boolean done;
+        private volatile boolean cancelled;
+
+        ConcatMapObserver(RxObserver<? super R> downstream, Function<? super T, ? extends RxObservable<? extends R>> mapper,
+                          int prefetch) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.prefetch = prefetch;
+            this.active = new ArrayDeque<>(Math.min(prefetch, QUEUE_CHUNK_SIZE));
+        }
+
+        void cancel() {
+            cancelled = true;
+            composite.dispose();
+            drain();
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            composite.add(d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            pending.offer(item == null ? NULL : item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error.compareAndSet(null, t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            drain();
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (; ; ) {
+                if (drainLoop()) {
+                    return;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * @return true, if the stream is terminated or cancelled and the loop must not run again
+         */
+        @SuppressWarnings("unchecked")
+        private boolean drainLoop() {
+            for (; ; ) {
+                if (cancelled) {
+                    clear();
+                    return true;
+                }
+                Throwable err = error.get();
+                if (err != null) {
+                    cancelled = true;
+                    composite.dispose();
+                    clear();
+                    downstream.onError(err);
+                    return true;
+                }
+                boolean d = done;
+                Object v;
+                while (active.size() < prefetch && (v = pending.poll()) != null) {
+                    RxObservable<? extends R> source;
+                    try {
+                        source = Objects.requireNonNull(mapper.apply(v == NULL ? null : (T) v),
+                                "The mapper returned a null Observable");
+                    } catch (Throwable t) {
+                        error.compareAndSet(null, t);
+                        break;
+                    }
+                    RxOnSubscribe<? extends R> logic = source.onSubscribe();
+                    if (logic instanceof ScalarSource<?> scalar && active.isEmpty()) {
+                        downstream.onNext((R) scalar.value());
+                        continue;
+                    }
+                    if (logic instanceof SyncSource<?> sync) {
+                        // pulled when its turn comes, without subscribing or buffering
+                        InnerObserver<R> inner = new InnerObserver<>(this);
+                        inner.sync = (SyncQueue<? extends R>) sync.queue();
+                        inner.done = true;
+                        active.offer(inner);
+                        continue;
+                    }
+                    InnerObserver<R> inner = new InnerObserver<>(this);
+                    active.offer(inner);
+                    source.subscribe(inner);
+                }
+                if (error.get() != null) {
+                    continue;
+                }
+                InnerObserver<R> inner = active.peek();
+                if (inner == null) {
+                    if (d && pending.isEmpty()) {
+                        cancelled = true;
+                        composite.dispose();
+                        downstream.onComplete();
+                        return true;
+                    }
+                    return false;
+                }
+                SyncQueue<? extends R> sync = inner.sync;
+                if (sync != null) {
+                    try {
+                        while (!cancelled && sync.hasNext()) {
+                            downstream.onNext(sync.next());
+                        }
+                    } catch (Throwable t) {
+                        error.compareAndSet(null, t);
+                    }
+                    sync.close();
+                    active.poll();
+                    continue;
+                }
+                boolean innerDone = inner.done;
+                SpscLinkedArrayQueue<Object> q = inner.queue;
+                while (q != null && !cancelled && (v = q.poll()) != null) {
+                    downstream.onNext(v == NULL ? null : (R) v);
+                }
+                if (!innerDone) {
+                    return false;
+                }
+                active.poll();
+                RxDisposable id = inner.disposable;
+                if (id != null) {
+                    composite.remove(id);
+                }
+            }
+        }
+
+        private void clear() {
+            pending.clear();
+            InnerObserver<R> inner;
+            while ((inner = active.poll()) != null) {
+                SpscLinkedArrayQueue<Object> q = inner.queue;
+                if (q != null) {
+                    q.clear();
+                }
+                SyncQueue<? extends R> sync = inner.sync;
+                if (sync != null) {
+                    sync.close();
+                }
+            }
+        }
+    }
+
+    private static final class InnerObserver<R> implements RxObserver<R> {
+        private final ConcatMapObserver<?, R> parent;
+        volatile SpscLinkedArrayQueue<Object> queue;
+        SyncQueue<? extends R> sync;
+        volatile boolean done;
+        volatile RxDisposable disposable;
+
+        InnerObserver(ConcatMapObserver<?, R> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            disposable = d;
+            parent.composite.add(d);
+        }
+
+        @Override
+        public void onNext(R item) {
+            SpscLinkedArrayQueue<Object> q = queue;
+            if (q == null) {
+                // scalar inners are common, so the queue is only allocated once an element arrives
+                q = new SpscLinkedArrayQueue<>(ConcatMapObserver.QUEUE_CHUNK_SIZE);
+                queue = q;
+            }
+            q.offer(item == null ? ConcatMapObserver.NULL : item);
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+    }
+}
@@ -1,31 +1,290 @@
 package com.rx.operators;
 
+import com.rx.core.RxDisposable;
+import com.rx.core.RxEmitter;
+import com.rx.core.RxFlowable;
 import com.rx.core.RxObservable;
 import com.rx.core.RxObserver;
+import com.rx.core.RxOnSubscribe;
+import com.rx.core.RxSubscriber;
+import com.rx.core.RxSubscription;
+import com.rx.internal.BackpressureHelper;
+import com.rx.internal.ScalarSource;
+import com.rx.internal.SyncQueue;
+import com.rx.internal.SyncSource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Concat operator: sequential concatenation of two Observables.
+ * Concat operator: sequential concatenation of Observables.
+ * <p>
+ * The next source is subscribed from a trampoline loop rather than from the {@code onComplete} of the previous
+ * one, so concatenating any number of synchronous sources keeps the stack depth constant.
  */
 public class ConcatOperator {
+    /**
+     * @param first  first source
+     * @param second second source, subscribed after the first one completes
+     * @param <T>    type of elements
+     * @return new RxObservable<T>
+     */
     public static <T> RxObservable<T> apply(RxObservable<? extends T> first, RxObservable<? extends T> second) {
-        return RxObservable.create(observer -> {
-            first.subscribe(new RxObserver<T>() {
-                @Override
-                public void onNext(T item) {
-                    observer.onNext(item);
-                }
+        return new ConcatPair<>(first, second);
+    }
+
+    /**
+     * Subscribes to the sources one after another, each after the previous one completes.
+     *
+     * @param sources sources in emission order
+     * @param <T>     type of elements
+     * @return new RxObservable<T>
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> RxObservable<T> concatArray(RxObservable<? extends T>... sources) {
+        return concatIterable(Arrays.asList(sources));
+    }
+
+    /**
+     * Subscribes to the sources one after another, each after the previous one completes.
+     * The iterable is walked lazily, once per subscription.
+     *
+     * @param sources sources in emission order
+     * @param <T>     type of elements
+     * @return new RxObservable<T>
+     */
+    public static <T> RxObservable<T> concatIterable(Iterable<? extends RxObservable<? extends T>> sources) {
+        return RxObservable.create(emitter -> new ConcatObserver<T>(emitter, sources.iterator()).subscribeNext());
+    }
+
+    /**
+     * Result of {@link #apply(RxObservable, RxObservable)}. Folding a list with {@code apply} nests the pairs
+     * to the left or to the right; on subscription the nesting of either side is flattened into one list of
+     * sources with an explicit work stack, so neither subscribing nor switching sources grows the call stack
+     * with the length of the list.
+     */
+    private static final class ConcatPair<T> extends RxObservable<T> {
+        private final RxObservable<? extends T> first;
+        private final RxObservable<? extends T> second;
 
-                @Override
-                public void onError(Throwable t) {
-                    observer.onError(t);
+        ConcatPair(RxObservable<? extends T> first, RxObservable<? extends T> second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void subscribeActual(RxEmitter<? super T> emitter) {
+            ArrayList<RxObservable<? extends T>> sources = new ArrayList<>();
+            ArrayDeque<RxObservable<? extends T>> stack = new ArrayDeque<>();
+            stack.push(this);
+            while (!stack.isEmpty()) {
+                RxObservable<? extends T> s = stack.pop();
+                if (s instanceof ConcatPair<?> pair) {
+                    stack.push((RxObservable<? extends T>) pair.second);
+                    stack.push((RxObservable<? extends T>) pair.first);
+                } else {
+                    sources.add(s);
                 }
+            }
+            new ConcatObserver<T>(emitter, sources.iterator()).subscribeNext();
+        }
+    }
+
+    /**
+     * Subscribes to the next source whenever the previous one completes; a source that completes during
+     * its own subscription only bumps the counter, and the loop that is already running picks up the next one.
+     */
+    @SuppressWarnings("serial")
+    private static final class ConcatObserver<T> extends AtomicInteger implements RxObserver<T> {
+        private final RxEmitter<? super T> downstream;
+        private final Iterator<? extends RxObservable<? extends T>> sources;
+
+        ConcatObserver(RxEmitter<? super T> downstream, Iterator<? extends RxObservable<? extends T>> sources) {
+            this.downstream = downstream;
+            this.sources = sources;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            downstream.setDisposable(d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
 
-                @Override
-                public void onComplete() {
-                    second.subscribe(observer);
+        @Override
+        public void onComplete() {
+            subscribeNext();
+        }
+
+        /**
+         * Sources made by {@code just}, {@code empty}, {@code range}, {@code fromIterable} and the like are pulled
+         * in place and the loop moves on without subscribing to them.
+         */
+        @SuppressWarnings("unchecked")
+        void subscribeNext() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                for (; ; ) {
+                    if (downstream.isDisposed()) {
+                        return;
+                    }
+                    RxObservable<? extends T> next;
+                    try {
+                        if (!sources.hasNext()) {
+                            downstream.onComplete();
+                            return;
+                        }
+                        next = Objects.requireNonNull(sources.next(), "The sources contain a null Observable");
+                    } catch (Throwable t) {
+                        downstream.onError(t);
+                        return;
+                    }
+                    RxOnSubscribe<? extends T> logic = next.onSubscribe();
+                    if (logic instanceof ScalarSource<?> scalar) {
+                        downstream.onNext((T) scalar.value());
+                    } else if (logic instanceof SyncSource<?> sync) {
+                        SyncQueue<?> q = sync.queue();
+                        try {
+                            while (!downstream.isDisposed() && q.hasNext()) {
+                                downstream.onNext((T) q.next());
+                            }
+                        } catch (Throwable t) {
+                            downstream.onError(t);
+                            return;
+                        } finally {
+                            q.close();
+                        }
+                    } else {
+                        next.subscribe(this);
+                        break;
+                    }
                 }
-            });
+            } while (decrementAndGet() != 0);
+        }
+    }
+
+    /**
+     * Backpressured concat: the outstanding demand is carried over from the first Flowable to the second.
+     *
+     * @param first  first source
+     * @param second second source
+     * @param <T>    type of elements
+     * @return new RxFlowable<T>
+     */
+    public static <T> RxFlowable<T> apply(RxFlowable<? extends T> first, RxFlowable<? extends T> second) {
+        return RxFlowable.create(subscriber -> {
+            ConcatSubscriber<T> parent = new ConcatSubscriber<>(subscriber, second);
+            subscriber.onSubscribe(parent);
+            first.subscribe(parent);
         });
     }
-}
 
+    /**
+     * Switches between the upstream subscriptions while keeping track of the downstream demand.
+     */
+    private static final class ConcatSubscriber<T> implements RxSubscriber<T>, RxSubscription {
+        private final RxSubscriber<? super T> downstream;
+        private RxFlowable<? extends T> next;
+        private RxSubscription current;
+        private long requested;
+        private long produced;
+        private boolean cancelled;
+
+        ConcatSubscriber(RxSubscriber<? super T> downstream, RxFlowable<? extends T> next) {
+            this.downstream = downstream;
+            this.next = next;
+        }
+
+        @Override
+        public void onSubscribe(RxSubscription subscription) {
+            long r;
+            synchronized (this) {
+                if (cancelled) {
+                    r = -1L;
+                } else {
+                    current = subscription;
+                    r = requested;
+                }
+            }
+            if (r < 0L) {
+                subscription.cancel();
+            } else if (r != 0L) {
+                subscription.request(r);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            produced++;
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            RxFlowable<? extends T> source = next;
+            if (source == null) {
+                downstream.onComplete();
+                return;
+            }
+            next = null;
+            long p = produced;
+            produced = 0L;
+            synchronized (this) {
+                if (requested != Long.MAX_VALUE) {
+                    requested -= p;
+                }
+                current = null;
+            }
+            source.subscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            if (!BackpressureHelper.validate(n)) {
+                return;
+            }
+            RxSubscription s;
+            synchronized (this) {
+                requested = BackpressureHelper.addCap(requested, n);
+                s = current;
+            }
+            if (s != null) {
+                s.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            RxSubscription s;
+            synchronized (this) {
+                cancelled = true;
+                s = current;
+                current = null;
+            }
+            if (s != null) {
+                s.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.rx.operators;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxWorker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Debounce operator: emits an element only after the source has been silent for the timeout;
+ * an element followed by another one within the timeout is dropped. The last pending element
+ * is emitted when the source completes.
+ */
+public class DebounceOperator {
+
+    /**
+     * @param source    source Observable
+     * @param timeout   silence required after an element
+     * @param unit      unit of the timeout
+     * @param scheduler scheduler on which the elements are emitted
+     * @param <T>       type of elements
+     * @return new RxObservable<T>
+     */
+    public static <T> RxObservable<T> apply(RxObservable<T> source, long timeout, TimeUnit unit, RxScheduler scheduler) {
+        return RxObservable.create(observer -> source.subscribe(new DebounceObserver<>(observer, timeout, unit, scheduler.createWorker())));
+    }
+
+    /**
+     * Keeps the latest element and emits it from the worker once its timer fires, unless a newer element
+     * replaced it. All downstream events are delivered on the worker, so they never overlap.
+     */
+    private static final class DebounceObserver<T> implements RxObserver<T> {
+        private final RxObserver<? super T> downstream;
+        private final long timeout;
+        private final TimeUnit unit;
+        private final RxWorker worker;
+        private final AtomicReference<Pending<T>> latest = new AtomicReference<>();
+        private RxDisposable timer;
+        private boolean done;
+
+        DebounceObserver(RxObserver<? super T> downstream, long timeout, TimeUnit unit, RxWorker worker) {
+            this.downstream = downstream;
+            this.timeout = timeout;
+            this.unit = unit;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            downstream.onSubscribe(RxDisposable.fromRunnable(() -> {
+                d.dispose();
+                worker.dispose();
+            }));
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Pending<T> p = new Pending<>(item);
+            latest.set(p);
+            if (timer != null) {
+                timer.dispose();
+            }
+            timer = worker.schedule(() -> {
+                if (latest.compareAndSet(p, null)) {
+                    downstream.onNext(p.value);
+                }
+            }, timeout, unit);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            worker.schedule(() -> {
+                latest.set(null);
+                worker.dispose();
+                downstream.onError(t);
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            worker.schedule(() -> {
+                Pending<T> p = latest.getAndSet(null);
+                if (p != null) {
+                    downstream.onNext(p.value);
+                }
+                worker.dispose();
+                downstream.onComplete();
+            });
+        }
+    }
+
+    private record Pending<T>(T value) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.rx.operators;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxWorker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delay operator: shifts every element and the completion forward in time by the same delay.
+ * An error is delivered without the delay and drops the elements that are still delayed.
+ */
+public class DelayOperator {
+
+    /**
+     * @param source    source Observable
+     * @param delay     delay of every element
+     * @param unit      unit of the delay
+     * @param scheduler scheduler on which the delayed events are delivered
+     * @param <T>       type of elements
+     * @return new RxObservable<T>
+     */
+    public static <T> RxObservable<T> apply(RxObservable<T> source, long delay, TimeUnit unit, RxScheduler scheduler) {
+        return RxObservable.create(observer -> source.subscribe(new DelayObserver<>(observer, delay, unit, scheduler.createWorker())));
+    }
+
+    /**
+     * Schedules every event on one worker, so the delayed events keep their order.
+     */
+    private static final class DelayObserver<T> implements RxObserver<T> {
+        private final RxObserver<? super T> downstream;
+        private final long delay;
+        private final TimeUnit unit;
+        private final RxWorker worker;
+
+        DelayObserver(RxObserver<? super T> downstream, long delay, TimeUnit unit, RxWorker worker) {
+            this.downstream = downstream;
+            this.delay = delay;
+            this.unit = unit;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            downstream.onSubscribe(RxDisposable.fromRunnable(() -> {
+                d.dispose();
+                worker.dispose();
+            }));
+        }
+
+        @Override
+        public void onNext(T item) {
+            worker.schedule(() -> downstream.onNext(item), delay, unit);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            worker.schedule(() -> {
+                worker.dispose();
+                downstream.onError(t);
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            worker.schedule(() -> {
+                worker.dispose();
+                downstream.onComplete();
+            }, delay, unit);
+        }
+    }
+}
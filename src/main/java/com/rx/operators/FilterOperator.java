@@ -1,36 +1,272 @@
 package com.rx.operators;
 
 import com.rx.core.RxObservable;
-import com.rx.core.RxObserver;
+import com.rx.core.RxFlowable;
+import com.rx.core.RxSubscriber;
+import com.rx.core.RxSubscription;
+import com.rx.core.RxIntObservable;
+import com.rx.core.RxIntObserver;
+import com.rx.core.RxLongObservable;
+import com.rx.core.RxLongObserver;
+import com.rx.core.RxDoubleObservable;
+import com.rx.core.RxDoubleObserver;
+import com.rx.core.RxParallelObservable;
+import com.rx.core.RxRailObserver;
 import com.rx.core.RxDisposable;
 
 import java.util.function.Predicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.DoublePredicate;
 
 /**
  * The filter operator: skips only those elements that satisfy the predicate.
  */
 public class FilterOperator {
+    /**
+     * Consecutive map and filter stages are fused into a single stage at assembly time.
+     *
+     * @param source    source Observable
+     * @param predicate condition for passing elements
+     * @param <T>       type of elements
+     * @return new RxObservable<T>
+     */
     public static <T> RxObservable<T> apply(RxObservable<T> source, Predicate<? super T> predicate) {
-        return RxObservable.create(observer -> {
-            RxDisposable disposable = source.subscribe(new RxObserver<T>() {
-                @Override
-                public void onNext(T item) {
-                    if (predicate.test(item)) {
-                        observer.onNext(item);
-                    }
+        return FusedMapFilter.filter(source, predicate);
+    }
+
+    /**
+     * Backpressured filter: every rejected element is replenished with a request for one more.
+     *
+     * @param source    source Flowable
+     * @param predicate condition for passing elements
+     * @param <T>       type of elements
+     * @return new RxFlowable<T>
+     */
+    public static <T> RxFlowable<T> apply(RxFlowable<T> source, Predicate<? super T> predicate) {
+        return RxFlowable.create(subscriber -> source.subscribe(new RxSubscriber<T>() {
+            private RxSubscription upstream;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(RxSubscription subscription) {
+                upstream = subscription;
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
                 }
+                boolean pass;
+                try {
+                    pass = predicate.test(item);
+                } catch (Throwable t) {
+                    upstream.cancel();
+                    onError(t);
+                    return;
+                }
+                if (pass) {
+                    subscriber.onNext(item);
+                } else {
+                    upstream.request(1);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                subscriber.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                subscriber.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Primitive filter: passes only the int values that satisfy the predicate.
+     *
+     * @param source    source Observable
+     * @param predicate condition for passing elements
+     * @return new RxIntObservable
+     */
+    public static RxIntObservable apply(RxIntObservable source, IntPredicate predicate) {
+        return RxIntObservable.create(observer -> source.subscribe(new RxIntObserver() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(int item) {
+                if (predicate.test(item)) {
+                    observer.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Primitive filter: passes only the long values that satisfy the predicate.
+     *
+     * @param source    source Observable
+     * @param predicate condition for passing elements
+     * @return new RxLongObservable
+     */
+    public static RxLongObservable apply(RxLongObservable source, LongPredicate predicate) {
+        return RxLongObservable.create(observer -> source.subscribe(new RxLongObserver() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
 
-                @Override
-                public void onError(Throwable t) {
-                    observer.onError(t);
+            @Override
+            public void onNext(long item) {
+                if (predicate.test(item)) {
+                    observer.onNext(item);
                 }
+            }
 
-                @Override
-                public void onComplete() {
-                    observer.onComplete();
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Primitive filter: passes only the double values that satisfy the predicate.
+     *
+     * @param source    source Observable
+     * @param predicate condition for passing elements
+     * @return new RxDoubleObservable
+     */
+    public static RxDoubleObservable apply(RxDoubleObservable source, DoublePredicate predicate) {
+        return RxDoubleObservable.create(observer -> source.subscribe(new RxDoubleObserver() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(double item) {
+                if (predicate.test(item)) {
+                    observer.onNext(item);
                 }
-            });
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Parallel filter: the predicate is tested on every rail independently,
+     * rejected elements are reported as skipped so an ordered join can step over them.
+     *
+     * @param source    source parallel Observable
+     * @param predicate condition for passing elements
+     * @param <T>       type of elements
+     * @return new RxParallelObservable<T>
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RxParallelObservable<T> apply(RxParallelObservable<T> source, Predicate<? super T> predicate) {
+        return RxParallelObservable.create(source.parallelism(), rails -> {
+            RxRailObserver<T>[] filtered = (RxRailObserver<T>[]) new RxRailObserver<?>[rails.length];
+            for (int i = 0; i < rails.length; i++) {
+                RxRailObserver<? super T> rail = rails[i];
+                filtered[i] = new RxRailObserver<T>() {
+                    private RxDisposable upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(RxDisposable d) {
+                        upstream = d;
+                        rail.onSubscribe(d);
+                    }
+
+                    @Override
+                    public void onNext(long seq, T item) {
+                        if (done) {
+                            return;
+                        }
+                        boolean passed;
+                        try {
+                            passed = predicate.test(item);
+                        } catch (Throwable t) {
+                            if (upstream != null) {
+                                upstream.dispose();
+                            }
+                            onError(t);
+                            return;
+                        }
+                        if (passed) {
+                            rail.onNext(seq, item);
+                        } else {
+                            rail.onSkip(seq);
+                        }
+                    }
+
+                    @Override
+                    public void onSkip(long seq) {
+                        if (!done) {
+                            rail.onSkip(seq);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        rail.onError(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        rail.onComplete();
+                    }
+                };
+            }
+            source.subscribe(filtered);
         });
     }
 }
-
@@ -1,12 +1,16 @@
 package com.rx.operators;
 
-import com.rx.core.RxCompositeDisposable;
-import com.rx.core.RxDisposable;
+import com.rx.core.RxFlowable;
 import com.rx.core.RxObservable;
-import com.rx.core.RxObserver;
+import com.rx.core.RxSubscriber;
+import com.rx.core.RxSubscription;
+import com.rx.internal.BackpressureHelper;
+import com.rx.internal.SpscArrayQueue;
 
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 /**
@@ -23,61 +27,383 @@ public class FlatMapOperator {
      * @return new RxObservable<R>
      */
     public static <T, R> RxObservable<R> apply(RxObservable<T> source, Function<? super T, RxObservable<? extends R>> mapper) {
+        return apply(source, mapper, Integer.MAX_VALUE);
+    }
+
+    /**
+     * flatMap with a limit on the number of simultaneously subscribed inner Observables.
+     * Source elements that arrive while the limit is reached wait until an active inner completes.
+     * The downstream observer is never called concurrently, even if the inners run on different threads.
+     *
+     * @param source         source Observable
+     * @param mapper         a function that generates a nested Observable for each element
+     * @param maxConcurrency maximum number of active inner Observables
+     * @param <T>            type of source elements
+     * @param <R>            type of resulting elements
+     * @return new RxObservable<R>
+     */
+    public static <T, R> RxObservable<R> apply(RxObservable<T> source, Function<? super T, RxObservable<? extends R>> mapper,
+                                               int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
         return RxObservable.create(observer -> {
-            RxCompositeDisposable composite = new RxCompositeDisposable();
-            AtomicInteger activeCount = new AtomicInteger(1); // 1 — родительский поток
-            ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
-
-            RxDisposable parentDisposable = source.subscribe(new RxObserver<T>() {
-                @Override
-                public void onNext(T item) {
-                    activeCount.incrementAndGet();
-                    RxDisposable innerDisposable = mapper.apply(item).subscribe(new RxObserver<R>() {
-                        @Override
-                        public void onNext(R inner) {
-                            observer.onNext(inner);
-                        }
+            MergeObserver<T, R> parent = new MergeObserver<>(observer, mapper, maxConcurrency);
+            observer.setCancellable(parent::cancel);
+            source.subscribe(parent);
+        });
+    }
 
-                        @Override
-                        public void onError(Throwable t) {
-                            errors.add(t);
-                            completeIfDone();
-                        }
+    /**
+     * Backpressured flatMap with unbounded concurrency and the default prefetch.
+     *
+     * @param source source Flowable
+     * @param mapper a function that generates a nested Flowable for each element
+     * @param <T>    type of source elements
+     * @param <R>    type of resulting elements
+     * @return new RxFlowable<R>
+     */
+    public static <T, R> RxFlowable<R> apply(RxFlowable<T> source, Function<? super T, ? extends RxFlowable<? extends R>> mapper) {
+        return apply(source, mapper, Integer.MAX_VALUE, RxFlowable.bufferSize());
+    }
 
-                        @Override
-                        public void onComplete() {
-                            completeIfDone();
-                        }
-                    });
-                    composite.add(innerDisposable);
+    /**
+     * Backpressured flatMap. At most {@code maxConcurrency} inner Flowables are active at once
+     * and each of them is allowed to run ahead of the downstream by {@code prefetch} elements.
+     *
+     * @param source         source Flowable
+     * @param mapper         a function that generates a nested Flowable for each element
+     * @param maxConcurrency maximum number of active inner Flowables
+     * @param prefetch       number of elements requested from each inner Flowable in advance
+     * @param <T>            type of source elements
+     * @param <R>            type of resulting elements
+     * @return new RxFlowable<R>
+     */
+    public static <T, R> RxFlowable<R> apply(RxFlowable<T> source, Function<? super T, ? extends RxFlowable<? extends R>> mapper,
+                                             int maxConcurrency, int prefetch) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return RxFlowable.create(subscriber ->
+                source.subscribe(new MergeSubscriber<T, R>(subscriber, mapper, maxConcurrency, prefetch)));
+    }
+
+    /**
+     * Collects the elements of the inner Flowables in per-inner bounded queues and emits them
+     * from a single drain loop, respecting the demand of the downstream.
+     */
+    @SuppressWarnings("serial")
+    private static final class MergeSubscriber<T, R> extends AtomicInteger implements RxSubscriber<T>, RxSubscription {
+        @SuppressWarnings("rawtypes")
+        private static final InnerSubscriber[] EMPTY = new InnerSubscriber[0];
+        @SuppressWarnings("rawtypes")
+        private static final InnerSubscriber[] TERMINATED = new InnerSubscriber[0];
+
+        private final RxSubscriber<? super R> downstream;
+        private final Function<? super T, ? extends RxFlowable<? extends R>> mapper;
+        private final int maxConcurrency;
+        private final int prefetch;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicReference<InnerSubscriber<R>[]> inners;
+        private final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        private RxSubscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private long emitted;
+
+        @SuppressWarnings("unchecked")
+        MergeSubscriber(RxSubscriber<? super R> downstream, Function<? super T, ? extends RxFlowable<? extends R>> mapper,
+                        int maxConcurrency, int prefetch) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+            this.inners = new AtomicReference<>(EMPTY);
+        }
+
+        @Override
+        public void onSubscribe(RxSubscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(maxConcurrency == Integer.MAX_VALUE ? Long.MAX_VALUE : maxConcurrency);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            RxFlowable<? extends R> inner;
+            try {
+                inner = mapper.apply(item);
+            } catch (Throwable t) {
+                upstream.cancel();
+                onError(t);
+                return;
+            }
+            InnerSubscriber<R> subscriber = new InnerSubscriber<>(this, prefetch);
+            if (add(subscriber)) {
+                inner.subscribe(subscriber);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            errors.add(t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (BackpressureHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                drain();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            for (InnerSubscriber<R> inner : inners.getAndSet(TERMINATED)) {
+                inner.cancel();
+            }
+            if (getAndIncrement() == 0) {
+                errors.clear();
+            }
+        }
+
+        void tryEmit(R value, InnerSubscriber<R> inner) {
+            if (get() == 0 && compareAndSet(0, 1)) {
+                SpscArrayQueue<R> q = inner.queue;
+                if (emitted != requested.get() && (q == null || q.isEmpty())) {
+                    downstream.onNext(value);
+                    emitted++;
+                    inner.requestMore(1);
+                } else {
+                    inner.offer(value);
                 }
+                if (decrementAndGet() == 0) {
+                    return;
+                }
+            } else {
+                inner.offer(value);
+                if (getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void innerError(InnerSubscriber<R> inner, Throwable t) {
+            errors.add(t);
+            inner.done = true;
+            drain();
+        }
+
+        void drain() {
+            if (getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
 
-                @Override
-                public void onError(Throwable t) {
-                    errors.add(t);
-                    completeIfDone();
+        private void drainLoop() {
+            int missed = 1;
+            for (; ; ) {
+                if (cancelled) {
+                    errors.clear();
+                    return;
                 }
+                boolean d = done;
+                InnerSubscriber<R>[] array = inners.get();
+                if (d && array.length == 0) {
+                    cancelled = true;
+                    Throwable err = errors.poll();
+                    if (err != null) {
+                        downstream.onError(err);
+                    } else {
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+                long r = requested.get();
+                long e = emitted;
+                int finished = 0;
+                for (InnerSubscriber<R> inner : array) {
+                    SpscArrayQueue<R> q = inner.queue;
+                    if (q != null) {
+                        long j = 0L;
+                        while (e != r) {
+                            R v = q.poll();
+                            if (v == null) {
+                                break;
+                            }
+                            downstream.onNext(v);
+                            if (cancelled) {
+                                return;
+                            }
+                            e++;
+                            j++;
+                        }
+                        if (j != 0L) {
+                            inner.requestMore(j);
+                        }
+                    }
+                    boolean innerDone = inner.done;
+                    q = inner.queue;
+                    if (innerDone && (q == null || q.isEmpty())) {
+                        remove(inner);
+                        finished++;
+                    }
+                }
+                emitted = e;
+                if (finished != 0) {
+                    if (!done && maxConcurrency != Integer.MAX_VALUE) {
+                        upstream.request(finished);
+                    }
+                    continue;
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
 
-                @Override
-                public void onComplete() {
-                    completeIfDone();
+        private boolean add(InnerSubscriber<R> inner) {
+            for (; ; ) {
+                InnerSubscriber<R>[] a = inners.get();
+                if (a == TERMINATED) {
+                    inner.cancel();
+                    return false;
+                }
+                @SuppressWarnings("unchecked")
+                InnerSubscriber<R>[] b = (InnerSubscriber<R>[]) new InnerSubscriber<?>[a.length + 1];
+                System.arraycopy(a, 0, b, 0, a.length);
+                b[a.length] = inner;
+                if (inners.compareAndSet(a, b)) {
+                    return true;
                 }
+            }
+        }
 
-                private void completeIfDone() {
-                    if (activeCount.decrementAndGet() == 0) {
-                        // если были ошибки — передаем первую
-                        Throwable err = errors.poll();
-                        if (err != null) {
-                            observer.onError(err);
-                        } else {
-                            observer.onComplete();
-                        }
-                        composite.dispose();
+        @SuppressWarnings("unchecked")
+        private void remove(InnerSubscriber<R> inner) {
+            for (; ; ) {
+                InnerSubscriber<R>[] a = inners.get();
+                int n = a.length;
+                int j = -1;
+                for (int i = 0; i < n; i++) {
+                    if (a[i] == inner) {
+                        j = i;
+                        break;
                     }
                 }
-            });
+                if (j < 0) {
+                    return;
+                }
+                InnerSubscriber<R>[] b;
+                if (n == 1) {
+                    b = EMPTY;
+                } else {
+                    b = (InnerSubscriber<R>[]) new InnerSubscriber<?>[n - 1];
+                    System.arraycopy(a, 0, b, 0, j);
+                    System.arraycopy(a, j + 1, b, j, n - j - 1);
+                }
+                if (inners.compareAndSet(a, b)) {
+                    return;
+                }
+            }
+        }
+    }
 
-            composite.add(parentDisposable);
-        });
+    @SuppressWarnings("serial")
+    private static final class InnerSubscriber<R> extends AtomicReference<RxSubscription> implements RxSubscriber<R> {
+        private final MergeSubscriber<?, R> parent;
+        private final int prefetch;
+        private final int limit;
+        volatile SpscArrayQueue<R> queue;
+        volatile boolean done;
+        private long produced;
+
+        InnerSubscriber(MergeSubscriber<?, R> parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.limit = Math.max(1, prefetch - (prefetch >> 2));
+        }
+
+        @Override
+        public void onSubscribe(RxSubscription subscription) {
+            if (compareAndSet(null, subscription)) {
+                subscription.request(prefetch);
+            } else {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(R item) {
+            parent.tryEmit(item, this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(this, t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        void offer(R value) {
+            SpscArrayQueue<R> q = queue;
+            if (q == null) {
+                q = new SpscArrayQueue<>(prefetch);
+                queue = q;
+            }
+            if (!q.offer(value)) {
+                cancel();
+                onError(new IllegalStateException("Inner queue is full: the source ignored the requested amount"));
+            }
+        }
+
+        void requestMore(long n) {
+            long p = produced + n;
+            if (p >= limit) {
+                produced = 0L;
+                get().request(p);
+            } else {
+                produced = p;
+            }
+        }
+
+        void cancel() {
+            RxSubscription s = getAndSet(RxFlowable.EmptySubscription.INSTANCE);
+            if (s != null && s != RxFlowable.EmptySubscription.INSTANCE) {
+                s.cancel();
+            }
+        }
     }
 }
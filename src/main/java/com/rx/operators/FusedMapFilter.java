@@ -0,0 +1,100 @@
+package com.rx.operators;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxEmitter;
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+import com.rx.core.RxOnSubscribe;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A chain of consecutive map and filter stages collapsed into a single stage at assembly time.
+ * <p>
+ * The stages are kept in arrays and applied one after another by a loop in a single {@code onNext},
+ * so the whole chain is served by one observer and one subscription to the upstream, and the call depth
+ * per element does not grow with the length of the chain. Each slot holds either a mapper or a predicate.
+ * Observables instrumented by {@link com.rx.plugins.RxMetrics} do not expose their logic for fusion,
+ * so with metrics installed every stage stays separate and reports on its own.
+ *
+ * @param <T> type of upstream elements
+ * @param <R> type of resulting elements
+ */
+final class FusedMapFilter<T, R> implements RxOnSubscribe<R> {
+    final RxObservable<T> upstream;
+    private final Function<Object, Object>[] mappers;
+    private final Predicate<Object>[] predicates;
+
+    private FusedMapFilter(RxObservable<T> upstream, Function<Object, Object>[] mappers,
+                           Predicate<Object>[] predicates) {
+        this.upstream = upstream;
+        this.mappers = mappers;
+        this.predicates = predicates;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, R> RxObservable<R> map(RxObservable<T> source, Function<? super T, ? extends R> mapper) {
+        if (source.onSubscribe() instanceof FusedMapFilter<?, ?> fused) {
+            int n = fused.mappers.length;
+            Function<Object, Object>[] mappers = Arrays.copyOf(fused.mappers, n + 1);
+            mappers[n] = (Function<Object, Object>) mapper;
+            return RxObservable.create(new FusedMapFilter<>(fused.upstream, mappers,
+                    Arrays.copyOf(fused.predicates, n + 1)));
+        }
+        Function<Object, Object>[] mappers = (Function<Object, Object>[]) new Function<?, ?>[]{mapper};
+        return RxObservable.create(new FusedMapFilter<>(source, mappers, (Predicate<Object>[]) new Predicate<?>[1]));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> RxObservable<T> filter(RxObservable<T> source, Predicate<? super T> predicate) {
+        if (source.onSubscribe() instanceof FusedMapFilter<?, ?> fused) {
+            int n = fused.predicates.length;
+            Predicate<Object>[] predicates = Arrays.copyOf(fused.predicates, n + 1);
+            predicates[n] = (Predicate<Object>) predicate;
+            return RxObservable.create(new FusedMapFilter<>(fused.upstream, Arrays.copyOf(fused.mappers, n + 1),
+                    predicates));
+        }
+        Predicate<Object>[] predicates = (Predicate<Object>[]) new Predicate<?>[]{predicate};
+        return RxObservable.create(new FusedMapFilter<>(source, (Function<Object, Object>[]) new Function<?, ?>[1],
+                predicates));
+    }
+
+    @Override
+    public void subscribe(RxEmitter<? super R> observer) {
+        Function<Object, Object>[] m = mappers;
+        Predicate<Object>[] p = predicates;
+        upstream.subscribe(new RxObserver<T>() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void onNext(T item) {
+                Object v = item;
+                for (int i = 0; i < p.length; i++) {
+                    Predicate<Object> test = p[i];
+                    if (test == null) {
+                        v = m[i].apply(v);
+                    } else if (!test.test(v)) {
+                        return;
+                    }
+                }
+                observer.onNext((R) v);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        });
+    }
+}
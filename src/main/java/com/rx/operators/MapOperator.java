@@ -2,33 +2,359 @@ package com.rx.operators;
 
 import com.rx.core.RxObservable;
 import com.rx.core.RxObserver;
+import com.rx.core.RxFlowable;
+import com.rx.core.RxSubscriber;
+import com.rx.core.RxSubscription;
+import com.rx.core.RxIntObservable;
+import com.rx.core.RxIntObserver;
+import com.rx.core.RxLongObservable;
+import com.rx.core.RxLongObserver;
+import com.rx.core.RxDoubleObservable;
+import com.rx.core.RxDoubleObserver;
+import com.rx.core.RxParallelObservable;
+import com.rx.core.RxRailObserver;
 import com.rx.core.RxDisposable;
 
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
 
 /**
  * The map operator: applies a function to each element of the flow.
  */
 public class MapOperator {
+    /**
+     * Consecutive map and filter stages are fused into a single stage at assembly time.
+     *
+     * @param source source Observable
+     * @param mapper transformation function
+     * @param <T>    type of source elements
+     * @param <R>    type of resulting elements
+     * @return new RxObservable<R>
+     */
     public static <T, R> RxObservable<R> apply(RxObservable<T> source, Function<? super T, ? extends R> mapper) {
-        return RxObservable.create(observer -> {
-            RxDisposable disposable = source.subscribe(new RxObserver<T>() {
-                @Override
-                public void onNext(T item) {
-                    observer.onNext(mapper.apply(item));
+        return FusedMapFilter.map(source, mapper);
+    }
+
+    /**
+     * Backpressured map: the demand of the downstream is passed to the source unchanged.
+     *
+     * @param source source Flowable
+     * @param mapper transformation function
+     * @param <T>    type of source elements
+     * @param <R>    type of resulting elements
+     * @return new RxFlowable<R>
+     */
+    public static <T, R> RxFlowable<R> apply(RxFlowable<T> source, Function<? super T, ? extends R> mapper) {
+        return RxFlowable.create(subscriber -> source.subscribe(new RxSubscriber<T>() {
+            private RxSubscription upstream;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(RxSubscription subscription) {
+                upstream = subscription;
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                R result;
+                try {
+                    result = mapper.apply(item);
+                } catch (Throwable t) {
+                    upstream.cancel();
+                    onError(t);
+                    return;
                 }
+                subscriber.onNext(result);
+            }
 
-                @Override
-                public void onError(Throwable t) {
-                    observer.onError(t);
+            @Override
+            public void onError(Throwable t) {
+                if (done) {
+                    return;
                 }
+                done = true;
+                subscriber.onError(t);
+            }
 
-                @Override
-                public void onComplete() {
-                    observer.onComplete();
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
                 }
-            });
+                done = true;
+                subscriber.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Primitive map: applies the function to each int value without boxing.
+     *
+     * @param source source Observable
+     * @param mapper transformation function
+     * @return new RxIntObservable
+     */
+    public static RxIntObservable apply(RxIntObservable source, IntUnaryOperator mapper) {
+        return RxIntObservable.create(observer -> source.subscribe(new RxIntObserver() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(int item) {
+                observer.onNext(mapper.applyAsInt(item));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Maps each element to a primitive int value.
+     *
+     * @param source source Observable
+     * @param mapper transformation function
+     * @param <T>    type of source elements
+     * @return new RxIntObservable
+     */
+    public static <T> RxIntObservable toInt(RxObservable<T> source, ToIntFunction<? super T> mapper) {
+        return RxIntObservable.create(observer -> source.subscribe(new RxObserver<T>() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                observer.onNext(mapper.applyAsInt(item));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Primitive map: applies the function to each long value without boxing.
+     *
+     * @param source source Observable
+     * @param mapper transformation function
+     * @return new RxLongObservable
+     */
+    public static RxLongObservable apply(RxLongObservable source, LongUnaryOperator mapper) {
+        return RxLongObservable.create(observer -> source.subscribe(new RxLongObserver() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(long item) {
+                observer.onNext(mapper.applyAsLong(item));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Maps each element to a primitive long value.
+     *
+     * @param source source Observable
+     * @param mapper transformation function
+     * @param <T>    type of source elements
+     * @return new RxLongObservable
+     */
+    public static <T> RxLongObservable toLong(RxObservable<T> source, ToLongFunction<? super T> mapper) {
+        return RxLongObservable.create(observer -> source.subscribe(new RxObserver<T>() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                observer.onNext(mapper.applyAsLong(item));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Primitive map: applies the function to each double value without boxing.
+     *
+     * @param source source Observable
+     * @param mapper transformation function
+     * @return new RxDoubleObservable
+     */
+    public static RxDoubleObservable apply(RxDoubleObservable source, DoubleUnaryOperator mapper) {
+        return RxDoubleObservable.create(observer -> source.subscribe(new RxDoubleObserver() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(double item) {
+                observer.onNext(mapper.applyAsDouble(item));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Maps each element to a primitive double value.
+     *
+     * @param source source Observable
+     * @param mapper transformation function
+     * @param <T>    type of source elements
+     * @return new RxDoubleObservable
+     */
+    public static <T> RxDoubleObservable toDouble(RxObservable<T> source, ToDoubleFunction<? super T> mapper) {
+        return RxDoubleObservable.create(observer -> source.subscribe(new RxObserver<T>() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                observer.onNext(mapper.applyAsDouble(item));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Parallel map: the function is applied on every rail independently.
+     *
+     * @param source source parallel Observable
+     * @param mapper transformation function
+     * @param <T>    type of source elements
+     * @param <R>    type of resulting elements
+     * @return new RxParallelObservable<R>
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R> RxParallelObservable<R> apply(RxParallelObservable<T> source, Function<? super T, ? extends R> mapper) {
+        return RxParallelObservable.create(source.parallelism(), rails -> {
+            RxRailObserver<T>[] mapped = (RxRailObserver<T>[]) new RxRailObserver<?>[rails.length];
+            for (int i = 0; i < rails.length; i++) {
+                RxRailObserver<? super R> rail = rails[i];
+                mapped[i] = new RxRailObserver<T>() {
+                    private RxDisposable upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(RxDisposable d) {
+                        upstream = d;
+                        rail.onSubscribe(d);
+                    }
+
+                    @Override
+                    public void onNext(long seq, T item) {
+                        if (done) {
+                            return;
+                        }
+                        R result;
+                        try {
+                            result = mapper.apply(item);
+                        } catch (Throwable t) {
+                            if (upstream != null) {
+                                upstream.dispose();
+                            }
+                            onError(t);
+                            return;
+                        }
+                        rail.onNext(seq, result);
+                    }
+
+                    @Override
+                    public void onSkip(long seq) {
+                        if (!done) {
+                            rail.onSkip(seq);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        rail.onError(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        rail.onComplete();
+                    }
+                };
+            }
+            source.subscribe(mapped);
         });
     }
 }
-
@@ -0,0 +1,408 @@
+package com.rx.operators;
+
+import com.rx.core.RxCompositeDisposable;
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+import com.rx.core.RxOnSubscribe;
+import com.rx.internal.ScalarSource;
+import com.rx.internal.SpscLinkedArrayQueue;
+import com.rx.internal.SyncQueue;
+import com.rx.internal.SyncSource;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Merge engine shared by flatMap and merge.
+ * <p>
+ * Every inner Observable gets its own single-producer queue. The inner that wins the work-in-progress
+ * counter emits directly (fast path), otherwise the element is queued and the current winner drains all
+ * queues in one loop, so the downstream never sees concurrent calls. Finished inners are removed from
+ * both the inner array and the composite disposable. With a concurrency limit, source elements wait in
+ * a pending queue until an active inner finishes. Cancelling disposes the source and every active inner.
+ * A failure of the mapper or of a pulled inner disposes the source at once; the active inners still finish
+ * before the error is reported.
+ * <p>
+ * Inners made by {@code just}, {@code empty}, {@code range}, {@code fromIterable} and the like are not subscribed
+ * at all: their elements are pulled and emitted directly when the counter is free, or go through a shared scalar
+ * queue otherwise.
+ *
+ * @param <T> type of source elements
+ * @param <R> type of resulting elements
+ */
+@SuppressWarnings("serial")
+final class MergeObserver<T, R> extends AtomicInteger implements RxObserver<T> {
+    private static final int QUEUE_CHUNK_SIZE = 32;
+    private static final Object NULL = new Object();
+    @SuppressWarnings("rawtypes")
+    private static final InnerObserver[] EMPTY = new InnerObserver[0];
+
+    private final RxObserver<? super R> downstream;
+    private final Function<? super T, ? extends RxObservable<? extends R>> mapper;
+    private final int maxConcurrency;
+    private final RxCompositeDisposable composite = new RxCompositeDisposable();
+    private final AtomicReference<InnerObserver<R>[]> inners;
+    private final SpscLinkedArrayQueue<Object> pending;
+    private final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    private volatile SpscLinkedArrayQueue<Object> scalarQueue;
+    private volatile RxDisposable upstream;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private boolean terminated;
+    private int active;
+
+    @SuppressWarnings("unchecked")
+    MergeObserver(RxObserver<? super R> downstream, Function<? super T, ? extends RxObservable<? extends R>> mapper,
+                  int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        this.downstream = downstream;
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.inners = new AtomicReference<>(EMPTY);
+        this.pending = maxConcurrency == Integer.MAX_VALUE ? null : new SpscLinkedArrayQueue<>(QUEUE_CHUNK_SIZE);
+    }
+
+    /**
+     * Disposes the source and the active inners and drops the queued elements.
+     */
+    void cancel() {
+        cancelled = true;
+        composite.dispose();
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(RxDisposable d) {
+        upstream = d;
+        composite.add(d);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        if (pending == null) {
+            subscribeInner(item);
+            return;
+        }
+        pending.offer(item == null ? NULL : item);
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        errors.add(t);
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        drain();
+    }
+
+    /**
+     * Called by one thread at a time: by the source, or by the drain loop when there is a concurrency limit.
+     *
+     * @return true, if an inner was subscribed and now counts as active
+     */
+    @SuppressWarnings("unchecked")
+    private boolean subscribeInner(T item) {
+        if (cancelled) {
+            return false;
+        }
+        RxObservable<? extends R> source;
+        try {
+            source = mapper.apply(item);
+        } catch (Throwable t) {
+            failSource(t);
+            return false;
+        }
+        RxOnSubscribe<? extends R> logic = source.onSubscribe();
+        if (logic instanceof ScalarSource<?> scalar) {
+            tryEmitScalar((R) scalar.value());
+            return false;
+        }
+        if (logic instanceof SyncSource<?> sync) {
+            SyncQueue<?> q = sync.queue();
+            try {
+                while (!cancelled && q.hasNext()) {
+                    tryEmitScalar((R) q.next());
+                }
+            } catch (Throwable t) {
+                failSource(t);
+            } finally {
+                q.close();
+            }
+            return false;
+        }
+        InnerObserver<R> inner = new InnerObserver<>(this);
+        add(inner);
+        source.subscribe(inner);
+        return true;
+    }
+
+    /**
+     * Stops taking source elements after a failure of the mapper or of a pulled inner.
+     */
+    private void failSource(Throwable t) {
+        errors.add(t);
+        done = true;
+        RxDisposable d = upstream;
+        if (d != null) {
+            d.dispose();
+        }
+        drain();
+    }
+
+    private void tryEmitScalar(R value) {
+        if (get() == 0 && compareAndSet(0, 1)) {
+            SpscLinkedArrayQueue<Object> q = scalarQueue;
+            if (q == null || q.isEmpty()) {
+                downstream.onNext(value);
+            } else {
+                q.offer(value == null ? NULL : value);
+            }
+            if (decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            SpscLinkedArrayQueue<Object> q = scalarQueue;
+            if (q == null) {
+                q = new SpscLinkedArrayQueue<>(QUEUE_CHUNK_SIZE);
+                scalarQueue = q;
+            }
+            q.offer(value == null ? NULL : value);
+            if (getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    void innerSubscribe(InnerObserver<R> inner, RxDisposable d) {
+        inner.disposable = d;
+        composite.add(d);
+        if (inner.removed) {
+            composite.remove(d);
+        }
+    }
+
+    void tryEmit(R value, InnerObserver<R> inner) {
+        if (get() == 0 && compareAndSet(0, 1)) {
+            SpscLinkedArrayQueue<Object> q = inner.queue;
+            if (q == null || q.isEmpty()) {
+                downstream.onNext(value);
+            } else {
+                inner.offer(value);
+            }
+            if (decrementAndGet() == 0) {
+                return;
+            }
+        } else {
+            inner.offer(value);
+            if (getAndIncrement() != 0) {
+                return;
+            }
+        }
+        drainLoop();
+    }
+
+    void innerError(InnerObserver<R> inner, Throwable t) {
+        errors.add(t);
+        inner.done = true;
+        drain();
+    }
+
+    void drain() {
+        if (getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drainLoop() {
+        int missed = 1;
+        for (; ; ) {
+            if (terminated) {
+                return;
+            }
+            if (cancelled) {
+                terminated = true;
+                clear();
+                return;
+            }
+            boolean d = done;
+            if (pending != null) {
+                Object v;
+                while (active < maxConcurrency && (v = pending.poll()) != null) {
+                    if (subscribeInner(v == NULL ? null : (T) v)) {
+                        active++;
+                    }
+                }
+            }
+            SpscLinkedArrayQueue<Object> sq = scalarQueue;
+            if (sq != null) {
+                Object v;
+                while ((v = sq.poll()) != null) {
+                    downstream.onNext(v == NULL ? null : (R) v);
+                }
+            }
+            InnerObserver<R>[] array = inners.get();
+            int finished = 0;
+            for (InnerObserver<R> inner : array) {
+                boolean innerDone = inner.done;
+                SpscLinkedArrayQueue<Object> q = inner.queue;
+                if (q != null) {
+                    Object v;
+                    while ((v = q.poll()) != null) {
+                        downstream.onNext(v == NULL ? null : (R) v);
+                    }
+                }
+                if (innerDone) {
+                    remove(inner);
+                    finished++;
+                }
+            }
+            if (finished != 0) {
+                active -= finished;
+                continue;
+            }
+            if (d && inners.get().length == 0 && (pending == null || pending.isEmpty())
+                    && (sq == null || sq.isEmpty())) {
+                terminated = true;
+                Throwable err = errors.poll();
+                if (err != null) {
+                    downstream.onError(err);
+                } else {
+                    downstream.onComplete();
+                }
+                composite.dispose();
+                return;
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void clear() {
+        if (pending != null) {
+            pending.clear();
+        }
+        SpscLinkedArrayQueue<Object> sq = scalarQueue;
+        if (sq != null) {
+            sq.clear();
+        }
+        for (InnerObserver<R> inner : inners.getAndSet(EMPTY)) {
+            SpscLinkedArrayQueue<Object> q = inner.queue;
+            if (q != null) {
+                q.clear();
+            }
+        }
+    }
+
+    private void add(InnerObserver<R> inner) {
+        for (; ; ) {
+            InnerObserver<R>[] a = inners.get();
+            @SuppressWarnings("unchecked")
+            InnerObserver<R>[] b = (InnerObserver<R>[]) new InnerObserver<?>[a.length + 1];
+            System.arraycopy(a, 0, b, 0, a.length);
+            b[a.length] = inner;
+            if (inners.compareAndSet(a, b)) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(InnerObserver<R> inner) {
+        inner.removed = true;
+        RxDisposable d = inner.disposable;
+        if (d != null) {
+            composite.remove(d);
+        }
+        for (; ; ) {
+            InnerObserver<R>[] a = inners.get();
+            int n = a.length;
+            int j = -1;
+            for (int i = 0; i < n; i++) {
+                if (a[i] == inner) {
+                    j = i;
+                    break;
+                }
+            }
+            if (j < 0) {
+                return;
+            }
+            InnerObserver<R>[] b;
+            if (n == 1) {
+                b = EMPTY;
+            } else {
+                b = (InnerObserver<R>[]) new InnerObserver<?>[n - 1];
+                System.arraycopy(a, 0, b, 0, j);
+                System.arraycopy(a, j + 1, b, j, n - j - 1);
+            }
+            if (inners.compareAndSet(a, b)) {
+                return;
+            }
+        }
+    }
+
+    private static final class InnerObserver<R> implements RxObserver<R> {
+        private final MergeObserver<?, R> parent;
+        volatile SpscLinkedArrayQueue<Object> queue;
+        volatile boolean done;
+        volatile boolean removed;
+        volatile RxDisposable disposable;
+
+        InnerObserver(MergeObserver<?, R> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            parent.innerSubscribe(this, d);
+        }
+
+        @Override
+        public void onNext(R item) {
+            parent.tryEmit(item, this);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(this, t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        void offer(R value) {
+            SpscLinkedArrayQueue<Object> q = queue;
+            if (q == null) {
+                q = new SpscLinkedArrayQueue<>(QUEUE_CHUNK_SIZE);
+                queue = q;
+            }
+            q.offer(value == null ? NULL : value);
+        }
+    }
+}
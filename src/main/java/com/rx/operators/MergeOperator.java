@@ -1,12 +1,7 @@
 package com.rx.operators;
 
-import com.rx.core.RxCompositeDisposable;
-import com.rx.core.RxDisposable;
+import com.rx.core.RxFlowable;
 import com.rx.core.RxObservable;
-import com.rx.core.RxObserver;
-
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Operator merge: merges several Observables into a single stream in parallel.
@@ -14,6 +9,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class MergeOperator {
 
     /**
+     * Sources are subscribed at once; their emissions are serialized through a lock-free
+     * queue-drain emitter, so the downstream observer is never called concurrently.
+     *
      * @param sources array of source Observable
      * @param <T>     type of elements
      * @return new RxObservable<T> that emits all sources elements
@@ -21,42 +19,46 @@ public class MergeOperator {
     @SafeVarargs
     public static <T> RxObservable<T> apply(RxObservable<? extends T>... sources) {
         return RxObservable.create(observer -> {
-            RxCompositeDisposable composite = new RxCompositeDisposable();
-            AtomicInteger remaining = new AtomicInteger(sources.length);
-            ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
-
+            MergeObserver<RxObservable<? extends T>, T> parent = new MergeObserver<>(observer, src -> src, Integer.MAX_VALUE);
+            observer.setCancellable(parent::cancel);
             for (RxObservable<? extends T> src : sources) {
-                RxDisposable disposable = src.subscribe(new RxObserver<T>() {
-                    @Override
-                    public void onNext(T item) {
-                        observer.onNext(item);
-                    }
-
-                    @Override
-                    public void onError(Throwable t) {
-                        errors.add(t);
-                        completeIfDone();
-                    }
-
-                    @Override
-                    public void onComplete() {
-                        completeIfDone();
-                    }
-
-                    private void completeIfDone() {
-                        if (remaining.decrementAndGet() == 0) {
-                            Throwable err = errors.poll();
-                            if (err != null) {
-                                observer.onError(err);
-                            } else {
-                                observer.onComplete();
-                            }
-                            composite.dispose();
-                        }
-                    }
-                });
-                composite.add(disposable);
+                parent.onNext(src);
             }
+            parent.onComplete();
+        });
+    }
+
+    /**
+     * Merges the Observables emitted by the source, with at most {@code maxConcurrency} of them
+     * subscribed at the same time.
+     *
+     * @param sources        Observable of source Observables
+     * @param maxConcurrency maximum number of simultaneously subscribed sources
+     * @param <T>            type of elements
+     * @return new RxObservable<T> that emits all sources elements
+     */
+    public static <T> RxObservable<T> apply(RxObservable<? extends RxObservable<? extends T>> sources, int maxConcurrency) {
+        return RxObservable.create(observer -> {
+            MergeObserver<RxObservable<? extends T>, T> parent = new MergeObserver<>(observer, src -> src, maxConcurrency);
+            observer.setCancellable(parent::cancel);
+            sources.subscribe(parent);
         });
     }
+
+    /**
+     * Backpressured merge: every source runs ahead of the downstream by at most
+     * {@link RxFlowable#bufferSize()} elements.
+     *
+     * @param sources array of source Flowable
+     * @param <T>     type of elements
+     * @return new RxFlowable<T> that emits all sources elements
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> RxFlowable<T> apply(RxFlowable<? extends T>... sources) {
+        if (sources.length == 0) {
+            return RxFlowable.just();
+        }
+        return FlatMapOperator.apply(RxFlowable.just(sources), f -> f, sources.length, RxFlowable.bufferSize());
+    }
 }
@@ -0,0 +1,212 @@
+package com.rx.operators;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObserver;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxWorker;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fork-join style fold of a stream: elements are cut into chunks on the emitting thread, every chunk is
+ * folded on one of {@code parallelism} workers into that worker's partial accumulator, and the partials
+ * are combined pairwise (as a tree) once the source completes.
+ * <p>
+ * Each partial accumulator is confined to its worker, so folding needs no synchronization.
+ * The first failure of a fold, or a worker rejecting a chunk, cancels the source and terminates the stream
+ * right away instead of waiting for the source to finish.
+ *
+ * @param <T> type of elements
+ * @param <A> type of the partial accumulator
+ * @param <R> type of the result
+ */
+final class ParallelFold<T, A, R> implements RxObserver<T> {
+    private static final int CHUNK_SIZE = 1024;
+
+    private final RxObserver<? super R> downstream;
+    private final Supplier<A> initial;
+    private final BiFunction<A, ? super T, A> fold;
+    private final BinaryOperator<A> combiner;
+    private final Function<A, R> finisher;
+    private final RxWorker[] workers;
+    private final Object[] partials;
+    private final AtomicInteger remaining;
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private volatile RxDisposable upstream;
+    private Object[] chunk = new Object[CHUNK_SIZE];
+    private int size;
+    private int next;
+    private volatile boolean done;
+
+    /**
+     * @param downstream  receiver of the result
+     * @param parallelism number of partial accumulators and workers
+     * @param scheduler   scheduler providing the workers
+     * @param initial     creates an empty partial accumulator
+     * @param fold        folds an element into a partial accumulator
+     * @param combiner    combines two partial accumulators, must be associative
+     * @param finisher    converts the combined accumulator into the result; a null result is not emitted
+     */
+    ParallelFold(RxObserver<? super R> downstream, int parallelism, RxScheduler scheduler, Supplier<A> initial,
+                 BiFunction<A, ? super T, A> fold, BinaryOperator<A> combiner, Function<A, R> finisher) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        this.downstream = downstream;
+        this.initial = initial;
+        this.fold = fold;
+        this.combiner = combiner;
+        this.finisher = finisher;
+        this.workers = new RxWorker[parallelism];
+        this.partials = new Object[parallelism];
+        this.remaining = new AtomicInteger(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = scheduler.createWorker();
+        }
+    }
+
+    @Override
+    public void onSubscribe(RxDisposable d) {
+        upstream = d;
+        downstream.onSubscribe(RxDisposable.fromRunnable(() -> {
+            d.dispose();
+            for (RxWorker worker : workers) {
+                worker.dispose();
+            }
+        }));
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        chunk[size++] = item;
+        if (size == CHUNK_SIZE) {
+            dispatch();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (done) {
+            return;
+        }
+        done = true;
+        chunk = null;
+        terminate(t);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        if (size != 0) {
+            dispatch();
+        }
+        chunk = null;
+        for (RxWorker worker : workers) {
+            try {
+                worker.schedule(this::partitionDone);
+            } catch (RejectedExecutionException e) {
+                fail(e);
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatch() {
+        Object[] items = chunk;
+        int n = size;
+        int index = next;
+        next = index + 1 == workers.length ? 0 : index + 1;
+        chunk = new Object[CHUNK_SIZE];
+        size = 0;
+        try {
+            workers[index].schedule(() -> {
+                if (error.get() != null) {
+                    return;
+                }
+                try {
+                    A acc = partials[index] == null ? initial.get() : (A) partials[index];
+                    for (int i = 0; i < n; i++) {
+                        acc = fold.apply(acc, (T) items[i]);
+                    }
+                    partials[index] = acc;
+                } catch (Throwable t) {
+                    fail(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Records the first failure of a fold or of the workers, cancels the source and reports the failure.
+     */
+    private void fail(Throwable t) {
+        if (error.compareAndSet(null, t)) {
+            done = true;
+            RxDisposable d = upstream;
+            if (d != null) {
+                d.dispose();
+            }
+            terminate(t);
+        }
+    }
+
+    private void terminate(Throwable t) {
+        if (terminated.compareAndSet(false, true)) {
+            for (RxWorker worker : workers) {
+                worker.dispose();
+            }
+            downstream.onError(t);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void partitionDone() {
+        if (remaining.decrementAndGet() != 0) {
+            return;
+        }
+        if (error.get() != null || !terminated.compareAndSet(false, true)) {
+            // already reported by fail() or onError()
+            return;
+        }
+        for (RxWorker worker : workers) {
+            worker.dispose();
+        }
+        R result;
+        try {
+            int n = partials.length;
+            for (int step = 1; step < n; step <<= 1) {
+                for (int i = 0; i + step < n; i += step << 1) {
+                    A left = (A) partials[i];
+                    A right = (A) partials[i + step];
+                    partials[i] = left == null ? right : right == null ? left : combiner.apply(left, right);
+                }
+            }
+            A total = (A) partials[0];
+            result = finisher.apply(total == null ? initial.get() : total);
+        } catch (Throwable t) {
+            downstream.onError(t);
+            return;
+        }
+        if (result != null) {
+            downstream.onNext(result);
+        }
+        downstream.onComplete();
+    }
+}
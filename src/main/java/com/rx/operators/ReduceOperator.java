@@ -1,11 +1,33 @@
 package com.rx.operators;
 
+import com.rx.core.RxCompositeDisposable;
 import com.rx.core.RxObservable;
 import com.rx.core.RxObserver;
 import com.rx.core.RxDisposable;
+import com.rx.core.RxFlowable;
+import com.rx.core.RxSubscriber;
+import com.rx.core.RxSubscription;
+import com.rx.core.RxIntObservable;
+import com.rx.core.RxIntObserver;
+import com.rx.core.RxLongObservable;
+import com.rx.core.RxLongObserver;
+import com.rx.core.RxDoubleObservable;
+import com.rx.core.RxDoubleObserver;
+import com.rx.core.RxParallelObservable;
+import com.rx.core.RxRailObserver;
+import com.rx.internal.DeferredScalarSubscription;
+import com.rx.schedulers.RxScheduler;
 
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Operator reduce: accumulation of elements into one total value.
@@ -13,14 +35,20 @@ import java.util.function.BiFunction;
 public class ReduceOperator {
     public static <T> RxObservable<T> apply(RxObservable<T> source, BiFunction<? super T, ? super T, ? extends T> accumulator) {
         return RxObservable.create(observer -> {
-            AtomicReference<T> acc = new AtomicReference<>();
-            RxDisposable disposable = source.subscribe(new RxObserver<T>() {
+            source.subscribe(new RxObserver<T>() {
+                private T acc;
+
+                @Override
+                public void onSubscribe(RxDisposable d) {
+                    observer.onSubscribe(d);
+                }
+
                 @Override
                 public void onNext(T item) {
-                    if (acc.get() == null) {
-                        acc.set(item);
+                    if (acc == null) {
+                        acc = item;
                     } else {
-                        acc.set(accumulator.apply(acc.get(), item));
+                        acc = accumulator.apply(acc, item);
                     }
                 }
 
@@ -31,7 +59,8 @@ public class ReduceOperator {
 
                 @Override
                 public void onComplete() {
-                    T result = acc.get();
+                    T result = acc;
+                    acc = null;
                     if (result != null) {
                         observer.onNext(result);
                     }
@@ -40,5 +69,583 @@ public class ReduceOperator {
             });
         });
     }
-}
 
+    /**
+     * Backpressured reduce: consumes the source without bound and emits the result
+     * once the downstream has requested it.
+     *
+     * @param source      source Flowable
+     * @param accumulator accumulation function
+     * @param <T>         type of elements
+     * @return new RxFlowable<T> with at most one element
+     */
+    public static <T> RxFlowable<T> apply(RxFlowable<T> source, BiFunction<? super T, ? super T, ? extends T> accumulator) {
+        return RxFlowable.create(subscriber -> source.subscribe(new RxSubscriber<T>() {
+            private final DeferredScalarSubscription<T> result = new DeferredScalarSubscription<>(subscriber) {
+                @Override
+                public void cancel() {
+                    super.cancel();
+                    upstream.cancel();
+                }
+            };
+            private RxSubscription upstream;
+            private T acc;
+            private boolean done;
+
+            @Override
+            public void onSubscribe(RxSubscription subscription) {
+                upstream = subscription;
+                subscriber.onSubscribe(result);
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done) {
+                    return;
+                }
+                if (acc == null) {
+                    acc = item;
+                    return;
+                }
+                try {
+                    acc = accumulator.apply(acc, item);
+                } catch (Throwable t) {
+                    upstream.cancel();
+                    onError(t);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                acc = null;
+                subscriber.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                if (done) {
+                    return;
+                }
+                done = true;
+                T value = acc;
+                acc = null;
+                if (value != null) {
+                    result.complete(value);
+                } else {
+                    subscriber.onComplete();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Primitive reduce: accumulates int values in a primitive field, emits the result on completion.
+     *
+     * @param source      source Observable
+     * @param accumulator accumulation function
+     * @return new RxIntObservable with at most one element
+     */
+    public static RxIntObservable apply(RxIntObservable source, IntBinaryOperator accumulator) {
+        return RxIntObservable.create(observer -> source.subscribe(new RxIntObserver() {
+            private int acc;
+            private boolean hasValue;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(int item) {
+                if (hasValue) {
+                    acc = accumulator.applyAsInt(acc, item);
+                } else {
+                    acc = item;
+                    hasValue = true;
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                if (hasValue) {
+                    observer.onNext(acc);
+                }
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Sum of the int values; emits 0 for an empty stream.
+     *
+     * @param source source Observable
+     * @return new RxIntObservable with exactly one element
+     */
+    public static RxIntObservable sum(RxIntObservable source) {
+        return RxIntObservable.create(observer -> source.subscribe(new RxIntObserver() {
+            private int sum;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(int item) {
+                sum += item;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onNext(sum);
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Minimum of the int values; emits nothing for an empty stream.
+     *
+     * @param source source Observable
+     * @return new RxIntObservable with at most one element
+     */
+    public static RxIntObservable min(RxIntObservable source) {
+        return apply(source, Math::min);
+    }
+
+    /**
+     * Maximum of the int values; emits nothing for an empty stream.
+     *
+     * @param source source Observable
+     * @return new RxIntObservable with at most one element
+     */
+    public static RxIntObservable max(RxIntObservable source) {
+        return apply(source, Math::max);
+    }
+
+    /**
+     * Primitive reduce: accumulates long values in a primitive field, emits the result on completion.
+     *
+     * @param source      source Observable
+     * @param accumulator accumulation function
+     * @return new RxLongObservable with at most one element
+     */
+    public static RxLongObservable apply(RxLongObservable source, LongBinaryOperator accumulator) {
+        return RxLongObservable.create(observer -> source.subscribe(new RxLongObserver() {
+            private long acc;
+            private boolean hasValue;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(long item) {
+                if (hasValue) {
+                    acc = accumulator.applyAsLong(acc, item);
+                } else {
+                    acc = item;
+                    hasValue = true;
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                if (hasValue) {
+                    observer.onNext(acc);
+                }
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Sum of the long values; emits 0L for an empty stream.
+     *
+     * @param source source Observable
+     * @return new RxLongObservable with exactly one element
+     */
+    public static RxLongObservable sum(RxLongObservable source) {
+        return RxLongObservable.create(observer -> source.subscribe(new RxLongObserver() {
+            private long sum;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(long item) {
+                sum += item;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onNext(sum);
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Minimum of the long values; emits nothing for an empty stream.
+     *
+     * @param source source Observable
+     * @return new RxLongObservable with at most one element
+     */
+    public static RxLongObservable min(RxLongObservable source) {
+        return apply(source, Math::min);
+    }
+
+    /**
+     * Maximum of the long values; emits nothing for an empty stream.
+     *
+     * @param source source Observable
+     * @return new RxLongObservable with at most one element
+     */
+    public static RxLongObservable max(RxLongObservable source) {
+        return apply(source, Math::max);
+    }
+
+    /**
+     * Primitive reduce: accumulates double values in a primitive field, emits the result on completion.
+     *
+     * @param source      source Observable
+     * @param accumulator accumulation function
+     * @return new RxDoubleObservable with at most one element
+     */
+    public static RxDoubleObservable apply(RxDoubleObservable source, DoubleBinaryOperator accumulator) {
+        return RxDoubleObservable.create(observer -> source.subscribe(new RxDoubleObserver() {
+            private double acc;
+            private boolean hasValue;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(double item) {
+                if (hasValue) {
+                    acc = accumulator.applyAsDouble(acc, item);
+                } else {
+                    acc = item;
+                    hasValue = true;
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                if (hasValue) {
+                    observer.onNext(acc);
+                }
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Sum of the double values; emits 0.0 for an empty stream.
+     *
+     * @param source source Observable
+     * @return new RxDoubleObservable with exactly one element
+     */
+    public static RxDoubleObservable sum(RxDoubleObservable source) {
+        return RxDoubleObservable.create(observer -> source.subscribe(new RxDoubleObserver() {
+            private double sum;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(double item) {
+                sum += item;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onNext(sum);
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Minimum of the double values; emits nothing for an empty stream.
+     *
+     * @param source source Observable
+     * @return new RxDoubleObservable with at most one element
+     */
+    public static RxDoubleObservable min(RxDoubleObservable source) {
+        return apply(source, Math::min);
+    }
+
+    /**
+     * Maximum of the double values; emits nothing for an empty stream.
+     *
+     * @param source source Observable
+     * @return new RxDoubleObservable with at most one element
+     */
+    public static RxDoubleObservable max(RxDoubleObservable source) {
+        return apply(source, Math::max);
+    }
+
+    /**
+     * Parallel reduce: every rail folds its elements into a partial result, and the partial results
+     * are combined with the same accumulator once all rails complete. The accumulator must be associative.
+     *
+     * @param source      source parallel Observable
+     * @param accumulator associative accumulation function
+     * @param <T>         type of elements
+     * @return new RxObservable<T> with at most one element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RxObservable<T> apply(RxParallelObservable<T> source, BiFunction<T, T, T> accumulator) {
+        return RxObservable.create(observer -> {
+            RxCompositeDisposable upstream = new RxCompositeDisposable();
+            observer.setDisposable(upstream);
+            PartialResults<T> partials = new PartialResults<>(observer, upstream, accumulator, source.parallelism());
+            RxRailObserver<T>[] rails = (RxRailObserver<T>[]) new RxRailObserver<?>[source.parallelism()];
+            for (int i = 0; i < rails.length; i++) {
+                rails[i] = new RxRailObserver<T>() {
+                    private RxDisposable rail;
+                    private T acc;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(RxDisposable d) {
+                        rail = d;
+                        upstream.add(d);
+                    }
+
+                    @Override
+                    public void onNext(long seq, T item) {
+                        if (done) {
+                            return;
+                        }
+                        try {
+                            acc = acc == null ? item : accumulator.apply(acc, item);
+                        } catch (Throwable t) {
+                            if (rail != null) {
+                                rail.dispose();
+                            }
+                            onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onSkip(long seq) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        acc = null;
+                        partials.fail(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (done) {
+                            return;
+                        }
+                        done = true;
+                        T value = acc;
+                        acc = null;
+                        partials.complete(value);
+                    }
+                };
+            }
+            source.subscribe(rails);
+        });
+    }
+
+    /**
+     * Combines the partial results of the rails and emits the total when the last rail is done.
+     * The first failure cancels all rails and is emitted right away.
+     */
+    private static final class PartialResults<T> {
+        private final RxObserver<? super T> observer;
+        private final RxDisposable upstream;
+        private final BiFunction<T, T, T> combiner;
+        private final AtomicInteger remaining;
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private T total;
+
+        PartialResults(RxObserver<? super T> observer, RxDisposable upstream, BiFunction<T, T, T> combiner,
+                       int parallelism) {
+            this.observer = observer;
+            this.upstream = upstream;
+            this.combiner = combiner;
+            this.remaining = new AtomicInteger(parallelism);
+        }
+
+        void complete(T partial) {
+            if (partial != null) {
+                try {
+                    synchronized (this) {
+                        total = total == null ? partial : combiner.apply(total, partial);
+                    }
+                } catch (Throwable t) {
+                    fail(t);
+                    return;
+                }
+            }
+            if (remaining.decrementAndGet() != 0 || !terminated.compareAndSet(false, true)) {
+                return;
+            }
+            T result;
+            synchronized (this) {
+                result = total;
+                total = null;
+            }
+            if (result != null) {
+                observer.onNext(result);
+            }
+            observer.onComplete();
+        }
+
+        void fail(Throwable t) {
+            if (terminated.compareAndSet(false, true)) {
+                synchronized (this) {
+                    total = null;
+                }
+                upstream.dispose();
+                observer.onError(t);
+            }
+        }
+    }
+
+    /**
+     * Opt-in parallel reduce for associative and commutative accumulators. Elements are folded in chunks
+     * into one partial result per worker, and the partial results are combined pairwise on completion.
+     *
+     * @param source      source Observable
+     * @param parallelism number of partial results and workers
+     * @param scheduler   scheduler providing the workers
+     * @param accumulator associative and commutative accumulation function
+     * @param <T>         type of elements
+     * @return new RxObservable<T> with at most one element
+     */
+    public static <T> RxObservable<T> parallel(RxObservable<T> source, int parallelism, RxScheduler scheduler,
+                                               BinaryOperator<T> accumulator) {
+        return RxObservable.create(observer -> source.subscribe(new ParallelFold<T, T, T>(observer, parallelism, scheduler,
+                () -> null,
+                (acc, item) -> acc == null ? item : accumulator.apply(acc, item),
+                accumulator,
+                Function.identity())));
+    }
+
+    /**
+     * Collects the elements into a mutable container.
+     *
+     * @param source      source Observable
+     * @param supplier    creates the container
+     * @param accumulator adds an element to the container
+     * @param <T>         type of elements
+     * @param <C>         type of the container
+     * @return new RxObservable<C> with exactly one element
+     */
+    public static <T, C> RxObservable<C> collect(RxObservable<T> source, Supplier<C> supplier, BiConsumer<C, ? super T> accumulator) {
+        return RxObservable.create(observer -> source.subscribe(new RxObserver<T>() {
+            private C container;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (container == null) {
+                    container = supplier.get();
+                }
+                accumulator.accept(container, item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                container = null;
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                C result = container == null ? supplier.get() : container;
+                container = null;
+                observer.onNext(result);
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Opt-in parallel collect: one container per worker, merged pairwise by the combiner on completion.
+     *
+     * @param source      source Observable
+     * @param parallelism number of containers and workers
+     * @param scheduler   scheduler providing the workers
+     * @param supplier    creates a container
+     * @param accumulator adds an element to a container
+     * @param combiner    merges the second container into the first one
+     * @param <T>         type of elements
+     * @param <C>         type of the container
+     * @return new RxObservable<C> with exactly one element
+     */
+    public static <T, C> RxObservable<C> collect(RxObservable<T> source, int parallelism, RxScheduler scheduler,
+                                                 Supplier<C> supplier, BiConsumer<C, ? super T> accumulator,
+                                                 BiConsumer<C, C> combiner) {
+        return RxObservable.create(observer -> source.subscribe(new ParallelFold<T, C, C>(observer, parallelism, scheduler,
+                supplier,
+                (c, item) -> {
+                    accumulator.accept(c, item);
+                    return c;
+                },
+                (a, b) -> {
+                    combiner.accept(a, b);
+                    return a;
+                },
+                Function.identity())));
+    }
+}
@@ -0,0 +1,56 @@
+package com.rx.operators;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+import com.rx.schedulers.RxScheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttle operator: emits the first element of every window and drops the rest of the window.
+ * The window opens with an emitted element and is measured with the clock of the scheduler.
+ */
+public class ThrottleOperator {
+
+    /**
+     * @param source    source Observable
+     * @param window    duration of the window after an emitted element
+     * @param unit      unit of the window
+     * @param scheduler scheduler providing the clock
+     * @param <T>       type of elements
+     * @return new RxObservable<T>
+     */
+    public static <T> RxObservable<T> apply(RxObservable<T> source, long window, TimeUnit unit, RxScheduler scheduler) {
+        long windowNanos = unit.toNanos(window);
+        return RxObservable.create(observer -> source.subscribe(new RxObserver<T>() {
+            private boolean emitted;
+            private long lastEmission;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                long now = scheduler.now(TimeUnit.NANOSECONDS);
+                if (!emitted || now - lastEmission >= windowNanos) {
+                    emitted = true;
+                    lastEmission = now;
+                    observer.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
+            }
+        }));
+    }
+}
@@ -0,0 +1,125 @@
+package com.rx.operators;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxWorker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timeout operator: fails the stream, or switches to a fallback, if the next element
+ * (or the first one after subscribing) does not arrive in time.
+ */
+public class TimeoutOperator {
+
+    /**
+     * @param source    source Observable
+     * @param timeout   maximum time between elements
+     * @param unit      unit of the timeout
+     * @param scheduler scheduler on which the timeout is signalled
+     * @param <T>       type of elements
+     * @return new RxObservable<T> that fails with {@link TimeoutException}
+     */
+    public static <T> RxObservable<T> apply(RxObservable<T> source, long timeout, TimeUnit unit, RxScheduler scheduler) {
+        return apply(source, timeout, unit, scheduler, null);
+    }
+
+    /**
+     * @param source    source Observable
+     * @param timeout   maximum time between elements
+     * @param unit      unit of the timeout
+     * @param scheduler scheduler on which the timeout is signalled
+     * @param fallback  Observable to continue with after a timeout, or null to fail
+     * @param <T>       type of elements
+     * @return new RxObservable<T>
+     */
+    public static <T> RxObservable<T> apply(RxObservable<T> source, long timeout, TimeUnit unit, RxScheduler scheduler,
+                                            RxObservable<? extends T> fallback) {
+        return RxObservable.create(observer -> source.subscribe(
+                new TimeoutObserver<>(observer, timeout, unit, scheduler.createWorker(), fallback)));
+    }
+
+    /**
+     * Every element gets an index; a timer only fires its timeout if it wins the index
+     * against the next element, so an element and the timeout are never both delivered.
+     */
+    @SuppressWarnings("serial")
+    private static final class TimeoutObserver<T> extends AtomicLong implements RxObserver<T> {
+        private final RxObserver<? super T> downstream;
+        private final long timeout;
+        private final TimeUnit unit;
+        private final RxWorker worker;
+        private final RxObservable<? extends T> fallback;
+        private volatile RxDisposable upstream;
+        private volatile RxDisposable timer;
+
+        TimeoutObserver(RxObserver<? super T> downstream, long timeout, TimeUnit unit, RxWorker worker,
+                        RxObservable<? extends T> fallback) {
+            this.downstream = downstream;
+            this.timeout = timeout;
+            this.unit = unit;
+            this.worker = worker;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            upstream = d;
+            downstream.onSubscribe(RxDisposable.fromRunnable(() -> {
+                set(Long.MAX_VALUE);
+                d.dispose();
+                worker.dispose();
+            }));
+            startTimer(0L);
+        }
+
+        @Override
+        public void onNext(T item) {
+            long index = get();
+            if (index == Long.MAX_VALUE || !compareAndSet(index, index + 1)) {
+                return;
+            }
+            timer.dispose();
+            downstream.onNext(item);
+            startTimer(index + 1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (getAndSet(Long.MAX_VALUE) != Long.MAX_VALUE) {
+                worker.dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (getAndSet(Long.MAX_VALUE) != Long.MAX_VALUE) {
+                worker.dispose();
+                downstream.onComplete();
+            }
+        }
+
+        private void startTimer(long index) {
+            timer = worker.schedule(() -> onTimeout(index), timeout, unit);
+        }
+
+        private void onTimeout(long index) {
+            if (!compareAndSet(index, Long.MAX_VALUE)) {
+                return;
+            }
+            upstream.dispose();
+            worker.dispose();
+            if (fallback == null) {
+                downstream.onError(new TimeoutException("The source did not signal an event for "
+                        + timeout + " " + unit.toString().toLowerCase()));
+            } else {
+                fallback.subscribe(downstream);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.rx.operators;
+
+import com.rx.core.RxEmitter;
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+import com.rx.internal.SpscLinkedArrayQueue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A window of the window operator: receives the elements from the operator and replays them to its single
+ * subscriber. Elements that arrive before the subscription are kept in a queue, so the window may be
+ * subscribed to later, for example on another scheduler.
+ *
+ * @param <T> type of elements
+ */
+@SuppressWarnings("serial")
+final class UnicastWindow<T> extends AtomicInteger implements RxObserver<T> {
+    private static final int QUEUE_CHUNK_SIZE = 32;
+    private static final Object NULL = new Object();
+
+    private final SpscLinkedArrayQueue<Object> queue = new SpscLinkedArrayQueue<>(QUEUE_CHUNK_SIZE);
+    private final AtomicBoolean once = new AtomicBoolean();
+    private volatile RxEmitter<? super T> subscriber;
+    private volatile boolean done;
+    private Throwable error;
+
+    /**
+     * @return Observable of the window, allowing a single subscriber
+     */
+    RxObservable<T> observable() {
+        return RxObservable.create(emitter -> {
+            if (!once.compareAndSet(false, true)) {
+                emitter.onError(new IllegalStateException("A window allows only one subscriber"));
+                return;
+            }
+            subscriber = emitter;
+            drain();
+        });
+    }
+
+    @Override
+    public void onNext(T item) {
+        queue.offer(item == null ? NULL : item);
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        error = t;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drain() {
+        if (getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        for (; ; ) {
+            RxEmitter<? super T> s = subscriber;
+            if (s != null) {
+                for (; ; ) {
+                    if (s.isDisposed()) {
+                        queue.clear();
+                        break;
+                    }
+                    boolean d = done;
+                    Object v = queue.poll();
+                    if (v == null) {
+                        if (d) {
+                            Throwable err = error;
+                            if (err != null) {
+                                s.onError(err);
+                            } else {
+                                s.onComplete();
+                            }
+                            return;
+                        }
+                        break;
+                    }
+                    s.onNext(v == NULL ? null : (T) v);
+                }
+            }
+            missed = addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+}
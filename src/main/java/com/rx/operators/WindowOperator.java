@@ -0,0 +1,241 @@
+package com.rx.operators;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+import com.rx.internal.MpscLinkedQueue;
+import com.rx.schedulers.RxScheduler;
+import com.rx.schedulers.RxWorker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Window operator: splits the stream into sub-streams (windows) instead of lists, so a batch can be
+ * processed while it is still being filled. Each window allows a single subscriber; elements that
+ * arrive before the subscription are queued in the window.
+ */
+public class WindowOperator {
+
+    /**
+     * Emits windows of {@code count} elements; the last window may be shorter.
+     *
+     * @param source source Observable
+     * @param count  number of elements per window
+     * @param <T>    type of elements
+     * @return new RxObservable of windows
+     */
+    public static <T> RxObservable<RxObservable<T>> apply(RxObservable<T> source, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return RxObservable.create(observer -> source.subscribe(new RxObserver<T>() {
+            private UnicastWindow<T> window;
+            private int size;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                observer.onSubscribe(d);
+            }
+
+            @Override
+            public void onNext(T item) {
+                UnicastWindow<T> w = window;
+                if (w == null) {
+                    w = new UnicastWindow<>();
+                    window = w;
+                    observer.onNext(w.observable());
+                }
+                w.onNext(item);
+                if (++size == count) {
+                    window = null;
+                    size = 0;
+                    w.onComplete();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                UnicastWindow<T> w = window;
+                window = null;
+                if (w != null) {
+                    w.onError(t);
+                }
+                observer.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                UnicastWindow<T> w = window;
+                window = null;
+                if (w != null) {
+                    w.onComplete();
+                }
+                observer.onComplete();
+            }
+        }));
+    }
+
+    /**
+     * Closes the current window every {@code timespan}, or as soon as it holds {@code maxCount} elements.
+     * A window is opened by the first element after the previous one closed, so no empty windows are emitted.
+     *
+     * @param source    source Observable
+     * @param timespan  maximum lifetime of a window
+     * @param unit      unit of the timespan
+     * @param scheduler scheduler providing the timer
+     * @param maxCount  maximum number of elements per window
+     * @param <T>       type of elements
+     * @return new RxObservable of windows
+     */
+    public static <T> RxObservable<RxObservable<T>> apply(RxObservable<T> source, long timespan, TimeUnit unit,
+                                                          RxScheduler scheduler, int maxCount) {
+        if (maxCount <= 0) {
+            throw new IllegalArgumentException("maxCount > 0 required but it was " + maxCount);
+        }
+        return RxObservable.create(observer -> source.subscribe(
+                new TimedWindowObserver<>(observer, timespan, unit, scheduler.createWorker(), maxCount)));
+    }
+
+    /**
+     * Closes the current window every {@code timespan}, without a size limit.
+     *
+     * @param source    source Observable
+     * @param timespan  lifetime of a window
+     * @param unit      unit of the timespan
+     * @param scheduler scheduler providing the timer
+     * @param <T>       type of elements
+     * @return new RxObservable of windows
+     */
+    public static <T> RxObservable<RxObservable<T>> apply(RxObservable<T> source, long timespan, TimeUnit unit,
+                                                          RxScheduler scheduler) {
+        return apply(source, timespan, unit, scheduler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Elements and timer boundaries go through one queue and a queue-drain loop, which owns the current
+     * window; so the source and the timer never call the windows or the downstream at the same time.
+     */
+    @SuppressWarnings("serial")
+    private static final class TimedWindowObserver<T> extends AtomicInteger implements RxObserver<T> {
+        private static final Object BOUNDARY = new Object();
+        private static final Object NULL = new Object();
+
+        private final RxObserver<? super RxObservable<T>> downstream;
+        private final long timespan;
+        private final TimeUnit unit;
+        private final RxWorker worker;
+        private final int maxCount;
+        private final MpscLinkedQueue<Object> queue = new MpscLinkedQueue<>();
+        private volatile boolean done;
+        private Throwable error;
+        private UnicastWindow<T> window;
+        private int size;
+
+        TimedWindowObserver(RxObserver<? super RxObservable<T>> downstream, long timespan, TimeUnit unit,
+                            RxWorker worker, int maxCount) {
+            this.downstream = downstream;
+            this.timespan = timespan;
+            this.unit = unit;
+            this.worker = worker;
+            this.maxCount = maxCount;
+        }
+
+        @Override
+        public void onSubscribe(RxDisposable d) {
+            downstream.onSubscribe(RxDisposable.fromRunnable(() -> {
+                d.dispose();
+                worker.dispose();
+            }));
+            worker.schedulePeriodically(() -> {
+                queue.offer(BOUNDARY);
+                drain();
+            }, timespan, timespan, unit);
+        }
+
+        @Override
+        public void onNext(T item) {
+            queue.offer(item == null ? NULL : item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (; ; ) {
+                for (; ; ) {
+                    boolean d = done;
+                    Object v = queue.poll();
+                    if (v == null) {
+                        if (d) {
+                            terminate();
+                            return;
+                        }
+                        break;
+                    }
+                    if (v == BOUNDARY) {
+                        closeWindow();
+                        continue;
+                    }
+                    UnicastWindow<T> w = window;
+                    if (w == null) {
+                        w = new UnicastWindow<>();
+                        window = w;
+                        downstream.onNext(w.observable());
+                    }
+                    w.onNext(v == NULL ? null : (T) v);
+                    if (++size == maxCount) {
+                        closeWindow();
+                    }
+                }
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private void closeWindow() {
+            UnicastWindow<T> w = window;
+            if (w != null) {
+                window = null;
+                size = 0;
+                w.onComplete();
+            }
+        }
+
+        private void terminate() {
+            worker.dispose();
+            UnicastWindow<T> w = window;
+            window = null;
+            Throwable err = error;
+            if (err != null) {
+                if (w != null) {
+                    w.onError(err);
+                }
+                downstream.onError(err);
+            } else {
+                if (w != null) {
+                    w.onComplete();
+                }
+                downstream.onComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.rx.plugins;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one drain run of an async boundary, with the number of elements it delivered.
+ */
+@Name("com.rx.Batch")
+@Label("Batch")
+@Category("Reactive")
+@Description("Elements delivered by one drain run of an async boundary")
+@Enabled(false)
+@StackTrace(false)
+public final class BatchEvent extends Event {
+    @Label("Boundary")
+    public String boundary;
+
+    @Label("Items")
+    public long items;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     *
+     * @param boundary name of the boundary
+     * @param items    number of elements delivered
+     */
+    public void commit(String boundary, long items) {
+        end();
+        if (shouldCommit()) {
+            this.boundary = boundary;
+            this.items = items;
+            commit();
+        }
+    }
+}
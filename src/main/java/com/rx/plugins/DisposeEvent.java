@@ -0,0 +1,22 @@
+package com.rx.plugins;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning the cancellation of a subscription before it terminated, including the release
+ * of the upstream resources.
+ */
+@Name("com.rx.Dispose")
+@Label("Dispose")
+@Category("Reactive")
+@Description("Cancellation of an RxObservable subscription")
+@Enabled(false)
+public final class DisposeEvent extends Event {
+    @Label("Observer")
+    public String observer;
+}
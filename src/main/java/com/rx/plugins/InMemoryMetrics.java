@@ -0,0 +1,257 @@
+package com.rx.plugins;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics kept in memory, for tests and ad hoc diagnostics: counters per stage and per scheduler
+ * plus latency histograms. {@link #toString()} renders a report of everything recorded.
+ */
+public class InMemoryMetrics implements RxMetrics {
+    private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+    private final Map<String, Scheduler> schedulers = new ConcurrentHashMap<>();
+
+    @Override
+    public Stage stage(String name) {
+        return stages.computeIfAbsent(name, n -> new Stage());
+    }
+
+    @Override
+    public Scheduler scheduler(String name) {
+        return schedulers.computeIfAbsent(name, n -> new Scheduler());
+    }
+
+    /**
+     * @return recorded stages by name, sorted
+     */
+    public Map<String, Stage> stages() {
+        return Collections.unmodifiableMap(new TreeMap<>(stages));
+    }
+
+    /**
+     * @return recorded schedulers by name, sorted
+     */
+    public Map<String, Scheduler> schedulers() {
+        return Collections.unmodifiableMap(new TreeMap<>(schedulers));
+    }
+
+    /**
+     * Forgets everything recorded so far; recorders already handed out keep their counts.
+     */
+    public void clear() {
+        stages.clear();
+        schedulers.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        stages().forEach((name, s) -> sb.append("stage ").append(name).append(' ').append(s).append('\n'));
+        schedulers().forEach((name, s) -> sb.append("scheduler ").append(name).append(' ').append(s).append('\n'));
+        return sb.toString();
+    }
+
+    /**
+     * Counters of one stage.
+     */
+    public static final class Stage implements StageRecorder {
+        private final LongAdder items = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder completions = new LongAdder();
+        private final Histogram latency = new Histogram();
+
+        @Override
+        public void onNext(long latencyNanos) {
+            items.increment();
+            latency.record(latencyNanos);
+        }
+
+        @Override
+        public void onError() {
+            errors.increment();
+        }
+
+        @Override
+        public void onComplete() {
+            completions.increment();
+        }
+
+        public long items() {
+            return items.sum();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+
+        public long completions() {
+            return completions.sum();
+        }
+
+        /**
+         * @return time the downstream spent in onNext, in nanoseconds
+         */
+        public Histogram latency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return "items=" + items() + " errors=" + errors() + " completions=" + completions() + " onNext=" + latency;
+        }
+    }
+
+    /**
+     * Counters of one scheduler.
+     */
+    public static final class Scheduler implements SchedulerRecorder {
+        private final LongAdder queued = new LongAdder();
+        private final LongAdder started = new LongAdder();
+        private final LongAdder finished = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder workers = new LongAdder();
+        private final Histogram waitTime = new Histogram();
+        private final Histogram runTime = new Histogram();
+
+        @Override
+        public void taskQueued() {
+            queued.increment();
+        }
+
+        @Override
+        public void taskStarted(long waitNanos) {
+            started.increment();
+            waitTime.record(waitNanos);
+        }
+
+        @Override
+        public void taskFinished(long runNanos) {
+            finished.increment();
+            runTime.record(runNanos);
+        }
+
+        @Override
+        public void taskDropped() {
+            dropped.increment();
+        }
+
+        @Override
+        public void workerCreated() {
+            workers.increment();
+        }
+
+        @Override
+        public void workerDisposed() {
+            workers.decrement();
+        }
+
+        public long tasksQueued() {
+            return queued.sum();
+        }
+
+        public long tasksFinished() {
+            return finished.sum();
+        }
+
+        public long tasksDropped() {
+            return dropped.sum();
+        }
+
+        /**
+         * @return tasks waiting in the queues right now
+         */
+        public long queueDepth() {
+            return Math.max(0, queued.sum() - started.sum() - dropped.sum());
+        }
+
+        public long activeWorkers() {
+            return workers.sum();
+        }
+
+        /**
+         * @return time the tasks spent in the queue, in nanoseconds
+         */
+        public Histogram waitTime() {
+            return waitTime;
+        }
+
+        /**
+         * @return time the tasks ran, in nanoseconds
+         */
+        public Histogram runTime() {
+            return runTime;
+        }
+
+        @Override
+        public String toString() {
+            return "queued=" + tasksQueued() + " finished=" + tasksFinished() + " dropped=" + tasksDropped()
+                    + " depth=" + queueDepth() + " workers=" + activeWorkers() + " wait=" + waitTime + " run=" + runTime;
+        }
+    }
+
+    /**
+     * Lock-free histogram with power-of-two buckets: a value v falls into bucket
+     * {@code 64 - numberOfLeadingZeros(v)}, so percentiles are exact up to a factor of two.
+     */
+    public static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(65);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        public void record(long value) {
+            long v = Math.max(0, value);
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(v));
+            count.increment();
+            sum.add(v);
+            long m;
+            while (v > (m = max.get()) && !max.compareAndSet(m, v)) {
+                Thread.onSpinWait();
+            }
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long max() {
+            return max.get();
+        }
+
+        public double mean() {
+            long c = count();
+            return c == 0 ? 0 : (double) sum.sum() / c;
+        }
+
+        /**
+         * @param quantile quantile between 0 and 1
+         * @return upper bound of the bucket holding the quantile, capped by the maximum
+         */
+        public long percentile(double quantile) {
+            long c = count();
+            if (c == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * c);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return i == 0 ? 0 : Math.min(max(), i == 64 ? Long.MAX_VALUE : (1L << i) - 1);
+                }
+            }
+            return max();
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count() + " mean=" + (long) mean() + " p50=" + percentile(0.5)
+                    + " p99=" + percentile(0.99) + " max=" + max() + "}";
+        }
+    }
+}
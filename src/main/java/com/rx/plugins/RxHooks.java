@@ -0,0 +1,160 @@
+package com.rx.plugins;
+
+import com.rx.core.RxObservable;
+
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+/**
+ * Global hooks of the library. By default no metrics are installed and every hook is a single volatile read;
+ * pipelines assembled and tasks scheduled while {@link RxMetrics} are installed report to them.
+ * <p>
+ * The library also emits JFR events of category "Reactive" ({@link SubscribeEvent}, {@link DisposeEvent},
+ * {@link TaskScheduledEvent}, {@link TaskExecutedEvent}, {@link BatchEvent}). They are disabled by default
+ * and are only filled in while a recording enables them.
+ */
+public final class RxHooks {
+    private static final StackWalker WALKER = StackWalker.getInstance(
+            Set.of(StackWalker.Option.RETAIN_CLASS_REFERENCE));
+
+    private static volatile RxMetrics metrics;
+
+    private RxHooks() {
+    }
+
+    /**
+     * Installs the metrics; pass null to remove them. Already assembled Observables and created workers
+     * keep reporting to the recorders they obtained.
+     *
+     * @param m metrics or null
+     */
+    public static void setMetrics(RxMetrics m) {
+        metrics = m;
+    }
+
+    /**
+     * @return installed metrics or null
+     */
+    public static RxMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Called on assembly of an Observable. The stage is named after the first caller outside of
+     * {@code RxObservable.create}, of constructors and of the package-private helpers of the library, such as
+     * {@code MapOperator.apply}; the name is only resolved while metrics are installed.
+     *
+     * @return recorder of the stage or null
+     */
+    public static RxMetrics.StageRecorder onAssembly() {
+        RxMetrics m = metrics;
+        if (m == null) {
+            return null;
+        }
+        return m.stage(WALKER.walk(s -> s
+                .filter(RxHooks::isStage)
+                .findFirst()
+                .map(f -> f.getDeclaringClass().getSimpleName() + "." + f.getMethodName())
+                .orElse("unknown")));
+    }
+
+    private static boolean isStage(StackWalker.StackFrame f) {
+        Class<?> c = f.getDeclaringClass();
+        if (c == RxHooks.class || f.getMethodName().equals("<init>")
+                || c == RxObservable.class && f.getMethodName().equals("create")) {
+            return false;
+        }
+        return Modifier.isPublic(c.getModifiers()) || !c.getPackageName().startsWith("com.rx.");
+    }
+
+    /**
+     * Called when a task is handed over to a scheduler or a worker. Emits {@link TaskScheduledEvent}
+     * and wraps the task when metrics are installed or {@link TaskExecutedEvent} is being recorded.
+     *
+     * @param scheduler name of the scheduler
+     * @param task      task
+     * @return the task itself, or a wrapper measuring its wait and run time
+     */
+    public static Runnable onSchedule(String scheduler, Runnable task) {
+        TaskScheduledEvent scheduled = new TaskScheduledEvent();
+        if (scheduled.shouldCommit()) {
+            scheduled.scheduler = scheduler;
+            scheduled.commit();
+        }
+        RxMetrics m = metrics;
+        RxMetrics.SchedulerRecorder r = m == null ? null : m.scheduler(scheduler);
+        if (r == null) {
+            if (!new TaskExecutedEvent().isEnabled()) {
+                return task;
+            }
+        } else {
+            r.taskQueued();
+        }
+        return new InstrumentedTask(scheduler, task, r);
+    }
+
+    /**
+     * Called when a queued task is discarded without running.
+     *
+     * @param task task returned by {@link #onSchedule(String, Runnable)}
+     */
+    public static void onDropped(Runnable task) {
+        if (task instanceof InstrumentedTask t && t.recorder != null) {
+            t.recorder.taskDropped();
+        }
+    }
+
+    /**
+     * Called when a worker is created.
+     *
+     * @param scheduler name of the scheduler
+     * @return recorder to report the disposal of the worker to, or null
+     */
+    public static RxMetrics.SchedulerRecorder onWorkerCreated(String scheduler) {
+        RxMetrics m = metrics;
+        if (m == null) {
+            return null;
+        }
+        RxMetrics.SchedulerRecorder r = m.scheduler(scheduler);
+        if (r != null) {
+            r.workerCreated();
+        }
+        return r;
+    }
+
+    private static final class InstrumentedTask implements Runnable {
+        private final String scheduler;
+        private final Runnable task;
+        private final RxMetrics.SchedulerRecorder recorder;
+        private final long queuedAt = System.nanoTime();
+
+        InstrumentedTask(String scheduler, Runnable task, RxMetrics.SchedulerRecorder recorder) {
+            this.scheduler = scheduler;
+            this.task = task;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            if (recorder != null) {
+                recorder.taskStarted(start - queuedAt);
+            }
+            TaskExecutedEvent event = new TaskExecutedEvent();
+            event.begin();
+            try {
+                task.run();
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.scheduler = scheduler;
+                    event.queueTime = start - queuedAt;
+                    event.commit();
+                }
+                if (recorder != null) {
+                    recorder.taskFinished(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
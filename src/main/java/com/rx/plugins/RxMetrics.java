@@ -0,0 +1,68 @@
+package com.rx.plugins;
+
+/**
+ * Metrics SPI: receives the events of the pipelines and the schedulers once installed with
+ * {@link RxHooks#setMetrics(RxMetrics)}.
+ * <p>
+ * Recorders are requested at assembly, subscription or scheduling time and then called on the hot path,
+ * possibly from many threads at once, so they must be thread-safe and cheap.
+ */
+public interface RxMetrics {
+
+    /**
+     * Returns the recorder for an assembled stage of a pipeline.
+     *
+     * @param name name of the stage: the class and method that created the Observable, e.g. {@code MapOperator.apply}
+     * @return recorder for the stage, or null to leave the stage uninstrumented
+     */
+    StageRecorder stage(String name);
+
+    /**
+     * Returns the recorder for a scheduler.
+     *
+     * @param name name of the scheduler, e.g. {@code computation}
+     * @return recorder for the scheduler, or null to leave the scheduler uninstrumented
+     */
+    SchedulerRecorder scheduler(String name);
+
+    /**
+     * Events of one stage; every subscription to the stage reports to the same recorder.
+     */
+    interface StageRecorder {
+        /**
+         * @param latencyNanos time the downstream spent handling the element
+         */
+        void onNext(long latencyNanos);
+
+        void onError();
+
+        void onComplete();
+    }
+
+    /**
+     * Events of one scheduler. Queue depth is the number of queued tasks that were neither started nor dropped;
+     * active workers are the created workers that were not disposed yet.
+     */
+    interface SchedulerRecorder {
+        void taskQueued();
+
+        /**
+         * @param waitNanos time the task spent in the queue
+         */
+        void taskStarted(long waitNanos);
+
+        /**
+         * @param runNanos time the task ran
+         */
+        void taskFinished(long runNanos);
+
+        /**
+         * A queued task was discarded without running, because its worker was disposed.
+         */
+        void taskDropped();
+
+        void workerCreated();
+
+        void workerDisposed();
+    }
+}
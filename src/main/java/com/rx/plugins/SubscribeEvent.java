@@ -0,0 +1,24 @@
+package com.rx.plugins;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning {@code RxObservable.subscribe}: for a synchronous source it covers the whole emission.
+ */
+@Name("com.rx.Subscribe")
+@Label("Subscribe")
+@Category("Reactive")
+@Description("Subscription to an RxObservable")
+@Enabled(false)
+public final class SubscribeEvent extends Event {
+    @Label("Source")
+    public String source;
+
+    @Label("Observer")
+    public String observer;
+}
@@ -0,0 +1,28 @@
+package com.rx.plugins;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event spanning the run of a scheduled task, with the time it waited in the queue.
+ */
+@Name("com.rx.TaskExecuted")
+@Label("Task Executed")
+@Category("Reactive")
+@Description("Task run by an RxScheduler")
+@Enabled(false)
+@StackTrace(false)
+public final class TaskExecutedEvent extends Event {
+    @Label("Scheduler")
+    public String scheduler;
+
+    @Label("Queue Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueTime;
+}
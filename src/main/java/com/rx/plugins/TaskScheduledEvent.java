@@ -0,0 +1,23 @@
+package com.rx.plugins;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of a task handed over to a scheduler or a worker.
+ */
+@Name("com.rx.TaskScheduled")
+@Label("Task Scheduled")
+@Category("Reactive")
+@Description("Task queued on an RxScheduler")
+@Enabled(false)
+@StackTrace(false)
+public final class TaskScheduledEvent extends Event {
+    @Label("Scheduler")
+    public String scheduler;
+}
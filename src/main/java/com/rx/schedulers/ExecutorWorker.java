@@ -0,0 +1,101 @@
+package com.rx.schedulers;
+
+import com.rx.internal.MpscLinkedQueue;
+import com.rx.plugins.RxHooks;
+import com.rx.plugins.RxMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker that serializes its tasks through a lock-free MPSC queue and runs them
+ * in batches as a single task of the underlying executor.
+ * <p>
+ * A worker created with the name of its scheduler reports its tasks and its lifetime to {@link RxHooks};
+ * one without a name relies on the scheduler it submits to.
+ */
+final class ExecutorWorker extends RxWorker implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(ExecutorWorker.class);
+
+    private final Executor executor;
+    private final String scheduler;
+    private final RxMetrics.SchedulerRecorder recorder;
+    private final MpscLinkedQueue<Runnable> queue = new MpscLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    ExecutorWorker(Executor executor) {
+        this(executor, null);
+    }
+
+    ExecutorWorker(Executor executor, String scheduler) {
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.recorder = scheduler == null ? null : RxHooks.onWorkerCreated(scheduler);
+    }
+
+    @Override
+    public void schedule(Runnable task) {
+        if (isDisposed()) {
+            return;
+        }
+        queue.offer(scheduler == null ? task : RxHooks.onSchedule(scheduler, task));
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // the batch will never run, so the worker cannot accept tasks anymore
+                dispose();
+                drop();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        for (; ; ) {
+            for (; ; ) {
+                if (isDisposed()) {
+                    drop();
+                    return;
+                }
+                Runnable task = queue.poll();
+                if (task == null) {
+                    break;
+                }
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    log.error("Task failed on worker", t);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        boolean first = tryDispose();
+        super.dispose();
+        if (first && recorder != null) {
+            recorder.workerDisposed();
+        }
+        if (wip.getAndIncrement() == 0) {
+            drop();
+        }
+    }
+
+    private void drop() {
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            RxHooks.onDropped(task);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.rx.schedulers;
+
+import com.rx.core.RxDisposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-rate repetition on top of delayed scheduling: after each run the next run is scheduled
+ * for {@code start + n * period}, so the rate does not drift with the duration of the task.
+ * A task that throws is not repeated.
+ */
+final class PeriodicTask extends RxDisposable implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(PeriodicTask.class);
+
+    /**
+     * Delayed scheduling of the owner (scheduler or worker).
+     */
+    @FunctionalInterface
+    interface Delayer {
+        RxDisposable schedule(Runnable task, long delayNanos);
+    }
+
+    private final Runnable task;
+    private final long periodNanos;
+    private final long start;
+    private final LongSupplier clock;
+    private final Delayer delayer;
+    private final AtomicReference<RxDisposable> current = new AtomicReference<>();
+    private long count;
+
+    private PeriodicTask(Runnable task, long start, long periodNanos, LongSupplier clock, Delayer delayer) {
+        this.task = task;
+        this.start = start;
+        this.periodNanos = periodNanos;
+        this.clock = clock;
+        this.delayer = delayer;
+    }
+
+    /**
+     * @param task         task
+     * @param initialDelay delay of the first run
+     * @param period       period between the runs
+     * @param unit         unit of the delay and the period
+     * @param clock        current time of the owner in nanoseconds
+     * @param delayer      delayed scheduling of the owner
+     * @return Disposable stopping the repetition
+     */
+    static RxDisposable start(Runnable task, long initialDelay, long period, TimeUnit unit, LongSupplier clock,
+                              Delayer delayer) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        long delay = unit.toNanos(initialDelay);
+        PeriodicTask pt = new PeriodicTask(task, clock.getAsLong() + delay, unit.toNanos(period), clock, delayer);
+        pt.replace(delayer.schedule(pt, delay));
+        return pt;
+    }
+
+    @Override
+    public void run() {
+        if (isDisposed()) {
+            return;
+        }
+        try {
+            task.run();
+        } catch (Throwable t) {
+            log.error("Periodic task failed, stopping it", t);
+            dispose();
+            return;
+        }
+        long next = start + ++count * periodNanos;
+        replace(delayer.schedule(this, next - clock.getAsLong()));
+    }
+
+    private void replace(RxDisposable d) {
+        current.set(d);
+        if (isDisposed()) {
+            RxDisposable c = current.getAndSet(null);
+            if (c != null) {
+                c.dispose();
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (tryDispose()) {
+            RxDisposable c = current.getAndSet(null);
+            if (c != null) {
+                c.dispose();
+            }
+        }
+    }
+}
@@ -1,18 +1,97 @@
 package com.rx.schedulers;
 
+import com.rx.plugins.RxHooks;
+
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Fixed thread pool scheduler.
+ * Scheduler for CPU-bound work: a fixed set of single-threaded event loops, one per core by default.
+ * Each worker is pinned to one event loop, so a stream stays on the same thread.
+ * The default instances share the event loops; a configured instance owns its loops, each with a bounded queue.
  */
 public class RxComputationScheduler implements RxScheduler {
-    private static final int N = Runtime.getRuntime().availableProcessors();
-    private static final ExecutorService EXEC = Executors.newFixedThreadPool(N);
+    private static final String NAME = "computation";
+    private static final ExecutorService[] SHARED = new ExecutorService[Runtime.getRuntime().availableProcessors()];
+    private static final AtomicInteger SHARED_NEXT = new AtomicInteger();
+
+    static {
+        for (int i = 0; i < SHARED.length; i++) {
+            SHARED[i] = Executors.newSingleThreadExecutor(SchedulerExecutors.threadFactory("rx-" + NAME + "-" + (i + 1)));
+        }
+    }
+
+    private final String name;
+    private final ExecutorService[] loops;
+    private final AtomicInteger next;
+
+    /**
+     * Scheduler on the shared event loops; {@link #shutdown()} stops this instance only.
+     */
+    public RxComputationScheduler() {
+        this.name = NAME;
+        this.loops = new ExecutorService[SHARED.length];
+        this.next = SHARED_NEXT;
+        for (int i = 0; i < SHARED.length; i++) {
+            loops[i] = SchedulerExecutors.shared(SHARED[i], NAME);
+        }
+    }
+
+    /**
+     * Scheduler on its own event loops; an idle loop thread stops after a minute and is restarted on demand.
+     *
+     * @param name          name of the scheduler and prefix of its threads
+     * @param threads       number of event loops
+     * @param queueCapacity maximum number of waiting tasks per event loop
+     * @param overflow      strategy applied when the queue of an event loop is full
+     */
+    public RxComputationScheduler(String name, int threads, int queueCapacity, RxOverflowStrategy overflow) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads > 0 required but it was " + threads);
+        }
+        this.name = name;
+        this.loops = new ExecutorService[threads];
+        this.next = new AtomicInteger();
+        for (int i = 0; i < threads; i++) {
+            loops[i] = SchedulerExecutors.pool(1, queueCapacity, overflow, name + "-" + (i + 1));
+        }
+    }
 
     @Override
     public void schedule(Runnable task) {
-        EXEC.submit(task);
+        nextLoop().execute(RxHooks.onSchedule(name, task));
+    }
+
+    @Override
+    public RxWorker createWorker() {
+        return new ExecutorWorker(nextLoop(), name);
     }
-}
 
+    @Override
+    public void shutdown() {
+        for (ExecutorService loop : loops) {
+            loop.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        for (ExecutorService loop : loops) {
+            if (!loop.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return SchedulerExecutors.awaitTermination(loops, timeout, unit);
+    }
+
+    private ExecutorService nextLoop() {
+        return loops[Math.floorMod(next.getAndIncrement(), loops.length)];
+    }
+}
@@ -1,17 +1,66 @@
 package com.rx.schedulers;
 
+import com.rx.plugins.RxHooks;
+
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Scheduler for I/O-threads (cached thread pool).
+ * Scheduler for I/O-threads. The default instances share a cached thread pool; a configured instance
+ * owns a pool of at most {@code maxThreads} threads with a bounded queue.
  */
 public class RxIOScheduler implements RxScheduler {
-    private static final ExecutorService EXEC = Executors.newCachedThreadPool();
+    private static final String NAME = "io";
+    private static final ExecutorService SHARED =
+            Executors.newCachedThreadPool(SchedulerExecutors.threadFactory("rx-" + NAME));
+
+    private final String name;
+    private final ExecutorService executor;
+
+    /**
+     * Scheduler on the shared cached thread pool; {@link #shutdown()} stops this instance only.
+     */
+    public RxIOScheduler() {
+        this.name = NAME;
+        this.executor = SchedulerExecutors.shared(SHARED, NAME);
+    }
+
+    /**
+     * Scheduler on its own pool; idle threads stop after a minute.
+     *
+     * @param name          name of the scheduler and prefix of its threads
+     * @param maxThreads    maximum number of threads
+     * @param queueCapacity maximum number of waiting tasks
+     * @param overflow      strategy applied when the queue is full
+     */
+    public RxIOScheduler(String name, int maxThreads, int queueCapacity, RxOverflowStrategy overflow) {
+        this.name = name;
+        this.executor = SchedulerExecutors.pool(maxThreads, queueCapacity, overflow, name);
+    }
 
     @Override
     public void schedule(Runnable task) {
-        EXEC.submit(task);
+        executor.execute(RxHooks.onSchedule(name, task));
+    }
+
+    @Override
+    public RxWorker createWorker() {
+        return new ExecutorWorker(executor, name);
     }
-}
 
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+}
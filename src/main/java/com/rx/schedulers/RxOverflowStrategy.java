@@ -0,0 +1,26 @@
+package com.rx.schedulers;
+
+/**
+ * What a scheduler with a bounded queue does with a new task when its queue is full.
+ * <p>
+ * Worker batches are never dropped, because a worker whose batch is lost stops running tasks:
+ * under {@link #DROP_OLDEST} and {@link #DROP_LATEST} they wait for space like under {@link #BLOCK}.
+ */
+public enum RxOverflowStrategy {
+    /**
+     * The scheduling thread waits until there is space in the queue.
+     */
+    BLOCK,
+    /**
+     * The oldest queued task is discarded to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * The new task is discarded.
+     */
+    DROP_LATEST,
+    /**
+     * Scheduling fails with {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    ERROR
+}
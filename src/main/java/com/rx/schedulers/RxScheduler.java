@@ -1,7 +1,17 @@
 package com.rx.schedulers;
 
+import com.rx.core.RxDisposable;
+
+import java.util.concurrent.TimeUnit;
+
 /**
- * Scheduler interface
+ * Scheduler interface.
+ * <p>
+ * The built-in schedulers created with their default constructors share one executor per kind, with
+ * unbounded queues; the other constructors create a private executor with a bounded queue and
+ * an {@link RxOverflowStrategy}. Shutting a scheduler down shuts its private executor down; a scheduler on a
+ * shared executor only stops accepting tasks, the executor keeps serving the other schedulers of the kind.
+ * All threads are named daemon threads.
  */
 public interface RxScheduler {
     /**
@@ -10,5 +20,76 @@ public interface RxScheduler {
      * @param task Runnable task
      */
     void schedule(Runnable task);
-}
 
+    /**
+     * Schedule task after the delay. The default implementation waits on the shared hashed-wheel timer
+     * and then hands the task over to {@link #schedule(Runnable)}.
+     *
+     * @param task  Runnable task
+     * @param delay delay, zero or negative means no delay
+     * @param unit  unit of the delay
+     * @return Disposable cancelling the task
+     */
+    default RxDisposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return ScheduledTask.schedule(this::schedule, task, delay, unit, null);
+    }
+
+    /**
+     * Schedule task at a fixed rate. A run never overlaps the previous one; a task that throws is not repeated.
+     *
+     * @param task         Runnable task
+     * @param initialDelay delay of the first run
+     * @param period       period between the runs
+     * @param unit         unit of the delay and the period
+     * @return Disposable stopping the repetition
+     */
+    default RxDisposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return PeriodicTask.start(task, initialDelay, period, unit, () -> now(TimeUnit.NANOSECONDS),
+                (t, delay) -> schedule(t, delay, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Current time of the scheduler; time operators measure intervals with it.
+     *
+     * @param unit unit of the result
+     * @return monotonic time in the given unit
+     */
+    default long now(TimeUnit unit) {
+        return unit.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops accepting tasks; the tasks already queued still run. Does nothing for schedulers without threads.
+     */
+    default void shutdown() {
+    }
+
+    /**
+     * @return true, if the scheduler has been shut down
+     */
+    default boolean isShutdown() {
+        return false;
+    }
+
+    /**
+     * Waits until the queued tasks have finished after {@link #shutdown()}.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return true, if the scheduler terminated, false if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    default boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return true;
+    }
+
+    /**
+     * Creates a serial worker. Tasks of one worker run in FIFO order, one at a time.
+     * The default implementation serializes tasks on top of {@link #schedule(Runnable)}.
+     *
+     * @return new worker, must be disposed when no longer needed
+     */
+    default RxWorker createWorker() {
+        return new ExecutorWorker(this::schedule);
+    }
+}
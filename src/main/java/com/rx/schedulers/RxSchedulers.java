@@ -0,0 +1,124 @@
+package com.rx.schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of named schedulers. It starts with the shared instances {@code io}, {@code computation},
+ * {@code single} and {@code virtual}; applications register their configured schedulers under their own names
+ * (or replace the standard ones) and shut them all down at exit.
+ */
+public final class RxSchedulers {
+    public static final String IO = "io";
+    public static final String COMPUTATION = "computation";
+    public static final String SINGLE = "single";
+    public static final String VIRTUAL = "virtual";
+
+    private static final Map<String, RxScheduler> REGISTRY = new ConcurrentHashMap<>();
+
+    private static volatile List<RxScheduler> stopped = List.of();
+
+    static {
+        registerDefaults();
+    }
+
+    private RxSchedulers() {
+    }
+
+    public static RxScheduler io() {
+        return get(IO);
+    }
+
+    public static RxScheduler computation() {
+        return get(COMPUTATION);
+    }
+
+    public static RxScheduler single() {
+        return get(SINGLE);
+    }
+
+    public static RxScheduler virtual() {
+        return get(VIRTUAL);
+    }
+
+    /**
+     * @param name name of the scheduler
+     * @return registered scheduler
+     * @throws IllegalArgumentException if no scheduler is registered under the name
+     */
+    public static RxScheduler get(String name) {
+        RxScheduler s = REGISTRY.get(name);
+        if (s == null) {
+            throw new IllegalArgumentException("No scheduler registered as " + name);
+        }
+        return s;
+    }
+
+    /**
+     * Registers the scheduler under the name, replacing the previous one, which is not shut down.
+     *
+     * @param name      name of the scheduler
+     * @param scheduler scheduler
+     * @return previously registered scheduler, or null
+     */
+    public static RxScheduler register(String name, RxScheduler scheduler) {
+        return REGISTRY.put(name, scheduler);
+    }
+
+    /**
+     * @param name name of the scheduler
+     * @return removed scheduler, or null
+     */
+    public static RxScheduler unregister(String name) {
+        return REGISTRY.remove(name);
+    }
+
+    /**
+     * @return snapshot of the registered schedulers by name
+     */
+    public static Map<String, RxScheduler> all() {
+        return Map.copyOf(REGISTRY);
+    }
+
+    /**
+     * Shuts down every registered scheduler; their queued tasks still run. The standard names are then bound to
+     * fresh default instances, so {@link #io()}, {@link #computation()}, {@link #single()} and {@link #virtual()}
+     * keep working; the shared executors behind them are never shut down.
+     */
+    public static synchronized void shutdown() {
+        List<RxScheduler> schedulers = new ArrayList<>(REGISTRY.values());
+        for (RxScheduler s : schedulers) {
+            s.shutdown();
+        }
+        stopped = schedulers;
+        registerDefaults();
+    }
+
+    private static void registerDefaults() {
+        REGISTRY.put(IO, new RxIOScheduler());
+        REGISTRY.put(COMPUTATION, new RxComputationScheduler());
+        REGISTRY.put(SINGLE, new RxSingleScheduler());
+        REGISTRY.put(VIRTUAL, new RxVirtualThreadScheduler());
+    }
+
+    /**
+     * Waits for the schedulers shut down by the last {@link #shutdown()} to terminate, within one deadline.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return true, if all of them terminated
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (RxScheduler s : stopped) {
+            if (!s.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,17 +1,65 @@
 package com.rx.schedulers;
 
+import com.rx.plugins.RxHooks;
+
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Single thread scheduler
+ * Single thread scheduler. The default instances share one thread; a configured instance owns
+ * its thread and a bounded queue.
  */
 public class RxSingleScheduler implements RxScheduler {
-    private static final ExecutorService EXEC = Executors.newSingleThreadExecutor();
+    private static final String NAME = "single";
+    private static final ExecutorService SHARED =
+            Executors.newSingleThreadExecutor(SchedulerExecutors.threadFactory("rx-" + NAME));
+
+    private final String name;
+    private final ExecutorService executor;
+
+    /**
+     * Scheduler on the shared thread; {@link #shutdown()} stops this instance only.
+     */
+    public RxSingleScheduler() {
+        this.name = NAME;
+        this.executor = SchedulerExecutors.shared(SHARED, NAME);
+    }
+
+    /**
+     * Scheduler on its own thread, which stops after a minute without work.
+     *
+     * @param name          name of the scheduler and prefix of its thread
+     * @param queueCapacity maximum number of waiting tasks
+     * @param overflow      strategy applied when the queue is full
+     */
+    public RxSingleScheduler(String name, int queueCapacity, RxOverflowStrategy overflow) {
+        this.name = name;
+        this.executor = SchedulerExecutors.pool(1, queueCapacity, overflow, name);
+    }
 
     @Override
     public void schedule(Runnable task) {
-        EXEC.submit(task);
+        executor.execute(RxHooks.onSchedule(name, task));
+    }
+
+    @Override
+    public RxWorker createWorker() {
+        return new ExecutorWorker(executor, name);
     }
-}
 
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,141 @@
+package com.rx.schedulers;
+
+import com.rx.core.RxDisposable;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler with virtual time for deterministic tests of time operators.
+ * <p>
+ * Nothing runs on its own: tasks are queued by their due time and executed on the calling thread
+ * by {@link #advanceTimeBy(long, TimeUnit)}, {@link #advanceTimeTo(long, TimeUnit)} and
+ * {@link #triggerActions()}. Tasks due at the same time run in the order they were scheduled.
+ */
+public class RxTestScheduler implements RxScheduler {
+    private final PriorityQueue<TimedTask> queue = new PriorityQueue<>();
+    private long time;
+    private long counter;
+
+    @Override
+    public void schedule(Runnable task) {
+        schedule(task, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public RxDisposable schedule(Runnable task, long delay, TimeUnit unit) {
+        TimedTask t;
+        synchronized (this) {
+            t = new TimedTask(task, time + Math.max(0, unit.toNanos(delay)), counter++);
+            queue.add(t);
+        }
+        return t;
+    }
+
+    @Override
+    public synchronized long now(TimeUnit unit) {
+        return unit.convert(time, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public RxWorker createWorker() {
+        return new TestWorker();
+    }
+
+    /**
+     * Moves the virtual time forward, running every task that becomes due, in time order.
+     *
+     * @param delay time to advance by
+     * @param unit  unit of the delay
+     */
+    public void advanceTimeBy(long delay, TimeUnit unit) {
+        long target;
+        synchronized (this) {
+            target = time + unit.toNanos(delay);
+        }
+        advanceTimeTo(target, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Moves the virtual time to the given point, running every task that becomes due, in time order.
+     *
+     * @param target point of time
+     * @param unit   unit of the point
+     */
+    public void advanceTimeTo(long target, TimeUnit unit) {
+        long targetNanos = unit.toNanos(target);
+        for (; ; ) {
+            TimedTask t;
+            synchronized (this) {
+                t = queue.peek();
+                if (t == null || t.due > targetNanos) {
+                    time = Math.max(time, targetNanos);
+                    return;
+                }
+                queue.poll();
+                time = Math.max(time, t.due);
+            }
+            if (!t.isDisposed()) {
+                t.task.run();
+            }
+        }
+    }
+
+    /**
+     * Runs the tasks that are due at the current virtual time.
+     */
+    public void triggerActions() {
+        advanceTimeBy(0, TimeUnit.NANOSECONDS);
+    }
+
+    private static final class TimedTask extends RxDisposable implements Comparable<TimedTask> {
+        private final Runnable task;
+        private final long due;
+        private final long order;
+
+        TimedTask(Runnable task, long due, long order) {
+            this.task = task;
+            this.due = due;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(TimedTask o) {
+            int c = Long.compare(due, o.due);
+            return c != 0 ? c : Long.compare(order, o.order);
+        }
+    }
+
+    /**
+     * Worker on virtual time; the tasks of a disposed worker are skipped.
+     */
+    private final class TestWorker extends RxWorker {
+        @Override
+        public void schedule(Runnable task) {
+            schedule(task, 0, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public RxDisposable schedule(Runnable task, long delay, TimeUnit unit) {
+            if (isDisposed()) {
+                return disposed();
+            }
+            return RxTestScheduler.this.schedule(() -> {
+                if (!isDisposed()) {
+                    task.run();
+                }
+            }, delay, unit);
+        }
+
+        @Override
+        public long now(TimeUnit unit) {
+            return RxTestScheduler.this.now(unit);
+        }
+
+        private RxDisposable disposed() {
+            RxDisposable d = new RxDisposable();
+            d.dispose();
+            return d;
+        }
+    }
+}
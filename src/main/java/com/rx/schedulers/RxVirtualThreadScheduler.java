@@ -0,0 +1,67 @@
+package com.rx.schedulers;
+
+import com.rx.plugins.RxHooks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler for blocking I/O: every task runs on its own virtual thread,
+ * so thousands of blocked subscriptions do not hold thousands of platform threads.
+ * The default instances share one executor; a named instance owns its executor.
+ */
+public class RxVirtualThreadScheduler implements RxScheduler {
+    private static final String NAME = "virtual";
+    private static final ExecutorService SHARED = create("rx-" + NAME);
+
+    private final String name;
+    private final ExecutorService executor;
+
+    /**
+     * Scheduler on the shared executor; {@link #shutdown()} stops this instance only.
+     */
+    public RxVirtualThreadScheduler() {
+        this.name = NAME;
+        this.executor = SchedulerExecutors.shared(SHARED, NAME);
+    }
+
+    /**
+     * Scheduler on its own executor.
+     *
+     * @param name name of the scheduler and prefix of its threads
+     */
+    public RxVirtualThreadScheduler(String name) {
+        this.name = name;
+        this.executor = create(name);
+    }
+
+    private static ExecutorService create(String name) {
+        return Executors.newThreadPerTaskExecutor(SchedulerExecutors.virtualThreadFactory(name));
+    }
+
+    @Override
+    public void schedule(Runnable task) {
+        executor.execute(RxHooks.onSchedule(name, task));
+    }
+
+    @Override
+    public RxWorker createWorker() {
+        return new ExecutorWorker(executor, name);
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,64 @@
+package com.rx.schedulers;
+
+import com.rx.core.RxCompositeDisposable;
+import com.rx.core.RxDisposable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serial worker of a scheduler: tasks scheduled on the same worker are executed
+ * one at a time, in FIFO order. Disposing the worker drops the tasks that have not started yet
+ * and cancels the delayed ones.
+ */
+public abstract class RxWorker extends RxDisposable {
+    private final RxCompositeDisposable delayed = new RxCompositeDisposable();
+
+    /**
+     * Schedule task on this worker
+     *
+     * @param task Runnable task
+     */
+    public abstract void schedule(Runnable task);
+
+    /**
+     * Schedule task on this worker after the delay, waiting on the shared hashed-wheel timer.
+     *
+     * @param task  Runnable task
+     * @param delay delay, zero or negative means no delay
+     * @param unit  unit of the delay
+     * @return Disposable cancelling the task
+     */
+    public RxDisposable schedule(Runnable task, long delay, TimeUnit unit) {
+        return ScheduledTask.schedule(this::schedule, task, delay, unit, delayed);
+    }
+
+    /**
+     * Schedule task on this worker at a fixed rate, until it or the worker is disposed.
+     *
+     * @param task         Runnable task
+     * @param initialDelay delay of the first run
+     * @param period       period between the runs
+     * @param unit         unit of the delay and the period
+     * @return Disposable stopping the repetition
+     */
+    public RxDisposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return PeriodicTask.start(task, initialDelay, period, unit, () -> now(TimeUnit.NANOSECONDS),
+                (t, delay) -> schedule(t, delay, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Current time of the worker's scheduler.
+     *
+     * @param unit unit of the result
+     * @return monotonic time in the given unit
+     */
+    public long now(TimeUnit unit) {
+        return unit.convert(System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        delayed.dispose();
+    }
+}
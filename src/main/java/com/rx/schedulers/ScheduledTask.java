@@ -0,0 +1,79 @@
+package com.rx.schedulers;
+
+import com.rx.core.RxCompositeDisposable;
+import com.rx.core.RxDisposable;
+import com.rx.internal.HashedWheelTimer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delayed task: the shared {@link HashedWheelTimer} hands it over to the executor when the delay
+ * has elapsed. Disposing it cancels the timeout, or skips the task if it is already handed over.
+ */
+final class ScheduledTask extends RxDisposable implements Runnable {
+    private final Runnable task;
+    private final RxCompositeDisposable parent;
+    private volatile RxDisposable timeout;
+
+    private ScheduledTask(Runnable task, RxCompositeDisposable parent) {
+        this.task = task;
+        this.parent = parent;
+    }
+
+    /**
+     * @param executor runs the task once the delay has elapsed
+     * @param task     task
+     * @param delay    delay, zero or negative means run now
+     * @param unit     unit of the delay
+     * @param parent   group to track the task in until it runs, or null
+     * @return Disposable cancelling the task
+     */
+    static RxDisposable schedule(Consumer<Runnable> executor, Runnable task, long delay, TimeUnit unit,
+                                 RxCompositeDisposable parent) {
+        ScheduledTask st = new ScheduledTask(task, parent);
+        if (parent != null && !parent.add(st)) {
+            return st;
+        }
+        if (delay <= 0) {
+            executor.accept(st);
+        } else {
+            st.setTimeout(HashedWheelTimer.shared().newTimeout(() -> executor.accept(st), delay, unit));
+        }
+        return st;
+    }
+
+    private void setTimeout(RxDisposable t) {
+        timeout = t;
+        if (isDisposed()) {
+            t.dispose();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (isDisposed()) {
+            return;
+        }
+        try {
+            task.run();
+        } finally {
+            if (tryDispose() && parent != null) {
+                parent.remove(this);
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (tryDispose()) {
+            RxDisposable t = timeout;
+            if (t != null) {
+                t.dispose();
+            }
+            if (parent != null) {
+                parent.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.rx.schedulers;
+
+import com.rx.plugins.RxHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors behind the schedulers: named daemon threads, optionally bounded queues with an overflow strategy.
+ */
+final class SchedulerExecutors {
+    private static final Logger log = LoggerFactory.getLogger(SchedulerExecutors.class);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private SchedulerExecutors() {
+    }
+
+    /**
+     * @param name prefix of the thread names, threads are called {@code name-1}, {@code name-2}, ...
+     * @return factory of daemon threads that log the failures of their tasks
+     */
+    static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread t = new Thread(task, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            t.setUncaughtExceptionHandler((thread, e) -> log.error("Task failed on {}", thread.getName(), e));
+            return t;
+        };
+    }
+
+    /**
+     * @param name prefix of the thread names
+     * @return factory of virtual threads that log the failures of their tasks
+     */
+    static ThreadFactory virtualThreadFactory(String name) {
+        return Thread.ofVirtual()
+                .name(name + "-", 1)
+                .uncaughtExceptionHandler((thread, e) -> log.error("Task failed on {}", thread.getName(), e))
+                .factory();
+    }
+
+    /**
+     * Pool of up to {@code threads} threads that stop after a minute without work, with a queue
+     * of {@code capacity} tasks.
+     *
+     * @param threads  maximum number of threads
+     * @param capacity capacity of the queue, {@link Integer#MAX_VALUE} for unbounded
+     * @param overflow strategy applied when the queue is full
+     * @param name     name of the scheduler and prefix of its threads
+     * @return new executor
+     */
+    static ExecutorService pool(int threads, int capacity, RxOverflowStrategy overflow, String name) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads > 0 required but it was " + threads);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity > 0 required but it was " + capacity);
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(capacity), threadFactory(name), new OverflowHandler(overflow, name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Waits for all the executors to terminate within one deadline.
+     *
+     * @return true, if all of them terminated
+     */
+    static boolean awaitTermination(ExecutorService[] executors, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ExecutorService e : executors) {
+            if (!e.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * View of a process-wide executor for one scheduler instance. Shutting the view down only stops it from
+     * accepting tasks; the shared executor keeps serving the other instances, so one instance cannot break
+     * the rest. Tasks already submitted are not tracked, so the view counts as terminated once it is shut down.
+     *
+     * @param executor shared executor, never shut down
+     * @param name     name of the scheduler
+     * @return new view
+     */
+    static ExecutorService shared(ExecutorService executor, String name) {
+        return new SharedView(executor, name);
+    }
+
+    private static final class SharedView extends AbstractExecutorService {
+        private final ExecutorService executor;
+        private final String name;
+        private volatile boolean shutdown;
+
+        SharedView(ExecutorService executor, String name) {
+            this.executor = executor;
+            this.name = name;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Scheduler " + name + " is shut down");
+            }
+            executor.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return shutdown;
+        }
+    }
+
+    private static final class OverflowHandler implements RejectedExecutionHandler {
+        private final RxOverflowStrategy strategy;
+        private final String name;
+
+        OverflowHandler(RxOverflowStrategy strategy, String name) {
+            this.strategy = strategy;
+            this.name = name;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Scheduler " + name + " is shut down");
+            }
+            switch (strategy) {
+                case ERROR -> throw new RejectedExecutionException("Queue of scheduler " + name + " is full");
+                case DROP_LATEST -> {
+                    if (r instanceof ExecutorWorker) {
+                        put(r, executor);
+                    } else {
+                        drop(r);
+                    }
+                }
+                case DROP_OLDEST -> {
+                    Runnable oldest = pollDroppable(executor.getQueue());
+                    if (oldest == null) {
+                        put(r, executor);
+                    } else {
+                        drop(oldest);
+                        executor.execute(r);
+                    }
+                }
+                default -> put(r, executor);
+            }
+        }
+
+        private Runnable pollDroppable(BlockingQueue<Runnable> queue) {
+            for (Runnable t : queue) {
+                if (!(t instanceof ExecutorWorker) && queue.remove(t)) {
+                    return t;
+                }
+            }
+            return null;
+        }
+
+        private void put(Runnable r, ThreadPoolExecutor executor) {
+            try {
+                executor.getQueue().put(r);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for the queue of scheduler " + name, e);
+            }
+        }
+
+        private void drop(Runnable r) {
+            log.debug("Queue of scheduler {} is full, task dropped", name);
+            RxHooks.onDropped(r);
+        }
+    }
+}
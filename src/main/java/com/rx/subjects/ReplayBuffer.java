@@ -0,0 +1,240 @@
+package com.rx.subjects;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxEmitter;
+import com.rx.schedulers.RxScheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Buffer of {@link RxReplaySubject}: the elements are stored in a linked list of fixed-size array segments,
+ * written by a single producer and read by any number of readers, each holding only a cursor.
+ * <p>
+ * The producer publishes an element by incrementing the volatile {@code produced} counter after writing
+ * its slot. Eviction by size or age only advances the head, from which new readers start: a segment
+ * becomes garbage once the head and every reader have left it. Up to one segment of evicted elements may
+ * therefore stay referenced.
+ */
+final class ReplayBuffer<T> {
+    static final int SEGMENT_SIZE = 32;
+    private static final Object NULL = new Object();
+    /**
+     * Approximate size of a segment object and of its arrays, with compressed references.
+     */
+    private static final long SEGMENT_BYTES = 24 + 16 + 4L * SEGMENT_SIZE;
+    private static final long TIMES_BYTES = 16 + 8L * SEGMENT_SIZE;
+
+    private final long maxSize;
+    private final long maxAgeNanos;
+    private final RxScheduler scheduler;
+    private volatile Segment tail;
+    private volatile Segment headSegment;
+    private volatile long headIndex;
+    private volatile long produced;
+    private volatile boolean done;
+    private Throwable error;
+
+    /**
+     * @param maxSize     maximum number of retained elements
+     * @param maxAgeNanos maximum age of retained elements, ignored without a scheduler
+     * @param scheduler   scheduler providing the time of the elements, or null for no age limit
+     */
+    ReplayBuffer(long maxSize, long maxAgeNanos, RxScheduler scheduler) {
+        this.maxSize = maxSize;
+        this.maxAgeNanos = maxAgeNanos;
+        this.scheduler = scheduler;
+        Segment s = new Segment(0, scheduler != null);
+        this.tail = s;
+        this.headSegment = s;
+    }
+
+    void add(T item) {
+        long now = scheduler != null ? scheduler.now(TimeUnit.NANOSECONDS) : 0;
+        long p = produced;
+        Segment t = tail;
+        int offset = (int) (p - t.base);
+        if (offset == SEGMENT_SIZE) {
+            Segment n = new Segment(p, scheduler != null);
+            t.next = n;
+            tail = n;
+            t = n;
+            offset = 0;
+        }
+        t.values[offset] = item == null ? NULL : item;
+        if (t.times != null) {
+            t.times[offset] = now;
+        }
+        produced = p + 1;
+        trim(p + 1, now);
+    }
+
+    void error(Throwable t) {
+        error = t;
+        done = true;
+    }
+
+    void complete() {
+        done = true;
+    }
+
+    boolean isDone() {
+        return done;
+    }
+
+    Throwable error() {
+        return done ? error : null;
+    }
+
+    /**
+     * @return number of retained elements, including aged ones that were not evicted yet
+     */
+    long size() {
+        return produced - headIndex;
+    }
+
+    /**
+     * @return approximate number of bytes held by the retained segments, not counting the elements themselves
+     */
+    long memoryUsage() {
+        long segments = (tail.base - headSegment.base) / SEGMENT_SIZE + 1;
+        return segments * (SEGMENT_BYTES + (scheduler != null ? TIMES_BYTES : 0));
+    }
+
+    /**
+     * Evicts from the head; the index is published before the segment, so a reader that sees a segment
+     * also sees an index inside or after it.
+     */
+    private void trim(long p, long now) {
+        long h = headIndex;
+        Segment s = headSegment;
+        long limit = p - maxSize;
+        long oldest = now - maxAgeNanos;
+        boolean moved = false;
+        while (h < p) {
+            if (h - s.base == SEGMENT_SIZE) {
+                s = s.next;
+            }
+            if (h >= limit && (s.times == null || s.times[(int) (h - s.base)] >= oldest)) {
+                break;
+            }
+            h++;
+            moved = true;
+        }
+        if (moved) {
+            if (h - s.base == SEGMENT_SIZE && s.next != null) {
+                s = s.next;
+            }
+            headIndex = h;
+            headSegment = s;
+        }
+    }
+
+    /**
+     * Emits to the reader everything it has not seen yet, and the terminal event once all elements are seen.
+     * Concurrent calls for the same reader are serialized by its work-in-progress counter.
+     */
+    @SuppressWarnings("unchecked")
+    void replay(Reader<T> r) {
+        if (r.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        RxEmitter<? super T> downstream = r.downstream;
+        for (; ; ) {
+            Segment s = r.segment;
+            long i = r.index;
+            if (s == null) {
+                s = headSegment;
+                i = headIndex;
+                while (i - s.base >= SEGMENT_SIZE && s.next != null) {
+                    s = s.next;
+                }
+                if (scheduler != null) {
+                    long oldest = scheduler.now(TimeUnit.NANOSECONDS) - maxAgeNanos;
+                    long p = produced;
+                    while (i < p) {
+                        if (i - s.base == SEGMENT_SIZE) {
+                            s = s.next;
+                        }
+                        if (s.times[(int) (i - s.base)] >= oldest) {
+                            break;
+                        }
+                        i++;
+                    }
+                }
+            }
+            for (; ; ) {
+                if (r.isDisposed()) {
+                    r.segment = null;
+                    return;
+                }
+                boolean d = done;
+                long p = produced;
+                if (i == p) {
+                    if (d) {
+                        r.segment = null;
+                        Throwable e = error;
+                        if (e != null) {
+                            downstream.onError(e);
+                        } else {
+                            downstream.onComplete();
+                        }
+                        return;
+                    }
+                    break;
+                }
+                int offset = (int) (i - s.base);
+                if (offset == SEGMENT_SIZE) {
+                    s = s.next;
+                    offset = 0;
+                }
+                Object v = s.values[offset];
+                i++;
+                downstream.onNext(v == NULL ? null : (T) v);
+            }
+            r.segment = s;
+            r.index = i;
+            missed = r.wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    private static final class Segment {
+        private final long base;
+        private final Object[] values = new Object[SEGMENT_SIZE];
+        private final long[] times;
+        private volatile Segment next;
+
+        Segment(long base, boolean timed) {
+            this.base = base;
+            this.times = timed ? new long[SEGMENT_SIZE] : null;
+        }
+    }
+
+    /**
+     * Cursor of one observer: the segment and the index of the next element to emit.
+     */
+    static final class Reader<T> extends RxDisposable {
+        private final RxEmitter<? super T> downstream;
+        private final Consumer<Reader<T>> onDispose;
+        private final AtomicInteger wip = new AtomicInteger();
+        private Segment segment;
+        private long index;
+
+        Reader(RxEmitter<? super T> downstream, Consumer<Reader<T>> onDispose) {
+            this.downstream = downstream;
+            this.onDispose = onDispose;
+        }
+
+        @Override
+        public void dispose() {
+            if (tryDispose()) {
+                onDispose.accept(this);
+            }
+        }
+    }
+}
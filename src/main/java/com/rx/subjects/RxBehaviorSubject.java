@@ -0,0 +1,313 @@
+package com.rx.subjects;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Subject that remembers the latest element: a new observer first receives the latest element
+ * (or the initial value), then the following ones. An observer subscribing after the termination
+ * receives just the terminal event.
+ * <p>
+ * The observers are kept in a copy-on-write array. The latest element is versioned, so an observer
+ * that receives it on subscription while a new element arrives neither misses the new one nor gets
+ * an element twice, and it is never called concurrently.
+ *
+ * @param <T> type of elements
+ */
+public final class RxBehaviorSubject<T> extends RxSubject<T> {
+    private static final Object NULL = new Object();
+    private static final Terminal COMPLETE = new Terminal(null);
+    @SuppressWarnings("rawtypes")
+    private static final BehaviorDisposable[] EMPTY = new BehaviorDisposable[0];
+    @SuppressWarnings("rawtypes")
+    private static final BehaviorDisposable[] TERMINATED = new BehaviorDisposable[0];
+
+    @SuppressWarnings("unchecked")
+    private final AtomicReference<BehaviorDisposable<T>[]> subscribers = new AtomicReference<>(EMPTY);
+    private Object value;
+    private long index;
+
+    private RxBehaviorSubject(Object initial) {
+        this.value = initial;
+    }
+
+    /**
+     * @param <T> type of elements
+     * @return new RxBehaviorSubject without an initial value
+     */
+    public static <T> RxBehaviorSubject<T> create() {
+        return new RxBehaviorSubject<>(null);
+    }
+
+    /**
+     * @param initial element emitted to the observers until the first onNext
+     * @param <T>     type of elements
+     * @return new RxBehaviorSubject with the initial value
+     */
+    public static <T> RxBehaviorSubject<T> createDefault(T initial) {
+        return new RxBehaviorSubject<>(initial == null ? NULL : initial);
+    }
+
+    /**
+     * @return true, if the subject holds an element and has not terminated
+     */
+    public synchronized boolean hasValue() {
+        return value != null && !(value instanceof Terminal);
+    }
+
+    /**
+     * @return latest element, or null if there is none or the subject has terminated
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T getValue() {
+        Object v = value;
+        return v == null || v == NULL || v instanceof Terminal ? null : (T) v;
+    }
+
+    @Override
+    protected void subscribeActual(RxEmitter<? super T> emitter) {
+        BehaviorDisposable<T> bd = new BehaviorDisposable<>(emitter, this);
+        if (add(bd)) {
+            emitter.setDisposable(bd);
+            bd.emitFirst();
+        } else {
+            Object v = current();
+            Throwable e = v instanceof Terminal ? ((Terminal) v).error : null;
+            if (e != null) {
+                emitter.onError(e);
+            } else {
+                emitter.onComplete();
+            }
+        }
+    }
+
+    @Override
+    public void onSubscribe(RxDisposable d) {
+        if (subscribers.get() == TERMINATED) {
+            d.dispose();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (subscribers.get() == TERMINATED) {
+            return;
+        }
+        Object o = item == null ? NULL : item;
+        long idx = setCurrent(o);
+        for (BehaviorDisposable<T> bd : subscribers.get()) {
+            bd.emitNext(o, idx);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        terminate(new Terminal(t));
+    }
+
+    @Override
+    public void onComplete() {
+        terminate(COMPLETE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void terminate(Terminal terminal) {
+        if (subscribers.get() == TERMINATED) {
+            return;
+        }
+        long idx = setCurrent(terminal);
+        for (BehaviorDisposable<T> bd : subscribers.getAndSet(TERMINATED)) {
+            bd.emitNext(terminal, idx);
+        }
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return subscribers.get().length != 0;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return current() == COMPLETE;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        Object v = current();
+        return v instanceof Terminal ? ((Terminal) v).error : null;
+    }
+
+    private synchronized long setCurrent(Object o) {
+        value = o;
+        return ++index;
+    }
+
+    private synchronized Object current() {
+        return value;
+    }
+
+    private boolean add(BehaviorDisposable<T> bd) {
+        for (; ; ) {
+            BehaviorDisposable<T>[] a = subscribers.get();
+            if (a == TERMINATED) {
+                return false;
+            }
+            int n = a.length;
+            @SuppressWarnings("unchecked")
+            BehaviorDisposable<T>[] b = (BehaviorDisposable<T>[]) new BehaviorDisposable<?>[n + 1];
+            System.arraycopy(a, 0, b, 0, n);
+            b[n] = bd;
+            if (subscribers.compareAndSet(a, b)) {
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(BehaviorDisposable<T> bd) {
+        for (; ; ) {
+            BehaviorDisposable<T>[] a = subscribers.get();
+            if (a == TERMINATED || a == EMPTY) {
+                return;
+            }
+            int n = a.length;
+            int j = -1;
+            for (int i = 0; i < n; i++) {
+                if (a[i] == bd) {
+                    j = i;
+                    break;
+                }
+            }
+            if (j < 0) {
+                return;
+            }
+            BehaviorDisposable<T>[] b;
+            if (n == 1) {
+                b = EMPTY;
+            } else {
+                b = (BehaviorDisposable<T>[]) new BehaviorDisposable<?>[n - 1];
+                System.arraycopy(a, 0, b, 0, j);
+                System.arraycopy(a, j + 1, b, j, n - j - 1);
+            }
+            if (subscribers.compareAndSet(a, b)) {
+                return;
+            }
+        }
+    }
+
+    private static final class Terminal {
+        private final Throwable error;
+
+        Terminal(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    /**
+     * Subscription of one observer. The first emission replays the latest element; elements arriving
+     * meanwhile are queued and delivered after it, and once the replay is done they go straight through.
+     */
+    private static final class BehaviorDisposable<T> extends RxDisposable {
+        private final RxEmitter<? super T> downstream;
+        private final RxBehaviorSubject<T> parent;
+        private boolean next;
+        private boolean emitting;
+        private List<Object> queue;
+        private volatile boolean fastPath;
+        private long index;
+
+        BehaviorDisposable(RxEmitter<? super T> downstream, RxBehaviorSubject<T> parent) {
+            this.downstream = downstream;
+            this.parent = parent;
+        }
+
+        void emitFirst() {
+            Object o;
+            synchronized (this) {
+                if (isDisposed() || next) {
+                    return;
+                }
+                synchronized (parent) {
+                    index = parent.index;
+                    o = parent.value;
+                }
+                emitting = o != null;
+                next = true;
+            }
+            if (o != null && !deliver(o)) {
+                emitLoop();
+            }
+        }
+
+        void emitNext(Object o, long stateIndex) {
+            if (!fastPath) {
+                synchronized (this) {
+                    if (isDisposed() || index == stateIndex) {
+                        return;
+                    }
+                    if (emitting) {
+                        if (queue == null) {
+                            queue = new ArrayList<>();
+                        }
+                        queue.add(o);
+                        return;
+                    }
+                    next = true;
+                }
+                fastPath = true;
+            }
+            deliver(o);
+        }
+
+        private void emitLoop() {
+            for (; ; ) {
+                List<Object> q;
+                synchronized (this) {
+                    q = queue;
+                    if (q == null) {
+                        emitting = false;
+                        return;
+                    }
+                    queue = null;
+                }
+                for (Object o : q) {
+                    if (deliver(o)) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return true, if the observer is done: disposed or terminated by this call
+         */
+        @SuppressWarnings("unchecked")
+        private boolean deliver(Object o) {
+            if (isDisposed()) {
+                return true;
+            }
+            if (o instanceof Terminal) {
+                Throwable e = ((Terminal) o).error;
+                if (e != null) {
+                    downstream.onError(e);
+                } else {
+                    downstream.onComplete();
+                }
+                return true;
+            }
+            downstream.onNext(o == NULL ? null : (T) o);
+            return false;
+        }
+
+        @Override
+        public void dispose() {
+            if (tryDispose()) {
+                parent.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.rx.subjects;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxEmitter;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Subject that emits to its observers only the elements received after they subscribed.
+ * An observer subscribing after the termination receives just the terminal event.
+ * <p>
+ * The observers are kept in a copy-on-write array: emitting reads the array once without locking,
+ * subscribing and disposing replace it with a CAS.
+ *
+ * @param <T> type of elements
+ */
+public final class RxPublishSubject<T> extends RxSubject<T> {
+    @SuppressWarnings("rawtypes")
+    private static final PublishDisposable[] EMPTY = new PublishDisposable[0];
+    @SuppressWarnings("rawtypes")
+    private static final PublishDisposable[] TERMINATED = new PublishDisposable[0];
+
+    @SuppressWarnings("unchecked")
+    private final AtomicReference<PublishDisposable<T>[]> subscribers = new AtomicReference<>(EMPTY);
+    private Throwable error;
+
+    private RxPublishSubject() {
+    }
+
+    /**
+     * @param <T> type of elements
+     * @return new RxPublishSubject
+     */
+    public static <T> RxPublishSubject<T> create() {
+        return new RxPublishSubject<>();
+    }
+
+    @Override
+    protected void subscribeActual(RxEmitter<? super T> emitter) {
+        PublishDisposable<T> pd = new PublishDisposable<>(emitter, this);
+        if (add(pd)) {
+            emitter.setDisposable(pd);
+        } else {
+            Throwable e = error;
+            if (e != null) {
+                emitter.onError(e);
+            } else {
+                emitter.onComplete();
+            }
+        }
+    }
+
+    @Override
+    public void onSubscribe(RxDisposable d) {
+        if (subscribers.get() == TERMINATED) {
+            d.dispose();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        for (PublishDisposable<T> pd : subscribers.get()) {
+            pd.downstream.onNext(item);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onError(Throwable t) {
+        if (subscribers.get() == TERMINATED) {
+            return;
+        }
+        error = t;
+        for (PublishDisposable<T> pd : subscribers.getAndSet(TERMINATED)) {
+            pd.downstream.onError(t);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onComplete() {
+        if (subscribers.get() == TERMINATED) {
+            return;
+        }
+        for (PublishDisposable<T> pd : subscribers.getAndSet(TERMINATED)) {
+            pd.downstream.onComplete();
+        }
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return subscribers.get().length != 0;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return subscribers.get() == TERMINATED && error == null;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        return subscribers.get() == TERMINATED ? error : null;
+    }
+
+    private boolean add(PublishDisposable<T> pd) {
+        for (; ; ) {
+            PublishDisposable<T>[] a = subscribers.get();
+            if (a == TERMINATED) {
+                return false;
+            }
+            int n = a.length;
+            @SuppressWarnings("unchecked")
+            PublishDisposable<T>[] b = (PublishDisposable<T>[]) new PublishDisposable<?>[n + 1];
+            System.arraycopy(a, 0, b, 0, n);
+            b[n] = pd;
+            if (subscribers.compareAndSet(a, b)) {
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(PublishDisposable<T> pd) {
+        for (; ; ) {
+            PublishDisposable<T>[] a = subscribers.get();
+            if (a == TERMINATED || a == EMPTY) {
+                return;
+            }
+            int n = a.length;
+            int j = -1;
+            for (int i = 0; i < n; i++) {
+                if (a[i] == pd) {
+                    j = i;
+                    break;
+                }
+            }
+            if (j < 0) {
+                return;
+            }
+            PublishDisposable<T>[] b;
+            if (n == 1) {
+                b = EMPTY;
+            } else {
+                b = (PublishDisposable<T>[]) new PublishDisposable<?>[n - 1];
+                System.arraycopy(a, 0, b, 0, j);
+                System.arraycopy(a, j + 1, b, j, n - j - 1);
+            }
+            if (subscribers.compareAndSet(a, b)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Subscription of one observer; disposing it removes the observer from the array.
+     */
+    private static final class PublishDisposable<T> extends RxDisposable {
+        private final RxEmitter<? super T> downstream;
+        private final RxPublishSubject<T> parent;
+
+        PublishDisposable(RxEmitter<? super T> downstream, RxPublishSubject<T> parent) {
+            this.downstream = downstream;
+            this.parent = parent;
+        }
+
+        @Override
+        public void dispose() {
+            if (tryDispose()) {
+                parent.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.rx.subjects;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxEmitter;
+import com.rx.schedulers.RxScheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Subject that replays the retained elements to every new observer, then emits the following ones.
+ * An observer subscribing after the termination receives the retained elements and the terminal event.
+ * <p>
+ * Elements are kept once, in a segmented buffer bounded by size and/or age; every observer only holds
+ * a cursor into it, so many late observers cost no copies.
+ *
+ * @param <T> type of elements
+ */
+public final class RxReplaySubject<T> extends RxSubject<T> {
+    @SuppressWarnings("rawtypes")
+    private static final ReplayBuffer.Reader[] EMPTY = new ReplayBuffer.Reader[0];
+    @SuppressWarnings("rawtypes")
+    private static final ReplayBuffer.Reader[] TERMINATED = new ReplayBuffer.Reader[0];
+
+    private final ReplayBuffer<T> buffer;
+    @SuppressWarnings("unchecked")
+    private final AtomicReference<ReplayBuffer.Reader<T>[]> subscribers = new AtomicReference<>(EMPTY);
+
+    private RxReplaySubject(ReplayBuffer<T> buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * @param <T> type of elements
+     * @return new RxReplaySubject retaining every element
+     */
+    public static <T> RxReplaySubject<T> create() {
+        return new RxReplaySubject<>(new ReplayBuffer<>(Long.MAX_VALUE, 0, null));
+    }
+
+    /**
+     * @param maxSize maximum number of retained elements
+     * @param <T>     type of elements
+     * @return new RxReplaySubject retaining the latest {@code maxSize} elements
+     */
+    public static <T> RxReplaySubject<T> createWithSize(int maxSize) {
+        return createWithTimeAndSize(Long.MAX_VALUE, TimeUnit.NANOSECONDS, null, maxSize);
+    }
+
+    /**
+     * @param maxAge    maximum age of retained elements
+     * @param unit      unit of the age
+     * @param scheduler scheduler providing the time
+     * @param <T>       type of elements
+     * @return new RxReplaySubject retaining the elements younger than {@code maxAge}
+     */
+    public static <T> RxReplaySubject<T> createWithTime(long maxAge, TimeUnit unit, RxScheduler scheduler) {
+        return createWithTimeAndSize(maxAge, unit, scheduler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxAge    maximum age of retained elements
+     * @param unit      unit of the age
+     * @param scheduler scheduler providing the time, or null for no age limit
+     * @param maxSize   maximum number of retained elements
+     * @param <T>       type of elements
+     * @return new RxReplaySubject retaining at most {@code maxSize} elements younger than {@code maxAge}
+     */
+    public static <T> RxReplaySubject<T> createWithTimeAndSize(long maxAge, TimeUnit unit, RxScheduler scheduler,
+                                                               int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        if (maxAge < 0) {
+            throw new IllegalArgumentException("maxAge >= 0 required but it was " + maxAge);
+        }
+        return new RxReplaySubject<>(new ReplayBuffer<>(maxSize, unit.toNanos(maxAge), scheduler));
+    }
+
+    @Override
+    protected void subscribeActual(RxEmitter<? super T> emitter) {
+        ReplayBuffer.Reader<T> r = new ReplayBuffer.Reader<>(emitter, this::remove);
+        if (add(r)) {
+            emitter.setDisposable(r);
+        }
+        buffer.replay(r);
+    }
+
+    @Override
+    public void onSubscribe(RxDisposable d) {
+        if (buffer.isDone()) {
+            d.dispose();
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (buffer.isDone()) {
+            return;
+        }
+        buffer.add(item);
+        for (ReplayBuffer.Reader<T> r : subscribers.get()) {
+            buffer.replay(r);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (buffer.isDone()) {
+            return;
+        }
+        buffer.error(t);
+        terminate();
+    }
+
+    @Override
+    public void onComplete() {
+        if (buffer.isDone()) {
+            return;
+        }
+        buffer.complete();
+        terminate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void terminate() {
+        for (ReplayBuffer.Reader<T> r : subscribers.getAndSet(TERMINATED)) {
+            buffer.replay(r);
+        }
+    }
+
+    /**
+     * @return number of retained elements; elements past their age are counted until the next element evicts them
+     */
+    public long size() {
+        return buffer.size();
+    }
+
+    /**
+     * @return approximate number of bytes held by the buffer, not counting the elements themselves
+     */
+    public long memoryUsage() {
+        return buffer.memoryUsage();
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return subscribers.get().length != 0;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return buffer.isDone() && buffer.error() == null;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        return buffer.error();
+    }
+
+    private boolean add(ReplayBuffer.Reader<T> r) {
+        for (; ; ) {
+            ReplayBuffer.Reader<T>[] a = subscribers.get();
+            if (a == TERMINATED) {
+                return false;
+            }
+            int n = a.length;
+            @SuppressWarnings("unchecked")
+            ReplayBuffer.Reader<T>[] b = (ReplayBuffer.Reader<T>[]) new ReplayBuffer.Reader<?>[n + 1];
+            System.arraycopy(a, 0, b, 0, n);
+            b[n] = r;
+            if (subscribers.compareAndSet(a, b)) {
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(ReplayBuffer.Reader<T> r) {
+        for (; ; ) {
+            ReplayBuffer.Reader<T>[] a = subscribers.get();
+            if (a == TERMINATED || a == EMPTY) {
+                return;
+            }
+            int n = a.length;
+            int j = -1;
+            for (int i = 0; i < n; i++) {
+                if (a[i] == r) {
+                    j = i;
+                    break;
+                }
+            }
+            if (j < 0) {
+                return;
+            }
+            ReplayBuffer.Reader<T>[] b;
+            if (n == 1) {
+                b = EMPTY;
+            } else {
+                b = (ReplayBuffer.Reader<T>[]) new ReplayBuffer.Reader<?>[n - 1];
+                System.arraycopy(a, 0, b, 0, j);
+                System.arraycopy(a, j + 1, b, j, n - j - 1);
+            }
+            if (subscribers.compareAndSet(a, b)) {
+                return;
+            }
+        }
+    }
+}
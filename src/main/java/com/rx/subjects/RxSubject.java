@@ -0,0 +1,30 @@
+package com.rx.subjects;
+
+import com.rx.core.RxObservable;
+import com.rx.core.RxObserver;
+
+/**
+ * Observable and observer at once: the elements it receives as an observer are multicast to all of its
+ * current observers, so one upstream subscription serves any number of consumers.
+ * <p>
+ * Like any observer, a subject must be called serially: onNext, onError and onComplete never concurrently.
+ *
+ * @param <T> type of elements
+ */
+public abstract class RxSubject<T> extends RxObservable<T> implements RxObserver<T> {
+
+    /**
+     * @return true, if the subject has at least one observer
+     */
+    public abstract boolean hasObservers();
+
+    /**
+     * @return true, if the subject has completed normally
+     */
+    public abstract boolean hasComplete();
+
+    /**
+     * @return error the subject has terminated with, or null
+     */
+    public abstract Throwable getThrowable();
+}
@@ -0,0 +1,224 @@
+package com.rx.core;
+
+import com.rx.schedulers.RxComputationScheduler;
+import com.rx.schedulers.RxIOScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RxFlowableTest {
+
+    @Test
+    void testEmitsOnlyRequested() {
+        List<Integer> received = new ArrayList<>();
+        AtomicReference<RxSubscription> subscription = new AtomicReference<>();
+        AtomicInteger completed = new AtomicInteger();
+
+        RxFlowable.range(1, 5).subscribe(new RxSubscriber<Integer>() {
+            @Override
+            public void onSubscribe(RxSubscription s) {
+                subscription.set(s);
+                s.request(2);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.incrementAndGet();
+            }
+        });
+
+        assertEquals(List.of(1, 2), received);
+        subscription.get().request(3);
+        assertEquals(List.of(1, 2, 3, 4, 5), received);
+        assertEquals(1, completed.get());
+    }
+
+    @Test
+    void testObserveOnBoundsUpstreamDemand() throws InterruptedException {
+        AtomicLong requested = new AtomicLong();
+        AtomicLong emitted = new AtomicLong();
+        AtomicLong maxOutstanding = new AtomicLong();
+        CountDownLatch latch = new CountDownLatch(1);
+        int count = 10_000;
+
+        RxFlowable<Integer> tracked = RxFlowable.create(subscriber -> RxFlowable.range(0, count).subscribe(new RxSubscriber<Integer>() {
+            @Override
+            public void onSubscribe(RxSubscription s) {
+                subscriber.onSubscribe(new RxSubscription() {
+                    @Override
+                    public void request(long n) {
+                        requested.addAndGet(n);
+                        s.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        s.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                maxOutstanding.accumulateAndGet(requested.get() - emitted.get(), Math::max);
+                emitted.incrementAndGet();
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                subscriber.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        }));
+
+        tracked.subscribeOn(new RxIOScheduler())
+                .observeOn(new RxComputationScheduler(), 16)
+                .subscribe(i -> {
+                }, Throwable::printStackTrace, latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(count, emitted.get());
+        assertTrue(maxOutstanding.get() <= 16);
+    }
+
+    @Test
+    void testCancelStopsSource() {
+        List<Integer> received = new ArrayList<>();
+
+        RxFlowable.range(0, 1_000_000).subscribe(new RxSubscriber<Integer>() {
+            private RxSubscription upstream;
+
+            @Override
+            public void onSubscribe(RxSubscription s) {
+                upstream = s;
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+                if (item == 2) {
+                    upstream.cancel();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+
+            @Override
+            public void onComplete() {
+                fail("Cancelled stream must not complete");
+            }
+        });
+
+        assertEquals(List.of(0, 1, 2), received);
+    }
+
+    @Test
+    void testRangeEndingAtIntegerMaxValue() {
+        List<Integer> received = new ArrayList<>();
+        RxFlowable.range(Integer.MAX_VALUE - 1, 2).subscribe(received::add);
+        assertEquals(List.of(Integer.MAX_VALUE - 1, Integer.MAX_VALUE), received);
+        assertThrows(IllegalArgumentException.class, () -> RxFlowable.range(Integer.MAX_VALUE, 2));
+    }
+
+    @Test
+    void testFlowPublisherInteropKeepsDemand() throws Exception {
+        SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>();
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        AtomicReference<RxSubscription> subscription = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        RxFlowable.fromPublisher(publisher).subscribe(new RxSubscriber<Integer>() {
+            @Override
+            public void onSubscribe(RxSubscription s) {
+                subscription.set(s);
+                s.request(2);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            publisher.submit(i);
+        }
+        publisher.close();
+        Thread.sleep(50);
+        assertEquals(List.of(0, 1), received);
+        subscription.get().request(10);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2, 3, 4), received);
+
+        List<Integer> flow = new ArrayList<>();
+        AtomicReference<Flow.Subscription> flowSubscription = new AtomicReference<>();
+        AtomicReference<Throwable> flowError = new AtomicReference<>();
+        RxFlowable.range(1, 10).toPublisher().subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                flowSubscription.set(s);
+                s.request(3);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                flow.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                flowError.set(t);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertEquals(List.of(1, 2, 3), flow);
+        flowSubscription.get().request(0);
+        assertInstanceOf(IllegalArgumentException.class, flowError.get());
+
+        long sum = 0;
+        for (int i : RxFlowable.range(1, 1000).observeOn(new RxComputationScheduler()).blockingIterable(16)) {
+            sum += i;
+        }
+        assertEquals(500_500, sum);
+    }
+}
@@ -1,13 +1,32 @@
 package com.rx.core;
 
+import com.rx.plugins.InMemoryMetrics;
+import com.rx.plugins.RxHooks;
+import com.rx.schedulers.RxComputationScheduler;
 import com.rx.schedulers.RxIOScheduler;
 import com.rx.schedulers.RxSingleScheduler;
+import com.rx.schedulers.RxTestScheduler;
+import com.rx.subjects.RxBehaviorSubject;
+import com.rx.subjects.RxPublishSubject;
+import com.rx.subjects.RxReplaySubject;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,7 +80,493 @@ class RxObservableTest {
         });
 
         assertTrue(latch.await(1, TimeUnit.SECONDS));
-        assertTrue(threadName.get().startsWith("pool-"));
+        assertTrue(threadName.get().startsWith("rx-single-"));
+    }
+
+    @Test
+    void testObserveOnPreservesOrder() throws InterruptedException {
+        int count = 100_000;
+        List<Integer> received = new ArrayList<>(count);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        RxObservable.<Integer>create(o -> {
+            for (int i = 0; i < count; i++) {
+                o.onNext(i);
+            }
+            o.onComplete();
+        }).observeOn(new RxComputationScheduler()).subscribe(received::add, Throwable::printStackTrace, latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(count, received.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, received.get(i));
+        }
+    }
+
+    @Test
+    void testDisposeStopsInfiniteSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicBoolean released = new AtomicBoolean();
+        RxObservable<Integer> infinite = RxObservable.create(emitter -> {
+            emitter.setCancellable(() -> released.set(true));
+            for (int i = 0; !emitter.isDisposed(); i++) {
+                emitted.incrementAndGet();
+                emitter.onNext(i);
+            }
+        });
+
+        List<Integer> received = new ArrayList<>();
+        infinite.subscribe(new RxObserver<Integer>() {
+            private RxDisposable upstream;
+
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                upstream = d;
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+                if (item == 2) {
+                    upstream.dispose();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+
+            @Override
+            public void onComplete() {
+                fail("Disposed stream must not complete");
+            }
+        });
+
+        assertEquals(List.of(0, 1, 2), received);
+        assertEquals(3, emitted.get());
+        assertTrue(released.get());
+    }
+
+    @Test
+    void testResourcesReleasedAfterCompletion() {
+        AtomicBoolean released = new AtomicBoolean();
+        RxDisposable disposable = RxObservable.<String>create(emitter -> {
+            emitter.setCancellable(() -> released.set(true));
+            emitter.onNext("A");
+            emitter.onComplete();
+        }).subscribe(s -> {
+        });
+
+        assertTrue(released.get());
+        assertTrue(disposable.isDisposed());
+    }
+
+    @Test
+    void testCompositeDisposable() {
+        RxCompositeDisposable composite = new RxCompositeDisposable();
+        List<RxDisposable> children = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            children.add(new RxDisposable());
+        }
+        assertTrue(composite.addAll(children.toArray(new RxDisposable[0])));
+        for (int i = 0; i < children.size(); i += 2) {
+            assertTrue(composite.remove(children.get(i)));
+        }
+        assertFalse(composite.remove(children.get(0)));
+        assertEquals(5_000, composite.size());
+        assertTrue(composite.delete(children.get(1)));
+        assertTrue(children.get(1).isDisposed());
+        assertFalse(composite.isDisposed());
+
+        composite.dispose();
+
+        assertTrue(composite.isDisposed());
+        assertEquals(0, composite.size());
+        for (int i = 0; i < children.size(); i++) {
+            assertEquals(i % 2 == 1, children.get(i).isDisposed());
+        }
+        RxDisposable late = new RxDisposable();
+        assertFalse(composite.add(late));
+        assertTrue(late.isDisposed());
+    }
+
+    @Test
+    void testMetricsRecordStagesAndSchedulers() throws InterruptedException {
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        RxHooks.setMetrics(metrics);
+        try {
+            CountDownLatch done = new CountDownLatch(1);
+            RxObservable.just(1, 2, 3)
+                    .observeOn(new RxComputationScheduler())
+                    .subscribe(i -> {
+                    }, Throwable::printStackTrace, done::countDown);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+
+            InMemoryMetrics.Stage just = metrics.stages().get("RxObservable.just");
+            assertEquals(3, just.items());
+            assertEquals(1, just.completions());
+            assertEquals(3, just.latency().count());
+            assertEquals(3, metrics.stages().get("RxObservable.observeOn").items());
+
+            InMemoryMetrics.Scheduler computation = metrics.schedulers().get("computation");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (computation.activeWorkers() != 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(0, computation.activeWorkers());
+            assertEquals(0, computation.queueDepth());
+            assertTrue(computation.tasksFinished() >= 1);
+            assertTrue(computation.waitTime().count() >= 1);
+        } finally {
+            RxHooks.setMetrics(null);
+        }
+        assertNull(RxHooks.onAssembly());
+    }
+
+    @Test
+    void testFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("rx", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("com.rx.Subscribe", "com.rx.Dispose", "com.rx.TaskScheduled",
+                    "com.rx.TaskExecuted", "com.rx.Batch")) {
+                recording.enable(name).withoutThreshold();
+            }
+            recording.start();
+
+            CountDownLatch done = new CountDownLatch(1);
+            RxObservable.just(1, 2, 3)
+                    .observeOn(new RxComputationScheduler())
+                    .subscribe(i -> {
+                    }, Throwable::printStackTrace, done::countDown);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            RxObservable.<Integer>create(emitter -> {
+            }).subscribe(i -> {
+            }).dispose();
+
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Set<String> names = new HashSet<>();
+            long items = 0;
+            for (RecordedEvent e : events) {
+                names.add(e.getEventType().getName());
+                if (e.getEventType().getName().equals("com.rx.Batch")) {
+                    items += e.getLong("items");
+                }
+            }
+            assertTrue(names.containsAll(List.of("com.rx.Subscribe", "com.rx.Dispose", "com.rx.TaskScheduled",
+                    "com.rx.TaskExecuted", "com.rx.Batch")), names::toString);
+            assertEquals(3, items);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testPublishAndBehaviorSubjects() {
+        RxPublishSubject<Integer> publish = RxPublishSubject.create();
+        List<Integer> first = new ArrayList<>();
+        List<Integer> second = new ArrayList<>();
+        publish.onNext(0);
+        RxDisposable d1 = publish.subscribe(first::add);
+        publish.onNext(1);
+        publish.subscribe(second::add);
+        publish.onNext(2);
+        d1.dispose();
+        publish.onNext(3);
+        publish.onComplete();
+
+        assertEquals(List.of(1, 2), first);
+        assertEquals(List.of(2, 3), second);
+        assertFalse(publish.hasObservers());
+        assertTrue(publish.hasComplete());
+        AtomicBoolean lateCompleted = new AtomicBoolean();
+        publish.subscribe(i -> fail(), Throwable::printStackTrace, () -> lateCompleted.set(true));
+        assertTrue(lateCompleted.get());
+
+        RxBehaviorSubject<String> behavior = RxBehaviorSubject.createDefault("init");
+        List<String> early = new ArrayList<>();
+        behavior.subscribe(early::add, e -> early.add(e.getMessage()), () -> fail());
+        behavior.onNext("a");
+        behavior.onNext("b");
+        List<String> late = new ArrayList<>();
+        behavior.subscribe(late::add, e -> late.add(e.getMessage()), () -> fail());
+        behavior.onNext("c");
+        assertEquals("c", behavior.getValue());
+        RuntimeException error = new RuntimeException("boom");
+        behavior.onError(error);
+
+        assertEquals(List.of("init", "a", "b", "c", "boom"), early);
+        assertEquals(List.of("b", "c", "boom"), late);
+        assertSame(error, behavior.getThrowable());
+        assertFalse(behavior.hasValue());
+        AtomicReference<Throwable> lateError = new AtomicReference<>();
+        behavior.subscribe(s -> fail(), lateError::set, () -> fail());
+        assertSame(error, lateError.get());
     }
-}
 
+    @Test
+    void testPublishRefCountAndShare() {
+        AtomicInteger runs = new AtomicInteger();
+        RxObservable<Integer> source = RxObservable.create(emitter -> {
+            runs.incrementAndGet();
+            for (int i = 0; i < 3 && !emitter.isDisposed(); i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        });
+
+        RxConnectableObservable<Integer> published = source.publish();
+        List<Integer> a = new ArrayList<>();
+        List<Integer> b = new ArrayList<>();
+        List<Integer> c = new ArrayList<>();
+        published.subscribe(a::add);
+        published.subscribe(b::add);
+        published.subscribe(c::add);
+        assertEquals(0, runs.get());
+        published.connect();
+
+        assertEquals(1, runs.get());
+        assertEquals(List.of(0, 1, 2), a);
+        assertEquals(List.of(0, 1, 2), b);
+        assertEquals(List.of(0, 1, 2), c);
+
+        RxObservable<Integer> shared = source.share();
+        List<Integer> again = new ArrayList<>();
+        shared.subscribe(again::add);
+        shared.subscribe(again::add);
+        assertEquals(3, runs.get());
+        assertEquals(List.of(0, 1, 2, 0, 1, 2), again);
+
+        RxPublishSubject<Integer> upstream = RxPublishSubject.create();
+        RxObservable<Integer> refCounted = upstream.share();
+        List<Integer> x = new ArrayList<>();
+        List<Integer> y = new ArrayList<>();
+        RxDisposable dx = refCounted.subscribe(x::add);
+        RxDisposable dy = refCounted.subscribe(y::add);
+        upstream.onNext(1);
+        dx.dispose();
+        upstream.onNext(2);
+        assertTrue(upstream.hasObservers());
+        dy.dispose();
+
+        assertFalse(upstream.hasObservers());
+        assertEquals(List.of(1), x);
+        assertEquals(List.of(1, 2), y);
+    }
+
+    @Test
+    void testReplaySubjectEvictsBySizeAndAge() {
+        RxReplaySubject<Integer> sized = RxReplaySubject.createWithSize(40);
+        List<Integer> early = new ArrayList<>();
+        sized.subscribe(early::add);
+        for (int i = 0; i < 100; i++) {
+            sized.onNext(i);
+        }
+        List<Integer> late = new ArrayList<>();
+        sized.subscribe(late::add);
+        sized.onNext(100);
+
+        assertEquals(101, early.size());
+        assertEquals(41, late.size());
+        assertEquals(60, late.getFirst());
+        assertEquals(100, late.getLast());
+        assertEquals(40, sized.size());
+        RxReplaySubject<Integer> unbounded = RxReplaySubject.create();
+        for (int i = 0; i < 10_000; i++) {
+            sized.onNext(i);
+            unbounded.onNext(i);
+        }
+        assertEquals(10_000, unbounded.size());
+        assertTrue(sized.memoryUsage() * 100 < unbounded.memoryUsage());
+
+        RxTestScheduler scheduler = new RxTestScheduler();
+        RxReplaySubject<String> timed = RxReplaySubject.createWithTime(1, TimeUnit.SECONDS, scheduler);
+        timed.onNext("old");
+        scheduler.advanceTimeBy(800, TimeUnit.MILLISECONDS);
+        timed.onNext("recent");
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+        List<String> fresh = new ArrayList<>();
+        timed.subscribe(fresh::add);
+        timed.onComplete();
+        List<String> afterEnd = new ArrayList<>();
+        timed.subscribe(afterEnd::add, Throwable::printStackTrace, () -> afterEnd.add("done"));
+
+        assertEquals(List.of("recent"), fresh);
+        assertEquals(List.of("recent", "done"), afterEnd);
+    }
+
+    @Test
+    void testReplayAndCacheRunSourceOnce() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        RxObservable<Integer> cached = RxObservable.<Integer>create(emitter -> {
+            runs.incrementAndGet();
+            for (int i = 0; i < 1_000; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+        }).cache();
+        assertEquals(0, runs.get());
+
+        int readers = 8;
+        CountDownLatch done = new CountDownLatch(readers);
+        AtomicInteger received = new AtomicInteger();
+        for (int r = 0; r < readers; r++) {
+            cached.observeOn(new RxComputationScheduler())
+                    .subscribe(i -> received.incrementAndGet(), Throwable::printStackTrace, done::countDown);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        assertEquals(readers * 1_000, received.get());
+
+        RxConnectableObservable<Integer> replay = RxObservable.just(1, 2, 3, 4, 5).replay(2);
+        replay.connect();
+        List<Integer> late = new ArrayList<>();
+        replay.subscribe(late::add);
+        assertEquals(List.of(4, 5), late);
+    }
+
+    @Test
+    void testSynchronousSourcesArePulledAcrossBoundaries() throws InterruptedException {
+        List<Integer> range = new ArrayList<>();
+        RxObservable.range(5, 3).subscribe(range::add);
+        assertEquals(List.of(5, 6, 7), range);
+
+        RxObservable<String> iterable = RxObservable.fromIterable(List.of("a", "b"));
+        List<String> twice = new ArrayList<>();
+        iterable.subscribe(twice::add);
+        iterable.subscribe(twice::add);
+        assertEquals(List.of("a", "b", "a", "b"), twice);
+
+        AtomicBoolean closed = new AtomicBoolean();
+        RxObservable<Integer> stream = RxObservable.fromStream(Stream.of(1, 2).onClose(() -> closed.set(true)));
+        List<Integer> streamed = new ArrayList<>();
+        stream.subscribe(streamed::add);
+        assertEquals(List.of(1, 2), streamed);
+        assertTrue(closed.get());
+        AtomicReference<Throwable> secondRun = new AtomicReference<>();
+        stream.subscribe(i -> { }, secondRun::set, () -> { });
+        assertInstanceOf(IllegalStateException.class, secondRun.get());
+
+        int[] state = {0};
+        List<Integer> generated = new ArrayList<>();
+        RxObservable.<Integer>generate(o -> {
+            if (state[0] == 3) {
+                o.onComplete();
+            } else {
+                o.onNext(state[0]++);
+            }
+        }).subscribe(generated::add);
+        assertEquals(List.of(0, 1, 2), generated);
+
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> observed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        RxObservable.range(0, 1000).observeOn(new RxSingleScheduler()).subscribe(i -> {
+            threads.add(Thread.currentThread().getName());
+            observed.add(i);
+        }, Throwable::printStackTrace, done::countDown);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(1000, observed.size());
+        assertEquals(999, observed.get(999));
+        assertEquals(1, threads.size());
+        assertFalse(threads.contains(Thread.currentThread().getName()));
+
+        AtomicInteger pulled = new AtomicInteger();
+        CountDownLatch enough = new CountDownLatch(100);
+        RxDisposable infinite = RxObservable.<Integer>generate(o -> o.onNext(pulled.incrementAndGet()))
+                .observeOn(new RxSingleScheduler())
+                .subscribe(i -> enough.countDown());
+        assertTrue(enough.await(1, TimeUnit.SECONDS));
+        infinite.dispose();
+        Thread.sleep(20);
+        int afterDispose = pulled.get();
+        Thread.sleep(20);
+        assertEquals(afterDispose, pulled.get());
+    }
+
+
+    @Test
+    void testRangeEndingAtIntegerMaxValue() {
+        List<Integer> pushed = new ArrayList<>();
+        RxObservable.range(Integer.MAX_VALUE - 1, 2).subscribe(pushed::add);
+        assertEquals(List.of(Integer.MAX_VALUE - 1, Integer.MAX_VALUE), pushed);
+
+        List<Integer> pulled = new ArrayList<>();
+        for (int i : RxObservable.range(Integer.MAX_VALUE - 1, 2).observeOn(new RxSingleScheduler()).blockingIterable()) {
+            pulled.add(i);
+        }
+        assertEquals(pushed, pulled);
+
+        assertThrows(IllegalArgumentException.class, () -> RxObservable.range(Integer.MAX_VALUE - 1, 5));
+        assertThrows(IllegalArgumentException.class, () -> RxObservable.range(Integer.MAX_VALUE, 2));
+    }
+    @Test
+    void testBlockingBridgesAndFlowPublisher() throws Exception {
+        assertEquals(1, RxObservable.range(1, 10).subscribeOn(new RxIOScheduler()).blockingFirst());
+        assertEquals(10, RxObservable.range(1, 10).subscribeOn(new RxIOScheduler()).blockingLast());
+        assertThrows(NoSuchElementException.class, () -> RxObservable.empty().blockingLast());
+        IllegalStateException boom = new IllegalStateException("boom");
+        assertSame(boom, assertThrows(IllegalStateException.class,
+                () -> RxObservable.create(o -> o.onError(boom)).blockingFirst()));
+
+        assertEquals(3, RxObservable.just(1, 2, 3).observeOn(new RxSingleScheduler())
+                .toCompletableFuture().get(1, TimeUnit.SECONDS));
+        AtomicBoolean released = new AtomicBoolean();
+        CompletableFuture<Object> never = RxObservable.create(o -> o.setCancellable(() -> released.set(true)))
+                .toCompletableFuture();
+        never.cancel(false);
+        assertTrue(released.get());
+
+        long sum = 0;
+        for (int i : RxObservable.range(0, 10_000).observeOn(new RxSingleScheduler()).blockingIterable(64)) {
+            sum += i;
+        }
+        assertEquals(49_995_000, sum);
+        AtomicBoolean disposed = new AtomicBoolean();
+        Iterator<Long> ticks = RxObservable.<Long>create(o -> o.setCancellable(() -> disposed.set(true)))
+                .blockingIterable().iterator();
+        ((AutoCloseable) ticks).close();
+        assertTrue(disposed.get());
+        assertFalse(ticks.hasNext());
+
+        SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>();
+        CompletableFuture<Integer> last = RxObservable.fromPublisher(publisher).toCompletableFuture();
+        for (int i = 1; i <= 5; i++) {
+            publisher.submit(i);
+        }
+        publisher.close();
+        assertEquals(5, last.get(1, TimeUnit.SECONDS));
+
+        List<Integer> received = new ArrayList<>();
+        AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        RxObservable.just(1, 2, 3, 4, 5).toPublisher().subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.set(s);
+                s.request(2);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+        assertEquals(List.of(1, 2), received);
+        assertFalse(completed.get());
+        subscription.get().request(Long.MAX_VALUE);
+        assertEquals(List.of(1, 2, 3, 4, 5), received);
+        assertTrue(completed.get());
+    }
+}
@@ -0,0 +1,98 @@
+package com.rx.net;
+
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObservable;
+import com.rx.schedulers.RxSchedulers;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RxNetTest {
+    private static final InetSocketAddress LOOPBACK = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+    @Test
+    void testRemoteStreamKeepsOrderNullsAndErrors() throws InterruptedException {
+        int count = 100_000;
+        RxNetServer<Integer> numbers = RxNet.serve(RxObservable.range(0, count), LOOPBACK, RxSerializer.ints());
+        RxNetServer<String> words = RxNet.serve(RxObservable.create(e -> {
+            e.onNext("a");
+            e.onNext(null);
+            e.onNext("б");
+            e.onError(new IllegalStateException("boom"));
+        }), LOOPBACK, RxSerializer.strings());
+        try {
+            List<Integer> received = new ArrayList<>(count);
+            for (int v : RxNet.connect(numbers.localAddress(), RxSerializer.ints()).blockingIterable()) {
+                received.add(v);
+            }
+            assertEquals(count, received.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, received.get(i));
+            }
+
+            CountDownLatch latch = new CountDownLatch(1);
+            List<String> items = new CopyOnWriteArrayList<>();
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            RxNet.connect(words.localAddress(), RxSerializer.strings()).subscribe(items::add, t -> {
+                error.set(t);
+                latch.countDown();
+            }, latch::countDown);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(Arrays.asList("a", null, "б"), items);
+            assertInstanceOf(RxRemoteException.class, error.get());
+            assertTrue(error.get().getMessage().contains("IllegalStateException: boom"));
+        } finally {
+            numbers.dispose();
+            words.dispose();
+        }
+    }
+
+    @Test
+    void testCreditThrottlesProducerAndCancelReachesSource() throws InterruptedException {
+        int prefetch = 8;
+        int queueSize = 16;
+        AtomicInteger emitted = new AtomicInteger();
+        CountDownLatch cancelled = new CountDownLatch(1);
+        RxNetServer<Integer> server = RxNet.serve(RxObservable.create(e -> {
+            e.setCancellable(cancelled::countDown);
+            while (!e.isDisposed()) {
+                e.onNext(emitted.getAndIncrement());
+            }
+        }), LOOPBACK, RxSerializer.ints(), RxSchedulers.io(), queueSize);
+        try {
+            CountDownLatch first = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            RxDisposable d = RxNet.connect(server.localAddress(), RxSerializer.ints(), prefetch, RxSchedulers.io())
+                    .subscribe(v -> {
+                        first.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+            assertTrue(first.await(5, TimeUnit.SECONDS));
+            Thread.sleep(300);
+            // the stalled consumer holds the producer to its credit plus the queue and the parked element
+            assertTrue(emitted.get() <= prefetch + queueSize + 1, "emitted " + emitted.get());
+            assertEquals(1, server.connectionCount());
+
+            d.dispose();
+            release.countDown();
+            assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        } finally {
+            server.dispose();
+        }
+    }
+}
@@ -1,10 +1,36 @@
 package com.rx.operators;
 
+import com.rx.core.RxFlowable;
 import com.rx.core.RxObservable;
+import com.rx.core.RxSubscriber;
+import com.rx.core.RxSubscription;
+import com.rx.core.RxDoubleObservable;
+import com.rx.core.RxIntObservable;
+import com.rx.core.RxLongObservable;
+import com.rx.core.RxParallelObservable;
+import com.rx.core.RxDisposable;
+import com.rx.core.RxObserver;
+import com.rx.core.RxEmitter;
+import com.rx.internal.ArraySource;
+import com.rx.internal.ScalarSource;
+import com.rx.plugins.InMemoryMetrics;
+import com.rx.plugins.RxHooks;
+import com.rx.schedulers.RxComputationScheduler;
+import com.rx.schedulers.RxIOScheduler;
+import com.rx.schedulers.RxOverflowStrategy;
+import com.rx.schedulers.RxTestScheduler;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,6 +110,141 @@ class OperatorTest {
         assertEquals(List.of("1", "2"), out);
     }
 
+    @Test
+    void testConcatOfManySourcesKeepsStackFlat() {
+        int n = 100_000;
+        List<RxObservable<Integer>> sources = new ArrayList<>();
+        RxObservable<Integer> folded = RxObservable.just(0);
+        for (int i = 0; i < n; i++) {
+            sources.add(RxObservable.just(i));
+            if (i > 0) {
+                folded = ConcatOperator.apply(folded, RxObservable.just(i));
+            }
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        AtomicInteger last = new AtomicInteger(-1);
+        ConcatOperator.concatIterable(sources).subscribe(i -> {
+            count.incrementAndGet();
+            last.set(i);
+        });
+        assertEquals(n, count.get());
+        assertEquals(n - 1, last.get());
+
+        List<Integer> out = new ArrayList<>();
+        folded.subscribe(out::add);
+        assertEquals(n, out.size());
+        assertEquals(n - 1, out.get(n - 1));
+
+        RxObservable<Integer> rightFolded = RxObservable.just(n - 1);
+        for (int i = n - 2; i >= 0; i--) {
+            rightFolded = ConcatOperator.apply(RxObservable.just(i), rightFolded);
+        }
+        List<Integer> right = new ArrayList<>();
+        rightFolded.subscribe(right::add);
+        assertEquals(n, right.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, right.get(i));
+        }
+
+        List<String> array = new ArrayList<>();
+        ConcatOperator.concatArray(RxObservable.just("a"), RxObservable.just("b", "c")).subscribe(array::add);
+        assertEquals(List.of("a", "b", "c"), array);
+    }
+
+    @Test
+    void testConcatMapKeepsOrderAndPrefetches() throws InterruptedException {
+        RxIOScheduler io = new RxIOScheduler();
+        AtomicInteger subscribedAhead = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+        List<Integer> out = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        ConcatMapOperator.apply(RxObservable.just(1, 2, 3, 4), i -> RxObservable.<Integer>create(emitter -> {
+            subscribedAhead.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+            emitter.onNext(i * 10);
+            emitter.onNext(i * 10 + 1);
+            emitter.onComplete();
+        }).subscribeOn(io), 4).subscribe(out::add, Throwable::printStackTrace, done::countDown);
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(10, 11, 20, 21, 30, 31, 40, 41), out);
+        assertTrue(subscribedAhead.get() > 1);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(190));
+
+        List<Integer> sync = new ArrayList<>();
+        ConcatMapOperator.apply(RxObservable.just(1, 2, 3), i -> RxObservable.just(i, -i))
+                .subscribe(sync::add);
+        assertEquals(List.of(1, -1, 2, -2, 3, -3), sync);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Integer> beforeError = new ArrayList<>();
+        ConcatMapOperator.apply(RxObservable.just(1, 2, 3), i -> i == 2
+                        ? RxObservable.<Integer>create(emitter -> emitter.onError(new IllegalStateException("inner")))
+                        : RxObservable.just(i), 1)
+                .subscribe(beforeError::add, error::set, () -> { });
+        assertEquals(List.of(1), beforeError);
+        assertEquals("inner", error.get().getMessage());
+    }
+
+    @Test
+    void testScalarAndArraySourcesAreEmittedInPlace() {
+        assertInstanceOf(ScalarSource.class, RxObservable.just(1).onSubscribe());
+        assertInstanceOf(ArraySource.class, RxObservable.just(1, 2).onSubscribe());
+        assertInstanceOf(ArraySource.class, RxObservable.empty().onSubscribe());
+
+        List<Integer> flat = new ArrayList<>();
+        FlatMapOperator.apply(RxObservable.just(1, 2, 3, 4), i -> i % 3 == 0
+                ? RxObservable.<Integer>empty()
+                : i % 2 == 0 ? RxObservable.just(i, -i) : RxObservable.just(i)).subscribe(flat::add);
+        assertEquals(List.of(1, 2, -2, 4, -4), flat);
+
+        List<Integer> limited = new ArrayList<>();
+        FlatMapOperator.apply(RxObservable.just(1, 2, 3), i -> i == 2
+                ? RxObservable.create(o -> {
+                    o.onNext(20);
+                    o.onComplete();
+                })
+                : RxObservable.just(i), 1).subscribe(limited::add);
+        assertEquals(List.of(1, 20, 3), limited);
+
+        List<String> merged = new ArrayList<>();
+        MergeOperator.apply(RxObservable.just("a"), RxObservable.<String>empty(), RxObservable.just("b", "c"))
+                .subscribe(merged::add);
+        assertEquals(List.of("a", "b", "c"), merged);
+
+        List<String> concatenated = new ArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+        ConcatOperator.concatArray(RxObservable.just("a"), RxObservable.<String>empty(),
+                        RxObservable.create(o -> {
+                            o.onNext("b");
+                            o.onComplete();
+                        }), RxObservable.just("c", "d"))
+                .subscribe(concatenated::add, Throwable::printStackTrace, completions::incrementAndGet);
+        assertEquals(List.of("a", "b", "c", "d"), concatenated);
+        assertEquals(1, completions.get());
+
+        RxTestScheduler scheduler = new RxTestScheduler();
+        List<Integer> ordered = new ArrayList<>();
+        ConcatMapOperator.apply(RxObservable.just(1, 2, 3), i -> i == 1
+                ? DelayOperator.apply(RxObservable.just(10), 1, TimeUnit.SECONDS, scheduler)
+                : RxObservable.just(i), 3).subscribe(ordered::add);
+        assertTrue(ordered.isEmpty());
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(List.of(10, 2, 3), ordered);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Test
     void testFlatMap() {
         RxObservable<Integer> src = RxObservable.<Integer>create(o -> {
@@ -99,4 +260,544 @@ class OperatorTest {
         assertEquals(4, out.size());
         assertTrue(out.containsAll(List.of(1, 10, 2, 20)));
     }
+
+
+    @Test
+    void testFlatMapFailureDisposesSource() {
+        AtomicInteger emitted = new AtomicInteger();
+        RxObservable<Integer> src = RxObservable.create(o -> {
+            for (int i = 0; i < 1_000_000 && !o.isDisposed(); i++) {
+                emitted.incrementAndGet();
+                o.onNext(i);
+            }
+            o.onComplete();
+        });
+
+        AtomicReference<Throwable> mapperError = new AtomicReference<>();
+        FlatMapOperator.apply(src, i -> {
+            if (i == 10) {
+                throw new IllegalStateException("mapper failed");
+            }
+            return RxObservable.just(i);
+        }).subscribe(i -> { }, mapperError::set, () -> { });
+        assertInstanceOf(IllegalStateException.class, mapperError.get());
+        assertEquals(11, emitted.get());
+
+        emitted.set(0);
+        AtomicReference<Throwable> innerError = new AtomicReference<>();
+        FlatMapOperator.apply(src, i -> RxObservable.fromIterable(() -> new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                throw new IllegalStateException("inner failed");
+            }
+        })).subscribe(i -> { }, innerError::set, () -> { });
+        assertInstanceOf(IllegalStateException.class, innerError.get());
+        assertEquals(1, emitted.get());
+    }
+    @Test
+    void testFlowableOperators() {
+        RxFlowable<Integer> src = RxFlowable.range(1, 10);
+
+        List<Integer> out = new ArrayList<>();
+        RxFlowable<Integer> evens = FilterOperator.apply(MapOperator.apply(src, i -> i * 3), i -> i % 2 == 0);
+        ReduceOperator.apply(evens, Integer::sum).subscribe(out::add);
+
+        assertEquals(List.of(6 + 12 + 18 + 24 + 30), out);
+    }
+
+    @Test
+    void testFlowableFlatMapHonorsDemand() {
+        List<Integer> out = new ArrayList<>();
+        AtomicReference<RxSubscription> subscription = new AtomicReference<>();
+
+        RxFlowable<Integer> flat = FlatMapOperator.apply(RxFlowable.range(0, 100), i -> RxFlowable.range(i * 10, 10), 4, 8);
+        flat.subscribe(new RxSubscriber<Integer>() {
+            @Override
+            public void onSubscribe(RxSubscription s) {
+                subscription.set(s);
+                s.request(5);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                out.add(item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+
+            @Override
+            public void onComplete() {
+                out.add(-1);
+            }
+        });
+
+        assertEquals(5, out.size());
+        subscription.get().request(Long.MAX_VALUE);
+        assertEquals(1001, out.size());
+        assertEquals(-1, out.getLast());
+    }
+
+    @Test
+    void testFlowableMergeAndConcat() {
+        List<String> merged = new ArrayList<>();
+        MergeOperator.apply(RxFlowable.just("A1", "A2"), RxFlowable.just("B1")).subscribe(merged::add);
+        assertEquals(3, merged.size());
+        assertTrue(merged.containsAll(List.of("A1", "A2", "B1")));
+
+        List<String> concatenated = new ArrayList<>();
+        ConcatOperator.apply(RxFlowable.just("1", "2"), RxFlowable.just("3")).subscribe(concatenated::add);
+        assertEquals(List.of("1", "2", "3"), concatenated);
+    }
+
+    @Test
+    void testPrimitiveOperators() {
+        RxIntObservable squares = MapOperator.apply(RxIntObservable.range(1, 10), i -> i * i);
+        RxIntObservable evenSquares = FilterOperator.apply(squares, i -> i % 2 == 0);
+
+        List<Integer> sum = new ArrayList<>();
+        ReduceOperator.sum(evenSquares).subscribe(sum::add);
+        assertEquals(List.of(4 + 16 + 36 + 64 + 100), sum);
+
+        List<Long> minMax = new ArrayList<>();
+        ReduceOperator.min(RxLongObservable.just(5L, -3L, 8L)).subscribe(minMax::add);
+        ReduceOperator.max(RxLongObservable.just(5L, -3L, 8L)).subscribe(minMax::add);
+        assertEquals(List.of(-3L, 8L), minMax);
+
+        List<Double> average = new ArrayList<>();
+        RxDoubleObservable values = MapOperator.toDouble(RxObservable.just("1.5", "2.5"), Double::parseDouble);
+        ReduceOperator.apply(values, (a, b) -> (a + b) / 2).boxed().subscribe(average::add);
+        assertEquals(List.of(2.0), average);
+    }
+
+
+    @Test
+    void testPrimitiveRangeEndingAtMaxValue() {
+        List<Integer> ints = new ArrayList<>();
+        RxIntObservable.range(Integer.MAX_VALUE - 1, 2).subscribe(ints::add);
+        assertEquals(List.of(Integer.MAX_VALUE - 1, Integer.MAX_VALUE), ints);
+        assertThrows(IllegalArgumentException.class, () -> RxIntObservable.range(Integer.MAX_VALUE - 1, 5));
+
+        List<Long> longs = new ArrayList<>();
+        RxLongObservable.range(Long.MAX_VALUE - 1, 2).subscribe(longs::add);
+        assertEquals(List.of(Long.MAX_VALUE - 1, Long.MAX_VALUE), longs);
+        assertThrows(IllegalArgumentException.class, () -> RxLongObservable.range(Long.MAX_VALUE, 2));
+    }
+
+    @Test
+    void testMapFilterChainIsFused() {
+        RxObservable<Integer> src = RxObservable.just(1, 2, 3, 4, 5, 6);
+
+        RxObservable<String> chain = MapOperator.apply(
+                FilterOperator.apply(
+                        MapOperator.apply(
+                                FilterOperator.apply(src, i -> i > 1),
+                                i -> i * 10),
+                        i -> i % 20 == 0),
+                i -> "#" + i);
+
+        List<String> out = new ArrayList<>();
+        chain.subscribe(out::add);
+
+        assertEquals(List.of("#20", "#40", "#60"), out);
+        FusedMapFilter<?, ?> fused = assertInstanceOf(FusedMapFilter.class, chain.onSubscribe());
+        assertSame(src, fused.upstream);
+
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        RxHooks.setMetrics(metrics);
+        try {
+            RxObservable<Integer> metered = FilterOperator.apply(MapOperator.apply(src, i -> i * 10), i -> i > 30);
+            List<Integer> values = new ArrayList<>();
+            metered.subscribe(values::add);
+            assertEquals(List.of(40, 50, 60), values);
+            assertEquals(6, metrics.stages().get("MapOperator.apply").items());
+            assertEquals(3, metrics.stages().get("FilterOperator.apply").items());
+        } finally {
+            RxHooks.setMetrics(null);
+        }
+    }
+
+    @Test
+    void testParallelRails() throws InterruptedException {
+        int count = 10_000;
+        RxObservable<Integer> src = RxObservable.create(o -> {
+            for (int i = 0; i < count; i++) {
+                o.onNext(i);
+            }
+            o.onComplete();
+        });
+
+        RxParallelObservable<Integer> rails = FilterOperator.apply(
+                MapOperator.apply(src.parallel(4).runOn(new RxComputationScheduler()), i -> i * 2),
+                i -> i % 3 != 0);
+
+        List<Integer> ordered = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch orderedDone = new CountDownLatch(1);
+        rails.sequentialOrdered().subscribe(ordered::add, Throwable::printStackTrace, orderedDone::countDown);
+
+        List<Integer> unordered = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch unorderedDone = new CountDownLatch(1);
+        rails.sequential().subscribe(unordered::add, Throwable::printStackTrace, unorderedDone::countDown);
+
+        List<Integer> sum = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch sumDone = new CountDownLatch(1);
+        ReduceOperator.apply(rails, Integer::sum).subscribe(sum::add, Throwable::printStackTrace, sumDone::countDown);
+
+        assertTrue(orderedDone.await(5, TimeUnit.SECONDS));
+        assertTrue(unorderedDone.await(5, TimeUnit.SECONDS));
+        assertTrue(sumDone.await(5, TimeUnit.SECONDS));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if ((i * 2) % 3 != 0) {
+                expected.add(i * 2);
+            }
+        }
+        assertEquals(expected, ordered);
+        assertEquals(expected.size(), unordered.size());
+        assertTrue(unordered.containsAll(expected));
+        assertEquals(List.of(expected.stream().mapToInt(Integer::intValue).sum()), sum);
+
+        RxParallelObservable<Integer> failing = MapOperator.apply(
+                RxObservable.range(1, 10).parallel(2).runOn(new RxComputationScheduler()), i -> {
+                    if (i == 5) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return i;
+                });
+        for (RxObservable<Integer> joined : List.of(failing.sequential(), failing.sequentialOrdered(),
+                ReduceOperator.apply(failing, Integer::sum))) {
+            CountDownLatch terminated = new CountDownLatch(1);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            AtomicInteger completions = new AtomicInteger();
+            joined.subscribe(v -> {
+            }, t -> {
+                error.set(t);
+                terminated.countDown();
+            }, () -> {
+                completions.incrementAndGet();
+                terminated.countDown();
+            });
+            assertTrue(terminated.await(2, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, error.get());
+            assertEquals(0, completions.get());
+        }
+    }
+
+    @Test
+    void testParallelReduceAndCollect() throws InterruptedException {
+        int count = 100_000;
+        RxObservable<Long> src = RxObservable.create(o -> {
+            for (long i = 1; i <= count; i++) {
+                o.onNext(i);
+            }
+            o.onComplete();
+        });
+
+        List<Long> sum = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch sumDone = new CountDownLatch(1);
+        ReduceOperator.parallel(src, 4, new RxComputationScheduler(), Long::sum)
+                .subscribe(sum::add, Throwable::printStackTrace, sumDone::countDown);
+
+        List<List<Long>> collected = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch collectDone = new CountDownLatch(1);
+        ReduceOperator.collect(src, 3, new RxComputationScheduler(), ArrayList<Long>::new, List::add, List::addAll)
+                .subscribe(collected::add, Throwable::printStackTrace, collectDone::countDown);
+
+        assertTrue(sumDone.await(5, TimeUnit.SECONDS));
+        assertTrue(collectDone.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of((long) count * (count + 1) / 2), sum);
+        assertEquals(1, collected.size());
+        assertEquals(count, collected.getFirst().size());
+
+        List<List<String>> sequential = new ArrayList<>();
+        ReduceOperator.collect(RxObservable.just("a", "b"), ArrayList<String>::new, List::add).subscribe(sequential::add);
+        assertEquals(List.of(List.of("a", "b")), sequential);
+    }
+
+    @Test
+    void testParallelReduceFailureCancelsSource() throws InterruptedException {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        AtomicInteger emitted = new AtomicInteger();
+        RxObservable<Integer> src = RxObservable.create(o -> {
+            o.setCancellable(cancelled::countDown);
+            for (int i = 0; i < 10_000_000 && !o.isDisposed(); i++) {
+                emitted.incrementAndGet();
+                o.onNext(i);
+                if (i == 5_000) {
+                    // give the workers time to fail on the first chunks
+                    try {
+                        cancelled.await(1, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+            o.onComplete();
+        });
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch failed = new CountDownLatch(1);
+        ReduceOperator.parallel(src, 4, new RxComputationScheduler(), (a, b) -> {
+            throw new IllegalStateException("fold failed");
+        }).subscribe(item -> { }, t -> {
+            error.set(t);
+            failed.countDown();
+        }, failed::countDown);
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.get());
+        assertTrue(emitted.get() < 10_000_000, "emitted " + emitted.get());
+
+        RxComputationScheduler stopped = new RxComputationScheduler("rx-stopped", 1, 16, RxOverflowStrategy.ERROR);
+        stopped.shutdown();
+        AtomicReference<Throwable> rejected = new AtomicReference<>();
+        ReduceOperator.parallel(RxObservable.range(0, 5000), 1, stopped, Integer::sum)
+                .subscribe(item -> { }, rejected::set, () -> { });
+        assertInstanceOf(RejectedExecutionException.class, rejected.get());
+    }
+
+    @Test
+    void testFlatMapMaxConcurrencyAndSerializedEmission() throws InterruptedException {
+        int count = 200;
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicInteger concurrentCalls = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        List<Integer> out = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        RxIOScheduler io = new RxIOScheduler();
+
+        RxObservable<Integer> src = RxObservable.create(o -> {
+            for (int i = 0; i < count; i++) {
+                o.onNext(i);
+            }
+            o.onComplete();
+        });
+
+        FlatMapOperator.apply(src, i -> RxObservable.<Integer>create(o -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            for (int k = 0; k < 10; k++) {
+                o.onNext(i * 10 + k);
+            }
+            active.decrementAndGet();
+            o.onComplete();
+        }).subscribeOn(io), 4).subscribe(v -> {
+            if (concurrentCalls.incrementAndGet() != 1) {
+                overlaps.incrementAndGet();
+            }
+            out.add(v);
+            concurrentCalls.decrementAndGet();
+        }, Throwable::printStackTrace, latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(count * 10, out.size());
+        assertTrue(maxActive.get() <= 4);
+        assertEquals(0, overlaps.get());
+    }
+
+    @Test
+    void testMergeConcurrentSourcesAndDynamicMerge() throws InterruptedException {
+        RxIOScheduler io = new RxIOScheduler();
+        AtomicInteger concurrentCalls = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        List<Integer> merged = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+
+        @SuppressWarnings("unchecked")
+        RxObservable<Integer>[] sources = (RxObservable<Integer>[]) new RxObservable<?>[8];
+        for (int s = 0; s < sources.length; s++) {
+            int base = s * 1000;
+            sources[s] = RxObservable.<Integer>create(o -> {
+                for (int i = 0; i < 1000; i++) {
+                    o.onNext(base + i);
+                }
+                o.onComplete();
+            }).subscribeOn(io);
+        }
+        MergeOperator.apply(sources).subscribe(v -> {
+            if (concurrentCalls.incrementAndGet() != 1) {
+                overlaps.incrementAndGet();
+            }
+            merged.add(v);
+            concurrentCalls.decrementAndGet();
+        }, Throwable::printStackTrace, latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(8000, merged.size());
+        assertEquals(0, overlaps.get());
+
+        List<String> dynamic = new ArrayList<>();
+        RxObservable<RxObservable<String>> inners = RxObservable.just(RxObservable.just("a", "b"), RxObservable.just("c"));
+        MergeOperator.apply(inners, 1).subscribe(dynamic::add);
+        assertEquals(List.of("a", "b", "c"), dynamic);
+    }
+
+    @Test
+    void testDisposePropagatesThroughOperators() {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+        RxObservable<Integer> infinite = RxObservable.create(emitter -> {
+            emitter.setCancellable(released::incrementAndGet);
+            for (int i = 0; !emitter.isDisposed(); i++) {
+                emitted.incrementAndGet();
+                emitter.onNext(i);
+            }
+        });
+
+        RxObservable<Integer> pipeline = ConcatOperator.apply(
+                FlatMapOperator.apply(
+                        FilterOperator.apply(MapOperator.apply(infinite, i -> i * 2), i -> i % 4 == 0),
+                        i -> RxObservable.just(i, i + 1)),
+                infinite);
+
+        List<Integer> received = new ArrayList<>();
+        AtomicReference<RxDisposable> upstream = new AtomicReference<>();
+        pipeline.subscribe(new RxObserver<Integer>() {
+            @Override
+            public void onSubscribe(RxDisposable d) {
+                upstream.set(d);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+                if (received.size() == 4) {
+                    upstream.get().dispose();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+
+            @Override
+            public void onComplete() {
+                fail("Disposed stream must not complete");
+            }
+        });
+
+        assertEquals(List.of(0, 1, 4, 5), received);
+        assertEquals(3, emitted.get());
+        assertEquals(1, released.get());
+    }
+
+    @Test
+    void testTimeOperatorsOnVirtualTime() {
+        RxTestScheduler scheduler = new RxTestScheduler();
+
+        List<Long> ticks = new ArrayList<>();
+        RxDisposable interval = RxObservable.interval(1, TimeUnit.SECONDS, scheduler).subscribe(ticks::add);
+        scheduler.advanceTimeBy(3500, TimeUnit.MILLISECONDS);
+        interval.dispose();
+        scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+        assertEquals(List.of(0L, 1L, 2L), ticks);
+
+        List<Object> delayed = new ArrayList<>();
+        DelayOperator.apply(RxObservable.just(1, 2, 3), 1, TimeUnit.SECONDS, scheduler)
+                .subscribe(delayed::add, delayed::add, () -> delayed.add("done"));
+        scheduler.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+        assertTrue(delayed.isEmpty());
+        scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        assertEquals(List.of(1, 2, 3, "done"), delayed);
+
+        AtomicReference<RxEmitter<? super String>> source = new AtomicReference<>();
+        RxObservable<String> manual = RxObservable.<String>create(source::set);
+
+        List<String> debounced = new ArrayList<>();
+        DebounceOperator.apply(manual, 100, TimeUnit.MILLISECONDS, scheduler).subscribe(debounced::add);
+        source.get().onNext("a");
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        source.get().onNext("b");
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+        source.get().onNext("c");
+        source.get().onComplete();
+        scheduler.triggerActions();
+        assertEquals(List.of("b", "c"), debounced);
+
+        List<String> throttled = new ArrayList<>();
+        ThrottleOperator.apply(manual, 100, TimeUnit.MILLISECONDS, scheduler).subscribe(throttled::add);
+        source.get().onNext("a");
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        source.get().onNext("b");
+        scheduler.advanceTimeBy(50, TimeUnit.MILLISECONDS);
+        source.get().onNext("c");
+        assertEquals(List.of("a", "c"), throttled);
+
+        List<Object> timedOut = new ArrayList<>();
+        TimeoutOperator.apply(manual, 1, TimeUnit.SECONDS, scheduler).subscribe(timedOut::add, timedOut::add, () -> {
+        });
+        source.get().onNext("x");
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        source.get().onNext("late");
+        assertEquals("x", timedOut.get(0));
+        assertInstanceOf(TimeoutException.class, timedOut.get(1));
+        assertEquals(2, timedOut.size());
+
+        List<Object> fallback = new ArrayList<>();
+        TimeoutOperator.apply(manual, 1, TimeUnit.SECONDS, scheduler, RxObservable.just("fallback"))
+                .subscribe(fallback::add, fallback::add, () -> fallback.add("done"));
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(List.of("fallback", "done"), fallback);
+
+        List<Long> timer = new ArrayList<>();
+        RxObservable.timer(2, TimeUnit.SECONDS, scheduler).subscribe(timer::add);
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+        assertEquals(List.of(0L), timer);
+    }
+
+    @Test
+    void testBufferAndWindow() {
+        List<List<Integer>> batches = new ArrayList<>();
+        BufferOperator.apply(RxObservable.just(1, 2, 3, 4, 5, 6, 7), 3).subscribe(batches::add);
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7)), batches);
+
+        RxTestScheduler scheduler = new RxTestScheduler();
+        AtomicReference<RxEmitter<? super String>> source = new AtomicReference<>();
+        RxObservable<String> manual = RxObservable.<String>create(source::set);
+
+        List<List<String>> timed = new ArrayList<>();
+        AtomicInteger completed = new AtomicInteger();
+        BufferOperator.apply(manual, 1, TimeUnit.SECONDS, scheduler, 2)
+                .subscribe(timed::add, Throwable::printStackTrace, completed::incrementAndGet);
+        source.get().onNext("a");
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        source.get().onNext("b");
+        source.get().onNext("c");
+        source.get().onNext("d");
+        source.get().onComplete();
+        assertEquals(List.of(List.of("a"), List.of("b", "c"), List.of("d")), timed);
+        assertEquals(1, completed.get());
+
+        List<List<Integer>> windows = new ArrayList<>();
+        WindowOperator.apply(RxObservable.just(1, 2, 3, 4, 5), 2).subscribe(window -> {
+            List<Integer> items = new ArrayList<>();
+            windows.add(items);
+            window.subscribe(items::add);
+        });
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), windows);
+
+        List<RxObservable<String>> timedWindows = new ArrayList<>();
+        WindowOperator.apply(manual, 1, TimeUnit.SECONDS, scheduler).subscribe(timedWindows::add);
+        source.get().onNext("x");
+        source.get().onNext("y");
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        source.get().onNext("z");
+        source.get().onComplete();
+        assertEquals(2, timedWindows.size());
+        List<String> late = new ArrayList<>();
+        timedWindows.get(0).subscribe(late::add, Throwable::printStackTrace, () -> late.add("|"));
+        timedWindows.get(1).subscribe(late::add, Throwable::printStackTrace, () -> late.add("|"));
+        assertEquals(List.of("x", "y", "|", "z", "|"), late);
+    }
 }
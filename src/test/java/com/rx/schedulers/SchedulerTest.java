@@ -1,10 +1,18 @@
 package com.rx.schedulers;
 
+import com.rx.core.RxDisposable;
 import com.rx.core.RxObservable;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,7 +30,7 @@ class SchedulerTest {
         });
 
         assertTrue(latch.await(1, TimeUnit.SECONDS));
-        assertTrue(threadName.get().contains("pool"));
+        assertTrue(threadName.get().startsWith("rx-io-"));
     }
 
     @Test
@@ -44,5 +52,213 @@ class SchedulerTest {
         assertTrue(latch.await(1, TimeUnit.SECONDS));
         assertEquals(first.get(), second.get());
     }
-}
 
+    @Test
+    void testComputationWorkerIsSerialAndPinned() throws InterruptedException {
+        int count = 10_000;
+        List<Integer> order = new ArrayList<>(count);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        RxWorker worker = new RxComputationScheduler().createWorker();
+        for (int i = 0; i < count; i++) {
+            int value = i;
+            worker.schedule(() -> {
+                order.add(value);
+                threads.add(Thread.currentThread().getName());
+            });
+        }
+        worker.schedule(latch::countDown);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        worker.dispose();
+        assertEquals(count, order.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, order.get(i));
+        }
+        assertEquals(1, threads.size());
+    }
+
+    @Test
+    void testDisposedWorkerDropsTasks() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        RxWorker worker = new RxSingleScheduler().createWorker();
+        worker.dispose();
+        worker.schedule(latch::countDown);
+
+        assertTrue(worker.isDisposed());
+        assertFalse(latch.await(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testVirtualThreadSchedulerRunsOnVirtualThreads() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+
+        RxObservable.just("V").subscribeOn(new RxVirtualThreadScheduler()).subscribe(item -> {
+            thread.set(Thread.currentThread());
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(thread.get().isVirtual());
+    }
+
+    @Test
+    void testDelayedAndPeriodicScheduling() throws InterruptedException {
+        RxScheduler scheduler = new RxComputationScheduler();
+        CountDownLatch delayed = new CountDownLatch(1);
+        long start = System.nanoTime();
+        scheduler.schedule(delayed::countDown, 50, TimeUnit.MILLISECONDS);
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        scheduler.schedule(cancelledRuns::incrementAndGet, 50, TimeUnit.MILLISECONDS).dispose();
+
+        assertTrue(delayed.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        RxWorker worker = scheduler.createWorker();
+        CountDownLatch periodic = new CountDownLatch(3);
+        worker.schedulePeriodically(periodic::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(periodic.await(1, TimeUnit.SECONDS));
+        worker.dispose();
+        assertEquals(0, cancelledRuns.get());
+    }
+
+    @Test
+    void testTimerHoldsManyTimeouts() throws InterruptedException {
+        int count = 100_000;
+        CountDownLatch latch = new CountDownLatch(count / 2);
+        RxScheduler scheduler = new RxSingleScheduler();
+        for (int i = 0; i < count; i++) {
+            RxDisposable d = scheduler.schedule(latch::countDown, 20 + i % 200, TimeUnit.MILLISECONDS);
+            if (i % 2 == 1) {
+                d.dispose();
+            }
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, latch.getCount());
+    }
+
+    @Test
+    void testTestSchedulerRunsTasksInVirtualTime() {
+        RxTestScheduler scheduler = new RxTestScheduler();
+        List<String> log = new ArrayList<>();
+        scheduler.schedule(() -> log.add("b"), 2, TimeUnit.SECONDS);
+        scheduler.schedule(() -> log.add("a"), 1, TimeUnit.SECONDS);
+        RxWorker worker = scheduler.createWorker();
+        worker.schedulePeriodically(() -> log.add("p" + scheduler.now(TimeUnit.SECONDS)), 1, 1, TimeUnit.SECONDS);
+
+        scheduler.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+        assertTrue(log.isEmpty());
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+        worker.dispose();
+        scheduler.advanceTimeBy(10, TimeUnit.SECONDS);
+
+        assertEquals(List.of("a", "p1", "b", "p2"), log);
+        assertEquals(12, scheduler.now(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testBoundedQueueOverflowStrategies() throws InterruptedException {
+        for (RxOverflowStrategy strategy : List.of(RxOverflowStrategy.DROP_LATEST, RxOverflowStrategy.DROP_OLDEST)) {
+            RxScheduler scheduler = new RxSingleScheduler("rx-bounded", 2, strategy);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+            scheduler.schedule(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            List<Integer> ran = new CopyOnWriteArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                int n = i;
+                scheduler.schedule(() -> ran.add(n));
+            }
+            release.countDown();
+            scheduler.shutdown();
+            assertTrue(scheduler.awaitTermination(1, TimeUnit.SECONDS));
+            assertEquals(strategy == RxOverflowStrategy.DROP_LATEST ? List.of(1, 2) : List.of(4, 5), ran);
+        }
+
+        RxScheduler failing = new RxSingleScheduler("rx-failing", 1, RxOverflowStrategy.ERROR);
+        CountDownLatch release = new CountDownLatch(1);
+        failing.schedule(() -> awaitQuietly(release));
+        failing.schedule(() -> { });
+        RejectedExecutionException rejected = null;
+        // the first task may still be queued, in which case the second one already overflowed
+        for (int i = 0; i < 2 && rejected == null; i++) {
+            try {
+                failing.schedule(() -> { });
+            } catch (RejectedExecutionException e) {
+                rejected = e;
+            }
+        }
+        assertNotNull(rejected);
+        release.countDown();
+        failing.shutdown();
+        assertTrue(failing.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testShutdownAndRegistry() throws InterruptedException {
+        RxScheduler scheduler = new RxIOScheduler("rx-custom", 2, 16, RxOverflowStrategy.BLOCK);
+        assertNull(RxSchedulers.register("custom", scheduler));
+        assertSame(scheduler, RxSchedulers.get("custom"));
+        assertTrue(RxSchedulers.all().containsKey(RxSchedulers.IO));
+
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        RxSchedulers.get("custom").schedule(() -> {
+            threadName.set(Thread.currentThread().getName());
+            latch.countDown();
+        });
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertTrue(threadName.get().startsWith("rx-custom-"));
+
+        scheduler.shutdown();
+        assertTrue(scheduler.isShutdown());
+        assertTrue(scheduler.awaitTermination(1, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> scheduler.schedule(() -> { }));
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        RxObservable.just(1).observeOn(scheduler).subscribe(item -> { }, error::set, () -> { });
+        assertInstanceOf(RejectedExecutionException.class, error.get());
+
+        assertSame(scheduler, RxSchedulers.unregister("custom"));
+        assertThrows(IllegalArgumentException.class, () -> RxSchedulers.get("custom"));
+    }
+
+    @Test
+    void testShutdownOfDefaultInstanceLeavesSharedPoolRunning() throws InterruptedException {
+        RxScheduler stopped = new RxIOScheduler();
+        stopped.shutdown();
+        assertTrue(stopped.isShutdown());
+        assertThrows(RejectedExecutionException.class, () -> stopped.schedule(() -> { }));
+
+        RxComputationScheduler computation = new RxComputationScheduler();
+        computation.shutdown();
+        assertTrue(computation.isShutdown());
+
+        RxScheduler previousIo = RxSchedulers.io();
+        RxSchedulers.shutdown();
+        assertTrue(previousIo.isShutdown());
+        assertTrue(RxSchedulers.awaitTermination(1, TimeUnit.SECONDS));
+
+        CountDownLatch latch = new CountDownLatch(4);
+        for (RxScheduler s : List.of(new RxIOScheduler(), new RxComputationScheduler(), RxSchedulers.io(),
+                RxSchedulers.computation())) {
+            assertFalse(s.isShutdown());
+            s.schedule(latch::countDown);
+        }
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}